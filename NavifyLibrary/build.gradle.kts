@@ -27,6 +27,11 @@ android {
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
     }
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+        }
+    }
     publishing {
         singleVariant("release") {
             withSourcesJar()
@@ -37,12 +42,51 @@ android {
 
 dependencies {
 
+    implementation(project(":navify-core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.test.core)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
+
+// Robolectric render benchmarks (NavifyRenderBenchmark, NavifyBarPathBenchmark), skipped by the regular unit test tasks:
+//   ./gradlew :NavifyLibrary:navifyRenderBenchmark [-PnavifyBenchmarkThreshold=0.25] [-PnavifyBenchmarkUpdateBaseline]
+// Fails when a scenario's allocations per frame regress beyond the threshold against
+// benchmark/render-baseline.json (draw time changes are machine dependent and only printed), or when
+// the bar template draws slower than the per-frame path rebuild in the same run; results go to
+// build/reports/navify-benchmark/render.json and bar-path.json.
+val navifyRenderBenchmarkRequested = gradle.startParameter.taskNames.any { it.endsWith("navifyRenderBenchmark") }
+
+tasks.withType<Test>().configureEach {
+    // Golden images (NavifyGoldenImageTest); -PnavifyGoldenRecord re-records them instead of comparing
+    inputs.dir("src/test/golden")
+    systemProperty("navify.golden.dir", file("src/test/golden").absolutePath)
+    systemProperty("navify.golden.reports", layout.buildDirectory.dir("reports/navify-golden").get().asFile.absolutePath)
+    systemProperty("navify.golden.record", hasProperty("navifyGoldenRecord").toString())
+
+    if (navifyRenderBenchmarkRequested) {
+        filter.includeTestsMatching("com.navify.NavifyRenderBenchmark")
+        filter.includeTestsMatching("com.navify.NavifyBarPathBenchmark")
+        systemProperty("navify.benchmark.baseline", file("benchmark/render-baseline.json").absolutePath)
+        systemProperty("navify.benchmark.results", layout.buildDirectory.file("reports/navify-benchmark/render.json").get().asFile.absolutePath)
+        systemProperty("navify.benchmark.threshold", findProperty("navifyBenchmarkThreshold")?.toString() ?: "0.25")
+        systemProperty("navify.benchmark.updateBaseline", hasProperty("navifyBenchmarkUpdateBaseline").toString())
+        outputs.upToDateWhen { false }
+    } else {
+        filter.excludeTestsMatching("com.navify.NavifyRenderBenchmark")
+        filter.excludeTestsMatching("com.navify.NavifyBarPathBenchmark")
+    }
+}
+
+tasks.register("navifyRenderBenchmark") {
+    group = "verification"
+    description = "Runs the Robolectric render benchmarks and gates their allocations on benchmark/render-baseline.json."
+    dependsOn("testReleaseUnitTest")
+}
+
 afterEvaluate {
     publishing {
         publications {
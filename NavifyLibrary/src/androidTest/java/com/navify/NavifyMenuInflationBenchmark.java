@@ -0,0 +1,158 @@
+package com.navify;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.view.View;
+import androidx.appcompat.widget.PopupMenu;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares loading a menu from its build-time NavifyMenuTable, reading it with
+ * NavifyMenuReader and inflating it through a PopupMenu.
+ * <p>
+ * Each path reports the time of its first read in the process (cold: class
+ * loading, first resource access) and the median of warm reads, as
+ * instrumentation status and in logcat under the "Navify" tag. The first read
+ * is only cold for the method that runs first, so run each method in its own
+ * process:
+ * <pre>
+ * ./gradlew :NavifyLibrary:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.navify.NavifyMenuInflationBenchmark#compiledCold
+ * ./gradlew :NavifyLibrary:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.navify.NavifyMenuInflationBenchmark#readerCold
+ * ./gradlew :NavifyLibrary:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.navify.NavifyMenuInflationBenchmark#popupMenuCold
+ * </pre>
+ */
+@RunWith(AndroidJUnit4.class)
+public class NavifyMenuInflationBenchmark {
+    /**
+     * Warm reads per path
+     */
+    private static final int NAVIFY_MENU_WARM_RUNS = 50;
+
+    /**
+     * Top-level items of navify_benchmark_menu (the nested sub-menu item is not one)
+     */
+    private static final List<String> NAVIFY_MENU_TITLES = Arrays.asList("Home", "Search", "Add", "Favorite", "Trending");
+
+    /**
+     * navify_benchmark_menu as NavifyCompileMenusTask generates it
+     */
+    private static final NavifyMenuTable NAVIFY_MENU_TABLE = new NavifyMenuTable(com.navify.test.R.menu.navify_benchmark_menu,
+            new int[]{com.navify.test.R.id.navify_benchmark_home, com.navify.test.R.id.navify_benchmark_search, com.navify.test.R.id.navify_benchmark_add, com.navify.test.R.id.navify_benchmark_favorite, com.navify.test.R.id.navify_benchmark_trending},
+            new int[]{R.drawable.ic_preview_home, R.drawable.ic_preview_search, R.drawable.ic_preview_add, R.drawable.ic_preview_favorite, R.drawable.ic_preview_whatshot},
+            new int[]{0, 0, 0, 0, 0},
+            new String[]{"Home", "Search", "Add", "Favorite", "Trending"});
+
+    @Test
+    public void readerMatchesPopupMenu() {
+        Context mContext = ThemedContext();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            List<NavifyMenuReader.Item> mItems = NavifyMenuReader.Read(mContext, com.navify.test.R.menu.navify_benchmark_menu, true);
+            Menu mMenu = InflatePopupMenu(mContext);
+            assertEquals(mMenu.size(), mItems.size());
+            for (int mI = 0; mI < mItems.size(); mI++) {
+                MenuItem mMenuItem = mMenu.getItem(mI);
+                assertEquals(mMenuItem.getItemId(), mItems.get(mI).mId);
+                assertEquals(String.valueOf(mMenuItem.getTitle()), mItems.get(mI).mTitle);
+                assertEquals(NAVIFY_MENU_TITLES.get(mI), mItems.get(mI).mTitle);
+                assertNotNull(mItems.get(mI).mIcon);
+            }
+        });
+    }
+
+    @Test
+    public void compiledMatchesReader() {
+        Context mContext = ThemedContext();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            List<NavifyMenuReader.Item> mRead = NavifyMenuReader.Read(mContext, com.navify.test.R.menu.navify_benchmark_menu, true);
+            List<NavifyMenuReader.Item> mCompiled = NAVIFY_MENU_TABLE.Items(mContext, true);
+            assertEquals(mRead.size(), mCompiled.size());
+            for (int mI = 0; mI < mRead.size(); mI++) {
+                assertEquals(mRead.get(mI).mId, mCompiled.get(mI).mId);
+                assertEquals(mRead.get(mI).mIconRes, mCompiled.get(mI).mIconRes);
+                assertEquals(mRead.get(mI).mTitle, mCompiled.get(mI).mTitle);
+                assertNotNull(mCompiled.get(mI).mIcon);
+            }
+        });
+    }
+
+    @Test
+    public void compiledCold() {
+        Context mContext = ThemedContext();
+        Measure("compiled", () -> NAVIFY_MENU_TABLE.Items(mContext, true));
+    }
+
+    @Test
+    public void readerCold() {
+        Context mContext = ThemedContext();
+        Measure("reader", () -> NavifyMenuReader.Read(mContext, com.navify.test.R.menu.navify_benchmark_menu, true));
+    }
+
+    @Test
+    public void popupMenuCold() {
+        Context mContext = ThemedContext();
+        Measure("popupMenu", () -> {
+            Menu mMenu = InflatePopupMenu(mContext);
+            // Touch icons and titles like the former setMenu did
+            for (int mI = 0; mI < mMenu.size(); mI++) {
+                mMenu.getItem(mI).getIcon();
+                mMenu.getItem(mI).getTitle();
+            }
+        });
+    }
+
+    /**
+     * Times the first and the warm runs of a read on the main thread and reports them.
+     */
+    private static void Measure(String mName, Runnable mRead) {
+        Instrumentation mInstrumentation = InstrumentationRegistry.getInstrumentation();
+        long[] mNanos = new long[NAVIFY_MENU_WARM_RUNS + 1];
+        mInstrumentation.runOnMainSync(() -> {
+            for (int mI = 0; mI < mNanos.length; mI++) {
+                long mStart = SystemClock.elapsedRealtimeNanos();
+                mRead.run();
+                mNanos[mI] = SystemClock.elapsedRealtimeNanos() - mStart;
+            }
+        });
+        long mCold = mNanos[0];
+        long[] mWarm = Arrays.copyOfRange(mNanos, 1, mNanos.length);
+        Arrays.sort(mWarm);
+        long mWarmMedian = mWarm[mWarm.length / 2];
+
+        Log.i("Navify", "Menu " + mName + ": cold " + mCold / 1000 + " us, warm median " + mWarmMedian / 1000 + " us");
+        Bundle mStatus = new Bundle();
+        mStatus.putLong("navify.menu." + mName + ".coldNanos", mCold);
+        mStatus.putLong("navify.menu." + mName + ".warmMedianNanos", mWarmMedian);
+        mInstrumentation.sendStatus(0, mStatus);
+    }
+
+    /**
+     * Inflates the benchmark menu the way setMenu used to.
+     */
+    private static Menu InflatePopupMenu(Context mContext) {
+        PopupMenu mPopupMenu = new PopupMenu(mContext, new View(mContext));
+        mPopupMenu.getMenuInflater().inflate(com.navify.test.R.menu.navify_benchmark_menu, mPopupMenu.getMenu());
+        return mPopupMenu.getMenu();
+    }
+
+    /**
+     * Target context with an AppCompat theme, as PopupMenu expects.
+     */
+    private static Context ThemedContext() {
+        Context mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        return new ContextThemeWrapper(mContext, androidx.appcompat.R.style.Theme_AppCompat_Light_NoActionBar);
+    }
+}
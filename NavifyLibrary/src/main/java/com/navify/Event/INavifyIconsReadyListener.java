@@ -0,0 +1,6 @@
+package com.navify.Event;
+
+public interface INavifyIconsReadyListener {
+    void onNavifyIconsReady();
+
+}
@@ -0,0 +1,7 @@
+package com.navify.Event;
+
+import com.navify.NavifyMetrics;
+
+public interface INavifyMetricsListener {
+    void onNavifyMetrics(NavifyMetrics mMetrics);
+}
@@ -1,46 +1,42 @@
 package com.navify;
 
-import android.animation.AnimatorListenerAdapter;
-import android.animation.AnimatorSet;
 import android.animation.TimeInterpolator;
 import android.animation.ValueAnimator;
 import android.app.Activity;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.LinearGradient;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.RadialGradient;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Shader;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
+import android.os.Build;
 import android.os.Handler;
 import android.util.AttributeSet;
 import android.util.DisplayMetrics;
 import android.util.Log;
 import android.util.TypedValue;
-import android.view.Menu;
-import android.view.MenuItem;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.view.Window;
-import android.view.animation.AccelerateDecelerateInterpolator;
-import android.view.animation.AccelerateInterpolator;
 import android.view.animation.AnimationUtils;
-import android.view.animation.AnticipateInterpolator;
-import android.view.animation.AnticipateOvershootInterpolator;
-import android.view.animation.BounceInterpolator;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.LinearInterpolator;
-import android.view.animation.OvershootInterpolator;
 import android.widget.PopupWindow;
 import android.widget.TextView;
 import androidx.annotation.FontRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.appcompat.widget.PopupMenu;
+import androidx.annotation.VisibleForTesting;
 import androidx.core.content.res.ResourcesCompat;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowCompat;
@@ -49,17 +45,44 @@ import android.view.Gravity;
 import android.view.ViewGroup.LayoutParams;
 import com.navify.Event.INavifyBadgeResetListener;
 import com.navify.Event.INavifyDoubleTapSelectedItemListener;
+import com.navify.Event.INavifyIconsReadyListener;
 import com.navify.Event.INavifyLongSelectedItemListener;
+import com.navify.Event.INavifyMetricsListener;
 import com.navify.Event.INavifyNormalSelectedItemListener;
+import com.navify.core.NavifyBadgeFormat;
+import com.navify.core.NavifyBumpGeometry;
+import com.navify.core.NavifyItemLayout;
+import com.navify.core.NavifyItemModel;
+import com.navify.core.NavifySelection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 public class Navify extends View {
     /**
-     * Path used to draw the background shape of the bar
+     * Bar template in local coordinates: straight bar + bump centered at x = 0
      */
-    private final Path mBackgroundPath = new Path();
+    private final Path mBarTemplatePath = new Path();
+
+    /**
+     * Bump silhouette template in local coordinates, centered at x = 0
+     */
+    private final Path mBumpTemplatePath = new Path();
+
+    /**
+     * Template key: bump radius, bar top and view size the templates were built for
+     */
+    private float mBarTemplateBumpRadius = -1f, mBarTemplateTopY = -1f;
+
+    /**
+     * Template key: view size the templates were built for
+     */
+    private int mBarTemplateWidth = -1, mBarTemplateHeight = -1;
+
+    /**
+     * Half width of the straight bar in the full template
+     */
+    private float mBarTemplateHalfWidth;
 
     /**
      * Paint for the general background of the navigation bar
@@ -77,9 +100,179 @@ public class Navify extends View {
     private Paint mTextPaint;
 
     /**
-     * Animator for the circle selection animation
+     * Gradient paint imitating the bar shadow along the straight top edge (hardware mode, API 26-27)
+     */
+    private final Paint mBarShadowPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * Gradient paint imitating the shadow around the bump (hardware mode, API 26-27)
+     */
+    private final Paint mBumpShadowPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * Gradient paint imitating the shadow around the selection circle (hardware mode, API 26-27)
+     */
+    private final Paint mCircleShadowPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * Whether shadows are currently drawn with the gradient paints instead of setShadowLayer
+     */
+    private boolean mUseGradientShadows = false;
+
+    /**
+     * Pre-rasterized shadow bitmaps used by software mode
+     */
+    private final NavifyShadowCache mShadowCache = new NavifyShadowCache();
+
+    /**
+     * Whether shadows are currently blitted from the shadow cache instead of setShadowLayer
+     */
+    private boolean mUseShadowCache = false;
+
+    /**
+     * Whether icons are drawn from a pre-rasterized atlas instead of their drawables
+     */
+    private boolean mItemIconAtlas = false;
+
+    /**
+     * Icon atlas used when mItemIconAtlas is enabled
+     */
+    private final NavifyIconAtlas mIconAtlas = new NavifyIconAtlas();
+
+    /**
+     * Whether menu icons are resolved in the background while placeholders are drawn
+     */
+    private boolean mItemIconLazy = false;
+
+    /**
+     * Background icon resolution used when mItemIconLazy is enabled
+     */
+    private final NavifyIconLoader mIconLoader = new NavifyIconLoader();
+
+    /**
+     * Paint of the dot drawn in place of an icon that is still loading
+     */
+    private final Paint mIconPlaceholderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * Pre-shaped labels and advances, built off the main thread
+     */
+    private final NavifyLabelCache mLabelCache = new NavifyLabelCache();
+
+    /**
+     * Rendered badge per item from the shared badge cache (null draws directly)
+     */
+    private final Bitmap[] mBadgeBitmaps = new Bitmap[NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Whether badge bitmaps must be looked up again (content or style changed)
+     */
+    private boolean mBadgeBitmapsDirty = true;
+
+    /**
+     * Paint used to blit badge bitmaps
+     */
+    private final Paint mBadgeBitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * Reused destination rect for scaled badge bitmaps
+     */
+    private final RectF mBadgeDstRect = new RectF();
+
+    /**
+     * Retained RenderNodes for bar, circle and items (API 29+, null below)
+     */
+    private final NavifyRenderNodes mRenderNodes = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q ? new NavifyRenderNodes(this) : null;
+
+    /**
+     * Whether the current frame is drawn through the RenderNodes
+     */
+    private boolean mDrawWithRenderNodes = false;
+
+    /**
+     * Precomputed item centers and per-state icon/label/badge geometry
+     */
+    private final NavifyItemLayout mItemLayout = new NavifyItemLayout(NAVIFY_MAX_ITEMS_SIZE);
+
+    /**
+     * Whether mItemLayout must be rebuilt before it is read
+     */
+    private boolean mItemLayoutDirty = true;
+
+    /**
+     * Bump center X of the last drawn frame, -1 before the first frame
+     */
+    private float mDrawnCenterX = -1f;
+
+    /**
+     * Region already invalidated during the current animation frame (transition plus badge pop-ins)
+     */
+    private final Rect mFrameDirtyRect = new Rect();
+
+    /**
+     * Animation frame time mFrameDirtyRect belongs to
+     */
+    private long mFrameDirtyTime = -1L;
+
+    /**
+     * Item titles as drawn (all caps already applied), rebuilt when titles change
+     */
+    private final String[] mNavifyItemDrawTitle = new String[NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Tint last applied to each icon drawable
+     */
+    private final int[] mNavifyItemAppliedTint = new int[NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Whether mNavifyItemAppliedTint is valid for each icon
+     */
+    private final boolean[] mNavifyItemTintApplied = new boolean[NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Gap between icon and label in pixels
+     */
+    private float mItemGapPx;
+
+    /**
+     * Bump radius beyond the selection circle in pixels
+     */
+    private float mBumpExtraPx;
+
+    /**
+     * Full (unscaled) badge radius in pixels
      */
-    private ValueAnimator mCircleAnimator;
+    private float mBadgeRadiusPx;
+
+    /**
+     * Extra space below the selected label in pixels
+     */
+    private float mItemTextSelectedExtraSpacePx;
+
+    /**
+     * Badge text metrics, refreshed when badge size or font changes
+     */
+    private final Paint.FontMetrics mBadgeFontMetrics = new Paint.FontMetrics();
+
+    /**
+     * Offset from the badge center to the badge text baseline
+     */
+    private float mBadgeTextBaselineOffset;
+
+    /**
+     * Choreographer-driven selection transition, reused for every selection
+     */
+    private final NavifyTransition mTransition = new NavifyTransition(this);
+
+    /**
+     * Selection state: selected, previous, transition target and coalesced request
+     */
+    private final NavifySelection mSelection = new NavifySelection();
+
+    /**
+     * Circle X at the end of the running transition
+     */
+    private float mTransitionEndX;
 
     /**
      * Width and height of the view
@@ -111,6 +304,121 @@ public class Navify extends View {
      */
     private float mBackgroundElevation = 10f;
 
+    /**
+     * Color used for every shadow drawn by the component
+     */
+    private static final int NAVIFY_SHADOW_COLOR = Color.parseColor("#33000000");
+
+    /**
+     * Shadows are blurred on the CPU through a software layer
+     */
+    public static final int SHADOW_RENDER_SOFTWARE = 0;
+
+    /**
+     * Shadows are rendered while the view stays hardware accelerated
+     */
+    public static final int SHADOW_RENDER_HARDWARE = 1;
+
+    /**
+     * Current shadow rendering mode
+     */
+    private int mShadowRenderMode = SHADOW_RENDER_HARDWARE;
+
+    /**
+     * Pick the rendering profile from device state (low RAM, battery saver, animators, thermal)
+     */
+    public static final int RENDER_PROFILE_AUTO = 0;
+
+    /**
+     * Everything drawn and animated
+     */
+    public static final int RENDER_PROFILE_FULL = 1;
+
+    /**
+     * No shadows, only circle, icon size and label fade are animated
+     */
+    public static final int RENDER_PROFILE_REDUCED = 2;
+
+    /**
+     * No shadows, selections change state instantly
+     */
+    public static final int RENDER_PROFILE_STATIC = 3;
+
+    /**
+     * Requested rendering profile (AUTO follows the device)
+     */
+    private int mRenderProfile = RENDER_PROFILE_AUTO;
+
+    /**
+     * Profile currently in effect (never AUTO)
+     */
+    private int mActiveRenderProfile = RENDER_PROFILE_FULL;
+
+    /**
+     * Power state listener used while attached in AUTO mode
+     */
+    private final NavifyRenderProfile mRenderProfileMonitor = new NavifyRenderProfile();
+
+    /**
+     * Full quality
+     */
+    public static final int QUALITY_TIER_FULL = 0;
+
+    /**
+     * Shadows drawn with cheap gradients instead of blur
+     */
+    public static final int QUALITY_TIER_NO_SHADOW_BLUR = 1;
+
+    /**
+     * Additionally, the bar and bump are drawn without anti-aliasing
+     */
+    public static final int QUALITY_TIER_NO_BUMP_AA = 2;
+
+    /**
+     * Additionally, selection transitions are shortened
+     */
+    public static final int QUALITY_TIER_SHORT_ANIMATION = 3;
+
+    /**
+     * Transition duration factor at QUALITY_TIER_SHORT_ANIMATION
+     */
+    private static final float NAVIFY_QUALITY_SHORT_DURATION_FACTOR = 0.6f;
+
+    /**
+     * Frame-timing driven quality tier
+     */
+    private final NavifyAdaptiveQuality mAdaptiveQuality = new NavifyAdaptiveQuality();
+
+    /**
+     * Collected metrics, null while metrics are disabled
+     */
+    private NavifyMetrics mMetrics;
+
+    /**
+     * Receives the metrics after each settled selection
+     */
+    private INavifyMetricsListener mMetricsListener;
+
+    /**
+     * Time of the latest selection request, for tap-to-settle latency
+     */
+    private long mSelectionRequestNanos;
+
+    /**
+     * Last async trace cookie handed out (shared by all Navify views so slices never collide)
+     */
+    private static int sTransitionTraceCookie = 0;
+
+    /**
+     * Cookie of the open transition trace slice
+     */
+    private int mTransitionTraceCookie;
+
+    /**
+     * Whether an async trace slice is open for the running transition
+     */
+    private boolean mTransitionTraceStarted = false;
+
     /**
      * Linear animation
      */
@@ -151,6 +459,14 @@ public class Navify extends View {
      * Material-style fast-out-slow-in
      */
     public static final int FAST_OUT_SLOW_IN = 9;
+    /**
+     * Custom cubic-bezier curve (see setItemCircleAnimationCurve)
+     */
+    public static final int CUSTOM = 10;
+    /**
+     * Physics-based spring that keeps its velocity when retargeted
+     */
+    public static final int SPRING = 11;
 
     /**
      * Background color of the selected circle
@@ -172,6 +488,26 @@ public class Navify extends View {
      */
     private int mItemCircleAnimationInterpolator = FAST_OUT_SLOW_IN;
 
+    /**
+     * Control points (x1, y1, x2, y2) of the CUSTOM curve, null if none was set
+     */
+    private float[] mItemCircleAnimationCurve;
+
+    /**
+     * Interpolator of the CUSTOM curve, resolved when the curve is set, null if none was set
+     */
+    private TimeInterpolator mItemCircleAnimationCurveInterpolator;
+
+    /**
+     * Spring stiffness for the SPRING interpolator (mass 1)
+     */
+    private float mItemCircleSpringStiffness = 400f;
+
+    /**
+     * Spring damping ratio for the SPRING interpolator (1 = no bounce)
+     */
+    private float mItemCircleSpringDampingRatio = 0.75f;
+
     /**
      * Color of selected icon
      */
@@ -259,11 +595,6 @@ public class Navify extends View {
      */
     private int mItemLabelVisibilityMode = NAVIFY_SELECTED;
 
-    /**
-     * Currently selected item index
-     */
-    private int mItemSelectedIndex = 0;
-
     /**
      * Menu resource to inflate for navigation items
      */
@@ -285,9 +616,9 @@ public class Navify extends View {
     private int mNavifyItemCount = 0;
 
     /**
-     * Max allowed items
+     * Max allowed items; also sizes the per-item arrays of the helper caches
      */
-    private static final int NAVIFY_MAX_ITEMS_SIZE = 5;
+    static final int NAVIFY_MAX_ITEMS_SIZE = 5;
 
     /**
      * Drawable icons for each nav item
@@ -295,29 +626,9 @@ public class Navify extends View {
     private final Drawable[] mNavifyItemIcon = new Drawable[NAVIFY_MAX_ITEMS_SIZE];
 
     /**
-     * Icon sizes for each nav item
-     */
-    private final float[] mNavifyItemIconSize = new float[NAVIFY_MAX_ITEMS_SIZE];
-
-    /**
-     * Icon alpha values
-     */
-    private final float[] mNavifyItemIconAlphas = new float[NAVIFY_MAX_ITEMS_SIZE];
-
-    /**
-     * Titles of each nav item
+     * Titles, animated icon/label state and badges of each nav item
      */
-    private final String[] mNavifyItemTitle = new String[NAVIFY_MAX_ITEMS_SIZE];
-
-    /**
-     * Text alpha values
-     */
-    private final float[] mNavifyItemTextAlphas = new float[NAVIFY_MAX_ITEMS_SIZE];
-
-    /**
-     * Y offset animations for text
-     */
-    private final float[] mNavifyTextOffsets = new float[NAVIFY_MAX_ITEMS_SIZE];
+    private final NavifyItemModel mItemModel = new NavifyItemModel(NAVIFY_MAX_ITEMS_SIZE);
 
     /**
      * How far text moves during animation (in px)
@@ -439,21 +750,6 @@ public class Navify extends View {
      */
     private Typeface mBadgeChooseFont = null;
 
-    /**
-     * Boolean array to enable/disable badge per item
-     */
-    private final boolean[] mBadgeEnabled = new boolean[NAVIFY_MAX_ITEMS_SIZE];
-
-    /**
-     * Badge text content per item
-     */
-    private final String[] mBadgeText = new String[NAVIFY_MAX_ITEMS_SIZE];
-
-    /**
-     * Badge animation scale values
-     */
-    private final float[] mBadgeScale = new float[NAVIFY_MAX_ITEMS_SIZE];
-
     /**
      * Badge alignment: start
      */
@@ -559,6 +855,18 @@ public class Navify extends View {
      * @param mAttributeSet AttributeSet passed from XML layout
      */
     private void MervNavigationViewController(@Nullable AttributeSet mAttributeSet) {
+        boolean mTrace = NavifyTrace.Begin("Navify.init");
+        try {
+            InitNavify(mAttributeSet);
+        } finally {
+            NavifyTrace.End(mTrace);
+        }
+    }
+
+    /**
+     * Body of MervNavigationViewController, run inside its trace section.
+     */
+    private void InitNavify(@Nullable AttributeSet mAttributeSet) {
         // Calculate pixel values from dp/sp using screen density
         DisplayMetrics mDisplayMetrics = getResources().getDisplayMetrics();
         float mNavifyDefaultBackgroundElevation = mBackgroundElevation * mDisplayMetrics.density;
@@ -571,13 +879,13 @@ public class Navify extends View {
         // Default animation offset for text
         mNavifyItemTextAnimDistancePX = dpToPx(20f);
 
+        // Initialize badge paints; views created in code need them as much as inflated ones
+        BadgeController();
+
         // If view is inflated with XML attributes, read and apply them
         if (mAttributeSet != null) {
             TypedArray mTypedArray = getContext().obtainStyledAttributes(mAttributeSet, R.styleable.Navify);
 
-            // Initialize badge-related values (default or XML override)
-            BadgeController();
-
             // Background style
             mBackgroundColor = mTypedArray.getColor(R.styleable.Navify_mBackgroundColor, Color.WHITE);
             mBackgroundElevation = mTypedArray.getDimension(R.styleable.Navify_mBackgroundElevation, mNavifyDefaultBackgroundElevation);
@@ -587,6 +895,12 @@ public class Navify extends View {
             mItemCircleBackgroundElevation = mTypedArray.getDimension(R.styleable.Navify_mItemCircleBackgroundElevation, mNavifyDefaultCircleBackgroundElevation);
             mItemCircleAnimationDuration = mTypedArray.getInt(R.styleable.Navify_mItemCircleAnimationDuration, mItemCircleAnimationDuration);
             mItemCircleAnimationInterpolator = mTypedArray.getInt(R.styleable.Navify_mItemCircleAnimationInterpolator, mItemCircleAnimationInterpolator);
+            mItemCircleSpringStiffness = Math.max(0.01f, mTypedArray.getFloat(R.styleable.Navify_mItemCircleSpringStiffness, mItemCircleSpringStiffness));
+            mItemCircleSpringDampingRatio = Math.max(0.01f, mTypedArray.getFloat(R.styleable.Navify_mItemCircleSpringDampingRatio, mItemCircleSpringDampingRatio));
+            String mCurve = mTypedArray.getString(R.styleable.Navify_mItemCircleAnimationCurve);
+            if (mCurve != null) {
+                ParseCircleAnimationCurve(mCurve);
+            }
 
             // Icon styling
             mItemSelectedIconColor = mTypedArray.getColor(R.styleable.Navify_mItemSelectedIconColor, Color.WHITE);
@@ -619,26 +933,29 @@ public class Navify extends View {
 
             // Other configuration from XML
             mItemLabelVisibilityMode = mTypedArray.getInt(R.styleable.Navify_mItemLabelVisibilityMode, mItemLabelVisibilityMode);
-            mItemSelectedIndex = mTypedArray.getInt(R.styleable.Navify_mItemSelectedIndex, mItemSelectedIndex);
+            mSelection.SetSelected(mTypedArray.getInt(R.styleable.Navify_mItemSelectedIndex, mSelection.Selected()));
             mMenuResource = mTypedArray.getResourceId(R.styleable.Navify_mMenuResource, mMenuResource);
             mHapticEnabled = mTypedArray.getBoolean(R.styleable.Navify_mHapticEnabled, mHapticEnabled);
             if (mTypedArray.hasValue(R.styleable.Navify_mForceRTL)) {
                 mForceRTL = mTypedArray.getBoolean(R.styleable.Navify_mForceRTL, false);
             }
+            mShadowRenderMode = mTypedArray.getInt(R.styleable.Navify_mShadowRenderMode, mShadowRenderMode);
+            mItemIconAtlas = mTypedArray.getBoolean(R.styleable.Navify_mItemIconAtlas, mItemIconAtlas);
+            mItemIconLazy = mTypedArray.getBoolean(R.styleable.Navify_mItemIconLazy, mItemIconLazy);
+            mRenderProfile = mTypedArray.getInt(R.styleable.Navify_mRenderProfile, mRenderProfile);
+            mAdaptiveQuality.SetEnabled(mTypedArray.getBoolean(R.styleable.Navify_mAdaptiveQuality, true));
 
             mTypedArray.recycle();
         }
 
-        // Initialize background paint with shadow
+        // Initialize background paint (shadow is applied by ApplyShadowRenderMode)
         mBackgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mBackgroundPaint.setColor(mBackgroundColor);
         mBackgroundPaint.setStyle(Paint.Style.FILL);
-        mBackgroundPaint.setShadowLayer(mBackgroundElevation, 0, 0, Color.parseColor("#33000000"));
 
         // Circle paint (for selected item highlight)
         mCirclePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         mCirclePaint.setColor(mItemCircleBackgroundColor);
-        mCirclePaint.setShadowLayer(mItemCircleBackgroundElevation, 0, 0, Color.parseColor("#33000000"));
 
         // Text paint (for item labels)
         mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
@@ -649,13 +966,15 @@ public class Navify extends View {
         mTextPaint.setFakeBoldText(mItemTextBold);
 
         // Initialize item slots with default states
+        UpdateItemModelState();
         for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
             mNavifyItemIcon[mI] = null;
-            mNavifyItemTitle[mI] = null;
-            mNavifyItemIconSize[mI] = mItemUnSelectedIconSize;
-            mNavifyItemTextAlphas[mI] = 0f;
-            mNavifyTextOffsets[mI] = mNavifyItemTextAnimDistancePX;
         }
+        mItemModel.SetCount(0);
+
+        // Pixel constants and draw titles used by every frame
+        UpdateFrameConstants();
+        UpdateItemDrawState();
 
         // Default item count and animation center
         mNavifyItemCount = 0;
@@ -666,34 +985,122 @@ public class Navify extends View {
             setMenu(mMenuResource);
         }
 
-        // Required for drawing shadows (on older APIs)
-        setLayerType(LAYER_TYPE_SOFTWARE, null);
+        // Pick rendering profile, shadow pipeline and layer type
+        mActiveRenderProfile = ResolveRenderProfile();
+        ApplyShadowRenderMode();
     }
 
     /**
-     * Initializes paint properties and visual settings for badges.
+     * Configures paints and layer type for the current shadow rendering mode.
      * <p>
-     * Sets up badge background paint, text paint (including font if available),
-     * and resets badge scale values for all navigation items.
-     */
-    private void BadgeController() {
-        // Get screen density to calculate proper text size
-        DisplayMetrics mDisplayMetrics = getResources().getDisplayMetrics();
-
-        // Paint for badge background (circle)
-        mBadgeBackgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mBadgeBackgroundPaint.setStyle(Paint.Style.FILL);
-        mBadgeBackgroundPaint.setColor(mItemBadgeBackgroundColor);
+     * Software mode renders on a software layer and blits blurred bitmaps from
+     * the shadow cache instead of blurring with setShadowLayer every frame.
+     * Hardware mode keeps the view hardware accelerated: from API 28 the
+     * RenderThread draws setShadowLayer itself, on API 26-27 the shadows are
+     * imitated with gradient shaders that fade out over the elevation distance.
+     * The REDUCED and STATIC rendering profiles draw no shadows at all. From
+     * QUALITY_TIER_NO_SHADOW_BLUR the gradient shadows replace blur on every API
+     * level, and from QUALITY_TIER_NO_BUMP_AA the bar is drawn without anti-aliasing.
+     */
+    private void ApplyShadowRenderMode() {
+        int mTier = mAdaptiveQuality.Tier();
+        boolean mShadows = mActiveRenderProfile == RENDER_PROFILE_FULL;
+        boolean mBlur = mShadows && mTier < QUALITY_TIER_NO_SHADOW_BLUR;
+        boolean mHardware = mShadowRenderMode == SHADOW_RENDER_HARDWARE || !mBlur;
+        mUseGradientShadows = mShadows && mHardware && (!mBlur || Build.VERSION.SDK_INT < Build.VERSION_CODES.P);
+        mUseShadowCache = mBlur && !mHardware;
+        mBackgroundPaint.setAntiAlias(mTier < QUALITY_TIER_NO_BUMP_AA);
+
+        if (mUseGradientShadows || mUseShadowCache || !mShadows) {
+            mBackgroundPaint.clearShadowLayer();
+            mCirclePaint.clearShadowLayer();
+        } else {
+            mBackgroundPaint.setShadowLayer(mBackgroundElevation, 0, 0, NAVIFY_SHADOW_COLOR);
+            mCirclePaint.setShadowLayer(mItemCircleBackgroundElevation, 0, 0, NAVIFY_SHADOW_COLOR);
+        }
+        UpdateGradientShadows();
+        UpdateShadowCache();
 
-        // Paint for badge text
-        mBadgeTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        mBadgeTextPaint.setStyle(Paint.Style.FILL);
-        mBadgeTextPaint.setTextAlign(Paint.Align.CENTER);
-        mBadgeTextPaint.setColor(mItemBadgeSelectedTextColor);
-        mBadgeTextPaint.setTextSize(mItemBadgeSelectedTextSize * mDisplayMetrics.scaledDensity);
+        setLayerType(mHardware ? LAYER_TYPE_NONE : LAYER_TYPE_SOFTWARE, null);
+        InvalidateContent();
+    }
 
-        // Apply custom font to badge text (if defined)
-        if (mItemBadgeSelectedTextChooseFont != 0) {
+    /**
+     * Rebuilds the gradient shaders used by hardware mode on API 26-27.
+     * <p>
+     * Shaders are built around the origin so a frame only translates the canvas
+     * to the bump/circle center. Rebuilt when size or elevation changes.
+     */
+    private void UpdateGradientShadows() {
+        if (!mUseGradientShadows || mCircleRadius <= 0f) {
+            mBarShadowPaint.setShader(null);
+            mBumpShadowPaint.setShader(null);
+            mCircleShadowPaint.setShader(null);
+            return;
+        }
+
+        float mBumpTotalRadius = mCircleRadius + mBumpExtraPx;
+
+        // Straight edge: fades from the bar top upwards
+        mBarShadowPaint.setShader(mBackgroundElevation > 0f ? new LinearGradient(0f, 0f, 0f, -mBackgroundElevation, NAVIFY_SHADOW_COLOR, Color.TRANSPARENT, Shader.TileMode.CLAMP) : null);
+
+        // Bump and circle: ring starting at the shape edge
+        mBumpShadowPaint.setShader(CreateRingShadow(mBumpTotalRadius, mBackgroundElevation));
+        mCircleShadowPaint.setShader(CreateRingShadow(mCircleRadius, mItemCircleBackgroundElevation));
+    }
+
+    /**
+     * Rebuilds the software-mode shadow bitmaps if their key changed.
+     * <p>
+     * Called from onSizeChanged and the elevation setters; frames never rebuild.
+     */
+    private void UpdateShadowCache() {
+        if (!mUseShadowCache) {
+            mShadowCache.Release();
+            return;
+        }
+        float mBumpTotalRadius = mCircleRadius + mBumpExtraPx;
+        mShadowCache.Update(mViewWidth, mBarTopY, mBumpTotalRadius, mCircleRadius, mBackgroundElevation, mItemCircleBackgroundElevation, NAVIFY_SHADOW_COLOR, getResources().getDisplayMetrics().density);
+    }
+
+    /**
+     * Creates a radial gradient that is opaque shadow inside mRadius and fades out over mElevation.
+     *
+     * @param mRadius    Radius of the shape casting the shadow
+     * @param mElevation Shadow distance in pixels
+     * @return Shader centered at the origin, or null when there is no shadow
+     */
+    @Nullable
+    private Shader CreateRingShadow(float mRadius, float mElevation) {
+        if (mElevation <= 0f || mRadius <= 0f) return null;
+        float mOuterRadius = mRadius + mElevation;
+        return new RadialGradient(0f, 0f, mOuterRadius, new int[]{NAVIFY_SHADOW_COLOR, NAVIFY_SHADOW_COLOR, Color.TRANSPARENT}, new float[]{0f, mRadius / mOuterRadius, 1f}, Shader.TileMode.CLAMP);
+    }
+
+    /**
+     * Initializes paint properties and visual settings for badges.
+     * <p>
+     * Sets up badge background paint, text paint (including font if available),
+     * and resets badge scale values for all navigation items.
+     */
+    private void BadgeController() {
+        // Get screen density to calculate proper text size
+        DisplayMetrics mDisplayMetrics = getResources().getDisplayMetrics();
+
+        // Paint for badge background (circle)
+        mBadgeBackgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mBadgeBackgroundPaint.setStyle(Paint.Style.FILL);
+        mBadgeBackgroundPaint.setColor(mItemBadgeBackgroundColor);
+
+        // Paint for badge text
+        mBadgeTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mBadgeTextPaint.setStyle(Paint.Style.FILL);
+        mBadgeTextPaint.setTextAlign(Paint.Align.CENTER);
+        mBadgeTextPaint.setColor(mItemBadgeSelectedTextColor);
+        mBadgeTextPaint.setTextSize(mItemBadgeSelectedTextSize * mDisplayMetrics.scaledDensity);
+
+        // Apply custom font to badge text (if defined)
+        if (mItemBadgeSelectedTextChooseFont != 0) {
             try {
                 mBadgeChooseFont = ResourcesCompat.getFont(getContext(), mItemBadgeSelectedTextChooseFont);
                 if (mBadgeChooseFont != null) {
@@ -706,8 +1113,18 @@ public class Navify extends View {
 
         // Set default scale (no animation) for all badge items
         for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
-            mBadgeScale[mI] = 1f;
+            mItemModel.SetBadgeScale(mI, 1f);
         }
+        UpdateBadgeFontMetrics();
+    }
+
+    /**
+     * Caches the badge text metrics so DrawItemBadge never queries the paint.
+     */
+    private void UpdateBadgeFontMetrics() {
+        if (mBadgeTextPaint == null) return;
+        mBadgeTextPaint.getFontMetrics(mBadgeFontMetrics);
+        mBadgeTextBaselineOffset = -(mBadgeFontMetrics.ascent + mBadgeFontMetrics.descent) / 2f;
     }
 
 
@@ -735,34 +1152,24 @@ public class Navify extends View {
 
         // Set icon and title for the new item
         mNavifyItemIcon[mNavifyItemCount] = mIcon;
-        mNavifyItemTitle[mNavifyItemCount] = mTitle;
+        mItemModel.SetTitle(mNavifyItemCount, mTitle);
+        UpdateItemDrawState();
 
         // Configure the visual state based on whether this is the selected item
-        if (mNavifyItemCount == mItemSelectedIndex) {
-            mNavifyItemIconSize[mNavifyItemCount] = mItemSelectedIconSize;
-            mNavifyItemTextAlphas[mNavifyItemCount] = 1f;
-            mNavifyTextOffsets[mNavifyItemCount] = 0f;
-        } else {
-            mNavifyItemIconSize[mNavifyItemCount] = mItemUnSelectedIconSize;
-            mNavifyItemTextAlphas[mNavifyItemCount] = 0f;
-            mNavifyTextOffsets[mNavifyItemCount] = mNavifyItemTextAnimDistancePX;
-        }
+        mItemModel.SetSettled(mNavifyItemCount, mNavifyItemCount == mSelection.Selected());
 
         // Move to next slot
         mNavifyItemCount++;
+        mItemModel.SetCount(mNavifyItemCount);
 
         // If this is the first item ever added, force it as selected by default
         if (mNavifyItemCount == 1) {
-            mItemSelectedIndex = 0;
-            mNavifyItemIconSize[0] = mItemSelectedIconSize;
-            mNavifyItemTextAlphas[0] = 1f;
-            mNavifyTextOffsets[0] = 0f;
+            mSelection.SetSelected(0);
+            mItemModel.SetSettled(0, true);
         }
 
         // Set all icon alphas to visible (fully opaque)
-        for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
-            mNavifyItemIconAlphas[mI] = 1f;
-        }
+        mItemModel.ResetIconAlphas();
 
         // Reapply badge if this item matches the badge index
         int mBadgeNewIndex = mNavifyItemCount - 1;
@@ -772,14 +1179,14 @@ public class Navify extends View {
 
         // Redraw view with new item
         requestLayout();
-        invalidate();
+        InvalidateContent();
     }
 
 
     /**
      * Loads and parses a menu resource XML to initialize Navify items.
      * <p>
-     * Inflates the given menu, extracts valid items (with icon and title),
+     * Reads the given menu, extracts valid items (with icon and title),
      * and sets up internal icon/text states accordingly.
      * <p>
      * This method cannot be used if manual items have already been added.
@@ -789,23 +1196,52 @@ public class Navify extends View {
      * @throws IllegalStateException    if manual items exist or menu is empty/invalid
      */
     public void setMenu(int mMenuResourcesID) {
+        ApplyMenu(mMenuResourcesID, "Navify.setMenu");
+    }
+
+    /**
+     * Shared pipeline of setMenu and setMenuResource.
+     * <p>
+     * The menu is read directly from its XML by NavifyMenuReader instead of being
+     * inflated into a PopupMenu, or taken from its registered NavifyMenuTable when
+     * it was compiled at build time.
+     *
+     * @param mMenuResourcesID Resource ID of the menu XML
+     * @param mTraceSection    Trace section named after the public entry point
+     */
+    private void ApplyMenu(int mMenuResourcesID, String mTraceSection) {
+        boolean mTrace = NavifyTrace.Begin(mTraceSection);
+        try {
+            LoadMenu(mMenuResourcesID);
+        } finally {
+            NavifyTrace.End(mTrace);
+        }
+    }
+
+    /**
+     * Body of ApplyMenu, run inside its trace section.
+     */
+    private void LoadMenu(int mMenuResourcesID) {
         // Validate menu resource ID
         if (mMenuResourcesID == 0) {
             throw new IllegalArgumentException("Menu resource ID cannot be 0. Please provide a valid menu resource.");
         }
 
-        // Prevent setting menu if manual items have already been added
-        if (mNavifyItemCount > 0 && mNavifyItemIcon[0] != null) {
+        // Prevent setting menu if manual items have already been added; a loaded menu may be replaced,
+        // whether or not its lazy icons have arrived
+        if (mMenuResource == 0 && mNavifyItemCount > 0) {
             throw new IllegalStateException("A menu item was added manually. Please clear the manual items with clearItems() first and then call setMenu().");
         }
 
-        // Inflate the menu using a dummy PopupMenu
-        PopupMenu mPopupMenu = new PopupMenu(getContext(), this);
-        mPopupMenu.getMenuInflater().inflate(mMenuResourcesID, mPopupMenu.getMenu());
-        Menu mMenu = mPopupMenu.getMenu();
+        // Read id, icon and title of every top-level item; lazy icons keep only their resource.
+        // Menus compiled at build time skip the XML entirely
+        NavifyMenuTable mCompiled = NavifyMenuTable.Find(mMenuResourcesID);
+        List<NavifyMenuReader.Item> mMenuItems = mCompiled != null
+                ? mCompiled.Items(getContext(), !mItemIconLazy)
+                : NavifyMenuReader.Read(getContext(), mMenuResourcesID, !mItemIconLazy);
 
         // Count how many raw items were loaded
-        int mRawCount = mMenu.size();
+        int mRawCount = mMenuItems.size();
         if (mRawCount == 0) {
             throw new IllegalStateException("There are no items in the menu source. At least one item is required.");
         }
@@ -813,20 +1249,21 @@ public class Navify extends View {
         // Prepare temp lists for valid menu items (with icon + title)
         List<Drawable> mValidIcons = new ArrayList<>();
         List<String> mValidTitles = new ArrayList<>();
+        int[] mValidIconRes = new int[NAVIFY_MAX_ITEMS_SIZE];
 
         for (int mI = 0; mI < mRawCount; mI++) {
-            MenuItem mItem = mMenu.getItem(mI);
-            Drawable mIcon = mItem.getIcon();
-            CharSequence mTitle = mItem.getTitle();
+            NavifyMenuReader.Item mItem = mMenuItems.get(mI);
 
             // Skip invalid entries (missing icon or title)
-            if (mIcon == null || mTitle == null || mTitle.toString().trim().isEmpty()) {
+            boolean mHasIcon = mItemIconLazy ? mItem.mIconRes != 0 : mItem.mIcon != null;
+            if (!mHasIcon || mItem.mTitle == null || mItem.mTitle.trim().isEmpty()) {
                 Log.w("Navify", "menu item " + mI + " invalid. Skipping.");
                 continue;
             }
 
-            mValidIcons.add(mIcon);
-            mValidTitles.add(mTitle.toString());
+            if (mValidIcons.size() < NAVIFY_MAX_ITEMS_SIZE) mValidIconRes[mValidIcons.size()] = mItem.mIconRes;
+            mValidIcons.add(mItem.mIcon);
+            mValidTitles.add(mItem.mTitle);
         }
 
         // Check final valid item count
@@ -838,51 +1275,45 @@ public class Navify extends View {
             throw new IllegalStateException("Too many valid items in menu source (" + mCount + "). Maximum allowed value " + NAVIFY_MAX_ITEMS_SIZE);
         }
 
+        // Remember the menu so manual items are refused until it is cleared
+        mMenuResource = mMenuResourcesID;
+
         // Save count and clamp selected index
         mNavifyItemCount = mCount;
-        if (mItemSelectedIndex < 0 || mItemSelectedIndex >= mCount) {
-            mItemSelectedIndex = 0;
-        }
+        mItemModel.SetCount(mCount);
+        mSelection.Clamp(mCount);
 
         // Fill icon & title arrays with menu data
         for (int mI = 0; mI < mCount; mI++) {
             mNavifyItemIcon[mI] = mValidIcons.get(mI);
-            mNavifyItemTitle[mI] = mValidTitles.get(mI);
-
-            if (mI == mItemSelectedIndex) {
-                mNavifyItemIconSize[mI] = mItemSelectedIconSize;
-                mNavifyItemTextAlphas[mI] = 1f;
-                mNavifyTextOffsets[mI] = 0f;
-            } else {
-                mNavifyItemIconSize[mI] = mItemUnSelectedIconSize;
-                mNavifyItemTextAlphas[mI] = 0f;
-                mNavifyTextOffsets[mI] = mNavifyItemTextAnimDistancePX;
-            }
+            mItemModel.SetTitle(mI, mValidTitles.get(mI));
         }
 
-        // Fill remaining item slots with defaults (nulls)
+        // Remaining slots were cleared by SetCount
         for (int mI = mCount; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
             mNavifyItemIcon[mI] = null;
-            mNavifyItemTitle[mI] = null;
-            mNavifyItemIconSize[mI] = mItemUnSelectedIconSize;
-            mNavifyItemTextAlphas[mI] = 0f;
-            mNavifyTextOffsets[mI] = mNavifyItemTextAnimDistancePX;
         }
 
-        // Reset icon alpha values
-        for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
-            mNavifyItemIconAlphas[mI] = 1f;
+        // Lazy icons draw placeholders until the background loader swaps them in
+        if (mItemIconLazy) {
+            mIconLoader.Load(this, getContext(), mValidIconRes, mCount, (int) Math.ceil(RenderNodeIconSize()), this::InstallLazyIcons);
+        } else {
+            mIconLoader.Cancel();
         }
 
+        // Settle every item on the selection, icons fully opaque
+        mItemModel.SettleAll(mSelection.Selected());
+
         // Apply badge state if active and valid
         if (mItemBadge && mItemBadgeIndex >= 0 && mItemBadgeIndex < mNavifyItemCount) {
             setItemBadgeSelectedCount(mItemBadgeSelectedCount);
         }
 
-        // Update animation center and redraw
-        mAnimCenterX = ComputeCenterXForIndex(mItemSelectedIndex);
+        // Update draw titles, animation center and redraw
+        UpdateItemDrawState();
+        mAnimCenterX = ComputeCenterXForIndex(mSelection.Selected());
         requestLayout();
-        invalidate();
+        InvalidateContent();
     }
 
 
@@ -898,6 +1329,20 @@ public class Navify extends View {
      */
     @Override
     protected void onMeasure(int mWidthMeasureSpec, int mHeightMeasureSpec) {
+        boolean mTrace = NavifyTrace.Begin("Navify.onMeasure");
+        try {
+            MeasureNavify(mWidthMeasureSpec, mHeightMeasureSpec);
+        } finally {
+            NavifyTrace.End(mTrace);
+        }
+    }
+
+    /**
+     * Body of onMeasure, run inside its trace section.
+     */
+    private void MeasureNavify(int mWidthMeasureSpec, int mHeightMeasureSpec) {
+        long mMeasureStart = mMetrics != null ? System.nanoTime() : 0L;
+
         // Get the total available width from the parent
         int mWidth = MeasureSpec.getSize(mWidthMeasureSpec);
 
@@ -936,9 +1381,12 @@ public class Navify extends View {
         // Save measured dimensions for use in drawing
         mViewWidth = mWidth;
         mViewHeight = mHeight;
+        mItemLayoutDirty = true;
 
         // Finalize measured size
         setMeasuredDimension(mViewWidth, mViewHeight);
+
+        if (mMetrics != null) mMetrics.RecordTime(NavifyMetrics.HISTOGRAM_MEASURE_TIME, mMeasureStart);
     }
 
     /**
@@ -973,13 +1421,26 @@ public class Navify extends View {
         mBarTopY = mBumpTotalRadius + mTopBarPadding;
         mCircleCenterY = mBumpTotalRadius + mTopBarPadding;
 
+        // Item layout depends on the bar geometry above
+        mItemLayoutDirty = true;
+        EnsureItemLayout();
+
         // If items exist, animate to selected index; else center
         if (mNavifyItemCount > 0) {
-            mAnimCenterX = ComputeCenterXForIndex(mItemSelectedIndex);
+            mAnimCenterX = ComputeCenterXForIndex(mSelection.Selected());
         } else {
             mAnimCenterX = mViewWidth / 2f;
         }
 
+        // Shadow shaders and bitmaps depend on the radii computed above
+        UpdateGradientShadows();
+        UpdateShadowCache();
+
+        // Recorded nodes depend on every size above
+        if (mRenderNodes != null) {
+            mRenderNodes.Resize(mNewWidth, mNewHeight);
+        }
+
         // Always call superclass implementation
         super.onSizeChanged(mNewWidth, mNewHeight, mOldWidth, mOldHeight);
     }
@@ -989,6 +1450,8 @@ public class Navify extends View {
      * <p>
      * Renders the background shape, selection circle,
      * and all navigation items (icons + texts).
+     * On API 29+ hardware canvases every part is drawn through a retained
+     * RenderNode, so animation frames only update node properties.
      *
      * @param mCanvas Canvas object used for custom drawing
      */
@@ -999,14 +1462,54 @@ public class Navify extends View {
         // If no items are available, nothing to draw
         if (mNavifyItemCount == 0) return;
 
+        boolean mTrace = NavifyTrace.Begin("Navify.onDraw");
+        try {
+            DrawNavify(mCanvas);
+        } finally {
+            NavifyTrace.End(mTrace);
+        }
+    }
+
+    /**
+     * Body of onDraw, run inside its trace section.
+     */
+    private void DrawNavify(Canvas mCanvas) {
+        // Fallback frame timing for adaptive quality (no-op outside transitions)
+        long mDrawStart = System.nanoTime();
+        mAdaptiveQuality.OnDraw(mDrawStart);
+
+        // RenderNodes only work on hardware canvases (not on software layers)
+        mDrawWithRenderNodes = mRenderNodes != null && mCanvas.isHardwareAccelerated();
+
         // Draw curved background bump
-        DrawBackgroundBump(mCanvas);
+        long mPartStart = mMetrics != null ? System.nanoTime() : 0L;
+        boolean mPartTrace = NavifyTrace.Begin("Navify.DrawBackgroundBump");
+        try {
+            DrawBackgroundBump(mCanvas);
+        } finally {
+            NavifyTrace.End(mPartTrace);
+        }
+        if (mMetrics != null) mMetrics.RecordTime(NavifyMetrics.HISTOGRAM_DRAW_BACKGROUND_BUMP_TIME, mPartStart);
 
         // Draw the circular background behind selected item
-        mCanvas.drawCircle(mAnimCenterX, mCircleCenterY, mCircleRadius, mCirclePaint);
+        if (mDrawWithRenderNodes) {
+            mRenderNodes.DrawCircle(mCanvas, mAnimCenterX);
+        } else {
+            DrawSelectionCircle(mCanvas, mAnimCenterX);
+        }
 
         // Draw navigation icons & texts
-        DrawItems(mCanvas);
+        if (mMetrics != null) mPartStart = System.nanoTime();
+        mPartTrace = NavifyTrace.Begin("Navify.DrawItems");
+        try {
+            DrawItems(mCanvas);
+        } finally {
+            NavifyTrace.End(mPartTrace);
+        }
+        if (mMetrics != null) {
+            mMetrics.RecordTime(NavifyMetrics.HISTOGRAM_DRAW_ITEMS_TIME, mPartStart);
+            mMetrics.RecordTime(NavifyMetrics.HISTOGRAM_DRAW_TIME, mDrawStart);
+        }
     }
 
     /**
@@ -1019,56 +1522,157 @@ public class Navify extends View {
      * @param mCanvas Canvas to draw on
      */
     private void DrawBackgroundBump(Canvas mCanvas) {
-        // Reset previous path to start fresh
-        mBackgroundPath.reset();
-
-        // Cache frequently used values for readability
-        float mViewWidthPx = mViewWidth;
-        float mViewHeightPx = mViewHeight;
-        float mBarTopYPx = mBarTopY;
-        float mCircleRadiusPx = mCircleRadius;
-
         // If we have items, compute center X of selected item
         if (mNavifyItemCount > 0) {
             if (mAnimCenterX <= 0f || Float.isNaN(mAnimCenterX)) {
-                mAnimCenterX = ComputeCenterXForIndex(mItemSelectedIndex);
+                mAnimCenterX = ComputeCenterXForIndex(mSelection.Selected());
             }
         } else {
             // Fallback to center if no items
-            mAnimCenterX = mViewWidthPx / 2f;
+            mAnimCenterX = mViewWidth / 2f;
         }
 
-        float mCircleCenterXPx = mAnimCenterX;
+        if (mDrawWithRenderNodes) {
+            mRenderNodes.DrawBar(mCanvas, mAnimCenterX);
+        } else {
+            DrawBarShape(mCanvas, mAnimCenterX);
+        }
+        mDrawnCenterX = mAnimCenterX;
+    }
 
-        // Add a bit of extra height to bump effect
-        float mBumpExtraPx = dpToPx(4f);
-        float mBumpTotalRadiusPx = mCircleRadiusPx + mBumpExtraPx;
+    /**
+     * Draws the bar background (shadow + filled shape) with the bump centered at mCenterX.
+     * <p>
+     * Geometry comes from the bar templates built by UpdateBarTemplate, so a frame
+     * only translates the canvas. With an opaque fill and no shadow layer on the
+     * paint the straight bar is a single cached rect and only the small bump
+     * silhouette is drawn as a path; otherwise the whole bar is one template path
+     * so the shadow and anti-aliased edges stay seamless.
+     *
+     * @param mCanvas  Canvas to draw on
+     * @param mCenterX Center X of the bump
+     */
+    void DrawBarShape(Canvas mCanvas, float mCenterX) {
+        UpdateBarTemplate();
+
+        // Shadows from the cache or gradients go below the bar fill
+        if (mUseShadowCache) {
+            mShadowCache.DrawBar(mCanvas, mCenterX);
+        } else if (mUseGradientShadows) {
+            if (mBarShadowPaint.getShader() != null) {
+                int mSaveCount = mCanvas.save();
+                mCanvas.translate(mCenterX, mBarTopY);
+                mCanvas.drawRect(-mBarTemplateHalfWidth, -mBackgroundElevation, mBarTemplateHalfWidth, 0f, mBarShadowPaint);
+                mCanvas.restoreToCount(mSaveCount);
+            }
+            if (mBumpShadowPaint.getShader() != null) {
+                DrawGradientShadow(mCanvas, mCenterX, mBarTopY, mBarTemplateBumpRadius + mBackgroundElevation, mBumpShadowPaint);
+            }
+        }
 
-        // Calculate left and right X boundaries of the bump
-        float mBumpLeftX = mCircleCenterXPx - mBumpTotalRadiusPx * 1.7f;
-        float mBumpRightX = mCircleCenterXPx + mBumpTotalRadiusPx * 1.7f;
+        boolean mSplitFlatBar = (mUseShadowCache || mUseGradientShadows) && Color.alpha(mBackgroundColor) == 255;
+        if (mSplitFlatBar) {
+            // Straight bar as one rect, bump silhouette overlaps it slightly
+            mCanvas.drawRect(mCenterX - mBarTemplateHalfWidth, mBarTopY, mCenterX + mBarTemplateHalfWidth, mViewHeight, mBackgroundPaint);
+        }
 
-        // Start from left edge of bar
-        mBackgroundPath.moveTo(0f, mBarTopYPx);
-        mBackgroundPath.lineTo(mBumpLeftX, mBarTopYPx);
+        int mSaveCount = mCanvas.save();
+        mCanvas.translate(mCenterX, 0f);
+        mCanvas.drawPath(mSplitFlatBar ? mBumpTemplatePath : mBarTemplatePath, mBackgroundPaint);
+        mCanvas.restoreToCount(mSaveCount);
+    }
 
-        // Draw first half of the bump with a cubic curve (upward arc)
-        mBackgroundPath.cubicTo(mBumpLeftX + mBumpTotalRadiusPx * 0.95f, mBarTopYPx,                             // Control Point 1
-                mCircleCenterXPx - mBumpTotalRadiusPx, mBarTopYPx - mBumpTotalRadiusPx * 0.95f,  // Control Point 2
-                mCircleCenterXPx, mBarTopYPx - mBumpTotalRadiusPx                                // End Point (top center of bump)
-        );
+    /**
+     * Rebuilds the bar templates when bump radius, bar top or view size changed.
+     * <p>
+     * Both templates have the bump centered at x = 0. The full template runs a
+     * full view width past both sides so any translation inside the view is
+     * covered (the RenderNode path records it once and moves it the same way).
+     */
+    private void UpdateBarTemplate() {
+        float mBumpTotalRadius = mCircleRadius + mBumpExtraPx;
+        if (mBarTemplateBumpRadius == mBumpTotalRadius && mBarTemplateTopY == mBarTopY && mBarTemplateWidth == mViewWidth && mBarTemplateHeight == mViewHeight) {
+            return;
+        }
+        mBarTemplateBumpRadius = mBumpTotalRadius;
+        mBarTemplateTopY = mBarTopY;
+        mBarTemplateWidth = mViewWidth;
+        mBarTemplateHeight = mViewHeight;
+        mBarTemplateHalfWidth = 2f * mViewWidth;
+
+        float mBumpHalfSpan = NavifyBumpGeometry.HalfSpan(mBumpTotalRadius);
+
+        // Full bar: straight bar + bump, closed down to the bottom edge
+        mBarTemplatePath.rewind();
+        mBarTemplatePath.moveTo(-mBarTemplateHalfWidth, mBarTopY);
+        AppendBumpCurve(mBarTemplatePath, 0f, mBarTopY, mBumpTotalRadius);
+        mBarTemplatePath.lineTo(mBarTemplateHalfWidth, mBarTopY);
+        mBarTemplatePath.lineTo(mBarTemplateHalfWidth, mViewHeight);
+        mBarTemplatePath.lineTo(-mBarTemplateHalfWidth, mViewHeight);
+        mBarTemplatePath.close();
+
+        // Bump only: reaches a little into the straight bar so no seam shows at bar top
+        float mOverlap = Math.min(dpToPx(2f), Math.max(0f, mViewHeight - mBarTopY));
+        mBumpTemplatePath.rewind();
+        mBumpTemplatePath.moveTo(-mBumpHalfSpan, mBarTopY + mOverlap);
+        mBumpTemplatePath.lineTo(-mBumpHalfSpan, mBarTopY);
+        AppendBumpCurve(mBumpTemplatePath, 0f, mBarTopY, mBumpTotalRadius);
+        mBumpTemplatePath.lineTo(mBumpHalfSpan, mBarTopY + mOverlap);
+        mBumpTemplatePath.close();
+    }
+
+    /**
+     * Draws the selection circle (shadow + fill) centered at mCenterX.
+     *
+     * @param mCanvas  Canvas to draw on
+     * @param mCenterX Center X of the circle
+     */
+    void DrawSelectionCircle(Canvas mCanvas, float mCenterX) {
+        if (mUseGradientShadows && mCircleShadowPaint.getShader() != null) {
+            DrawGradientShadow(mCanvas, mCenterX, mCircleCenterY, mCircleRadius + mItemCircleBackgroundElevation, mCircleShadowPaint);
+        } else if (mUseShadowCache) {
+            mShadowCache.DrawCircle(mCanvas, mCenterX, mCircleCenterY);
+        }
+        mCanvas.drawCircle(mCenterX, mCircleCenterY, mCircleRadius, mCirclePaint);
+    }
 
-        // Second half of bump (downward arc)
-        mBackgroundPath.cubicTo(mCircleCenterXPx + mBumpTotalRadiusPx, mBarTopYPx - mBumpTotalRadiusPx * 0.95f, mBumpRightX - mBumpTotalRadiusPx * 0.95f, mBarTopYPx, mBumpRightX, mBarTopYPx);
+    /**
+     * Appends the bump outline to a path whose current point lies on the bar top, left of the bump.
+     * <p>
+     * Uses cubic Bezier curves: a line to the bump start, an upward arc to the
+     * top center and a downward arc back to the bar top on the right.
+     *
+     * @param mPath            Path to append to
+     * @param mCenterX         Center X of the bump
+     * @param mBarTopY         Top Y of the straight bar
+     * @param mBumpTotalRadius Circle radius plus bump extra
+     */
+    static void AppendBumpCurve(Path mPath, float mCenterX, float mBarTopY, float mBumpTotalRadius) {
+        // Only called when the bar template is rebuilt, never per frame
+        float[] mPoints = new float[NavifyBumpGeometry.POINTS_SIZE];
+        NavifyBumpGeometry.Compute(mPoints, mCenterX, mBarTopY, mBumpTotalRadius);
 
-        // Finish drawing the rest of the nav bar (to right edge and down)
-        mBackgroundPath.lineTo(mViewWidthPx, mBarTopYPx);
-        mBackgroundPath.lineTo(mViewWidthPx, mViewHeightPx);
-        mBackgroundPath.lineTo(0f, mViewHeightPx);
-        mBackgroundPath.close();
+        mPath.lineTo(mPoints[0], mPoints[1]);
 
-        // Finally, draw the path using the background paint
-        mCanvas.drawPath(mBackgroundPath, mBackgroundPaint);
+        // First half of the bump (upward arc), then second half (downward arc)
+        mPath.cubicTo(mPoints[2], mPoints[3], mPoints[4], mPoints[5], mPoints[6], mPoints[7]);
+        mPath.cubicTo(mPoints[8], mPoints[9], mPoints[10], mPoints[11], mPoints[12], mPoints[13]);
+    }
+
+    /**
+     * Draws an origin-centered gradient shadow at the given position.
+     *
+     * @param mCanvas      Canvas to draw on
+     * @param mCenterX     Center X of the shape casting the shadow
+     * @param mCenterY     Center Y of the shape casting the shadow
+     * @param mOuterRadius Radius where the shadow has fully faded out
+     * @param mPaint       Shadow paint holding the radial shader
+     */
+    private void DrawGradientShadow(Canvas mCanvas, float mCenterX, float mCenterY, float mOuterRadius, Paint mPaint) {
+        int mSaveCount = mCanvas.save();
+        mCanvas.translate(mCenterX, mCenterY);
+        mCanvas.drawCircle(0f, 0f, mOuterRadius, mPaint);
+        mCanvas.restoreToCount(mSaveCount);
     }
 
     /**
@@ -1083,88 +1687,395 @@ public class Navify extends View {
         // Don't draw if no items
         if (mNavifyItemCount == 0) return;
 
-        // Calculate width for each section
-        float mSectionWidth = mViewWidth / (float) mNavifyItemCount;
-        float GAP_2_DP = dpToPx(2f); // gap between icon and text
-
-        for (int mI = 0; mI < mNavifyItemCount; mI++) {
-            // Adjust index if RTL is active
-            int mDrawIndex = RTLIndex(mI);
-
-            // Center X of the current item
-            float mDrawCenterX = mSectionWidth * mDrawIndex + mSectionWidth / 2f;
+        // Centers and per-state geometry come from the layout table
+        EnsureItemLayout();
 
-            boolean mDrawSel = (mI == mItemSelectedIndex);
-            Drawable mDrawIcon = mNavifyItemIcon[mI];
-            float mDrawIconSize = mNavifyItemIconSize[mI];
+        // Atlas is rebuilt only when icons, sizes or tints changed
+        // Badges are looked up in the shared cache only after content or style changes
+        if (mBadgeBitmapsDirty) {
+            UpdateBadgeBitmaps();
+        }
 
-            // Should we draw text label?
-            boolean mDrawShowText = mItemLabelVisibilityMode == NAVIFY_LABELED || (mItemLabelVisibilityMode == NAVIFY_SELECTED && mDrawSel);
+        if (mItemIconAtlas && mIconAtlas.Update(getResources(), mNavifyItemIcon, mNavifyItemCount, mItemSelectedIconSize, mItemUnSelectedIconSize, mItemSelectedIconColor, mItemUnSelectedIconColor) && mRenderNodes != null) {
+            mRenderNodes.MarkAllDirty();
+        }
 
-            // Configure text paint for this item
-            float mDrawTextSize = mDrawSel ? mItemSelectedTextSize : mItemUnSelectedTextSize;
-            mTextPaint.setTextSize(mDrawTextSize);
-            float mDrawTextHeight = mDrawShowText ? (mTextPaint.descent() - mTextPaint.ascent()) : 0f;
-            float mDrawExtraSelGap = mDrawSel ? dpToPx(mItemTextSelectedExtraSpace) : 0f;
+        for (int mI = 0; mI < mNavifyItemCount; mI++) {
+            // Center X of the current item (RTL already applied)
+            float mDrawCenterX = mItemLayout.CenterX(mI);
 
-            // Calculate block height for icon + text
-            float mDrawBlockHeight = mDrawIconSize + (mDrawShowText ? GAP_2_DP : 0f) + mDrawTextHeight + mDrawExtraSelGap;
+            boolean mDrawSel = (mI == mSelection.Selected());
+            Drawable mDrawIcon = mNavifyItemIcon[mI];
+            float mDrawIconSize = mItemModel.IconSize(mI);
 
             // Icon Y position: higher if selected (to align with bump)
-            float mDrawIconTopY = mDrawSel ? (mCircleCenterY - mDrawIconSize / 2f) : (mBarTopY + (mBarHeight - mDrawBlockHeight) / 2f);
+            float mDrawIconTopY = mItemLayout.IconTop(mI, mDrawSel, mDrawIconSize);
 
             // --- Draw Icon ---
             if (mDrawIcon != null) {
-                float mDrawLeftX = mDrawCenterX - mDrawIconSize / 2f;
-                mDrawIcon.setBounds((int) mDrawLeftX, (int) mDrawIconTopY, (int) (mDrawLeftX + mDrawIconSize), (int) (mDrawIconTopY + mDrawIconSize));
-                mDrawIcon.setTint(mDrawSel ? mItemSelectedIconColor : mItemUnSelectedIconColor);
-                int nDrawIconAlpha = (int) (255 * mNavifyItemIconAlphas[mI]);
-                mDrawIcon.setAlpha(nDrawIconAlpha);
-                mDrawIcon.draw(mCanvas);
+                if (mDrawWithRenderNodes) {
+                    mRenderNodes.DrawItemIcon(mCanvas, mI, mDrawSel, mDrawCenterX, mItemLayout.IconCenterY(mI, mDrawSel), mDrawIconSize, mItemModel.IconAlpha(mI));
+                } else {
+                    float mDrawLeftX = mDrawCenterX - mDrawIconSize / 2f;
+                    int nDrawIconAlpha = (int) (255 * mItemModel.IconAlpha(mI));
+                    DrawItemIcon(mCanvas, mI, mDrawSel, (int) mDrawLeftX, (int) mDrawIconTopY, (int) (mDrawLeftX + mDrawIconSize), (int) (mDrawIconTopY + mDrawIconSize), nDrawIconAlpha);
+                }
+            } else if (mIconLoader.IsPending(mI)) {
+                DrawIconPlaceholder(mCanvas, mDrawSel, mDrawCenterX, mDrawIconTopY + mDrawIconSize / 2f, mDrawIconSize, mItemModel.IconAlpha(mI));
             }
 
             // --- Draw Text Label ---
-            if (mDrawShowText) {
-                String mDrawTitle = mNavifyItemTitle[mI];
+            if (mItemLayout.ShowLabel(mI, mDrawSel)) {
+                String mDrawTitle = mNavifyItemDrawTitle[mI];
                 if (mDrawTitle != null && !mDrawTitle.isEmpty()) {
-                    if (mItemTextAllCaps) {
-                        mDrawTitle = mDrawTitle.toUpperCase(Locale.getDefault());
-                    }
-
-                    mTextPaint.setTextSize(mDrawTextSize);
-                    mTextPaint.setColor(mDrawSel ? mItemSelectedTextColor : mItemUnSelectedTextColor);
-                    mTextPaint.setAlpha(255);
+                    float mDrawTextY = mItemLayout.LabelBaseline(mI, mDrawSel, mDrawIconSize);
 
-                    float mDrawTextY = mDrawIconTopY + mDrawIconSize + GAP_2_DP + mDrawExtraSelGap - mTextPaint.ascent();
-                    mCanvas.drawText(mDrawTitle, mDrawCenterX, mDrawTextY, mTextPaint);
+                    if (mDrawWithRenderNodes) {
+                        mRenderNodes.DrawItemLabel(mCanvas, mI, mDrawSel, mDrawCenterX, mDrawTextY);
+                    } else {
+                        DrawItemLabel(mCanvas, mI, mDrawSel, mDrawCenterX, mDrawTextY);
+                    }
                 }
             }
 
             // --- Skip badge if selected item and skipping is enabled ---
-            if (mSkipBadgeOnSelected && mI == mItemSelectedIndex) continue;
+            if (mSkipBadgeOnSelected && mI == mSelection.Selected()) continue;
 
             // --- Draw Badge ---
-            if (mBadgeEnabled[mI] && mBadgeText[mI] != null) {
-                float mBadgeRadius = dpToPx(8f) * mBadgeScale[mI];
-                float mIconHalf = mDrawIconSize / 2f;
+            if (mItemModel.HasVisibleBadge(mI)) {
+                float mBadgeRadius = mBadgeRadiusPx * mItemModel.BadgeScale(mI);
+
+                // Badge anchor depends on direction (START/END)
+                float mBX = mItemLayout.BadgeX(mI, mDrawIconSize, mBadgeRadius);
+                float mBY = mItemLayout.BadgeY(mI, mDrawSel, mDrawIconSize, mBadgeRadius);
+
+                if (mDrawWithRenderNodes) {
+                    mRenderNodes.DrawItemBadge(mCanvas, mI, mBX, mBY, mBadgeRadius);
+                } else {
+                    DrawItemBadge(mCanvas, mI, mBX, mBY, mBadgeRadius);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws an item icon into the given bounds with its state tint.
+     *
+     * @param mCanvas    Canvas to draw on
+     * @param mIndex     Item index
+     * @param mSelected  Whether the item is the selected one
+     * @param mLeft      Left bound
+     * @param mTop       Top bound
+     * @param mRight     Right bound
+     * @param mBottom    Bottom bound
+     * @param mIconAlpha Icon alpha (0-255)
+     */
+    void DrawItemIcon(Canvas mCanvas, int mIndex, boolean mSelected, int mLeft, int mTop, int mRight, int mBottom, int mIconAlpha) {
+        Drawable mDrawIcon = mNavifyItemIcon[mIndex];
+        if (mDrawIcon == null) return;
+
+        // Atlas mode never touches the (possibly shared) drawable
+        if (mItemIconAtlas && mIconAtlas.Draw(mCanvas, mIndex, mSelected, mLeft, mTop, mRight, mBottom, mIconAlpha)) return;
+
+        mDrawIcon.setBounds(mLeft, mTop, mRight, mBottom);
+
+        // setTint builds a new tint filter, so only call it when the color changes
+        int mTint = mSelected ? mItemSelectedIconColor : mItemUnSelectedIconColor;
+        if (!mNavifyItemTintApplied[mIndex] || mNavifyItemAppliedTint[mIndex] != mTint) {
+            mDrawIcon.setTint(mTint);
+            mNavifyItemAppliedTint[mIndex] = mTint;
+            mNavifyItemTintApplied[mIndex] = true;
+        }
+        mDrawIcon.setAlpha(mIconAlpha);
+        mDrawIcon.draw(mCanvas);
+    }
+
+    /**
+     * Draws the placeholder of an icon that is still loading: a small dot in the state tint.
+     *
+     * @param mCanvas    Canvas to draw on
+     * @param mSelected  Whether the item is the selected one
+     * @param mCenterX   Icon center X
+     * @param mCenterY   Icon center Y
+     * @param mIconSize  Current icon size
+     * @param mIconAlpha Icon alpha (0..1)
+     */
+    private void DrawIconPlaceholder(Canvas mCanvas, boolean mSelected, float mCenterX, float mCenterY, float mIconSize, float mIconAlpha) {
+        mIconPlaceholderPaint.setColor(mSelected ? mItemSelectedIconColor : mItemUnSelectedIconColor);
+        mIconPlaceholderPaint.setAlpha((int) (Color.alpha(mIconPlaceholderPaint.getColor()) * Math.max(0f, Math.min(1f, mIconAlpha))));
+        mCanvas.drawCircle(mCenterX, mCenterY, mIconSize / 6f, mIconPlaceholderPaint);
+    }
 
-                // Calculate badge position depending on direction (START/END)
-                float mBX = mDrawCenterX + (mItemBadgePosition == BADGE_POSITION_END ? mIconHalf : -mIconHalf) + (mItemBadgePosition == BADGE_POSITION_END ? mBadgeRadius * 0.3f : -mBadgeRadius * 0.3f);
+    /**
+     * Swaps in icons resolved by the lazy icon loader and redraws once.
+     */
+    private void InstallLazyIcons(Drawable[] mIcons) {
+        for (int mI = 0; mI < mNavifyItemCount; mI++) {
+            mNavifyItemIcon[mI] = mIcons[mI];
+            mNavifyItemTintApplied[mI] = false;
+        }
+        InvalidateContent();
+    }
 
-                float mBY = mDrawIconTopY - mBadgeRadius * 0.3f;
+    /**
+     * Draws an item label with its baseline at the given position.
+     *
+     * @param mCanvas   Canvas to draw on
+     * @param mIndex    Item index
+     * @param mSelected Whether the item is the selected one
+     * @param mX        Center X of the text
+     * @param mY        Baseline Y of the text
+     */
+    void DrawItemLabel(Canvas mCanvas, int mIndex, boolean mSelected, float mX, float mY) {
+        // Pre-shaped label once the background build has finished
+        if (mLabelCache.Draw(mCanvas, mIndex, mSelected, mX, mY)) return;
 
-                // Draw badge circle
-                mCanvas.drawCircle(mBX, mBY, mBadgeRadius, mBadgeBackgroundPaint);
+        String mDrawTitle = mNavifyItemDrawTitle[mIndex];
+        if (mDrawTitle == null || mDrawTitle.isEmpty()) return;
 
-                // Draw badge text centered in circle
-                String mTaBadgeText = mBadgeText[mI];
-                Paint.FontMetrics mFontMetrics = mBadgeTextPaint.getFontMetrics();
-                float mTextY = mBY - (mFontMetrics.ascent + mFontMetrics.descent) / 2;
-                mCanvas.drawText(mTaBadgeText, mBX, mTextY, mBadgeTextPaint);
+        mTextPaint.setTextSize(mSelected ? mItemSelectedTextSize : mItemUnSelectedTextSize);
+        mTextPaint.setColor(mSelected ? mItemSelectedTextColor : mItemUnSelectedTextColor);
+        mTextPaint.setAlpha(255);
+        mCanvas.drawText(mDrawTitle, mX, mY, mTextPaint);
+    }
+
+    /**
+     * Draws an item badge (circle + centered text).
+     *
+     * @param mCanvas      Canvas to draw on
+     * @param mIndex       Item index
+     * @param mX           Badge center X
+     * @param mY           Badge center Y
+     * @param mBadgeRadius Badge radius (already scaled by the pop-in animation)
+     */
+    void DrawItemBadge(Canvas mCanvas, int mIndex, float mX, float mY, float mBadgeRadius) {
+        // Cached badge, scaled for the pop-in
+        Bitmap mBadgeBitmap = mBadgeBitmaps[mIndex];
+        if (mBadgeBitmap != null && mBadgeRadiusPx > 0f) {
+            float mHalf = mBadgeBitmap.getWidth() / 2f * (mBadgeRadius / mBadgeRadiusPx);
+            mBadgeDstRect.set(mX - mHalf, mY - mHalf, mX + mHalf, mY + mHalf);
+            mCanvas.drawBitmap(mBadgeBitmap, null, mBadgeDstRect, mBadgeBitmapPaint);
+            return;
+        }
+
+        // Draw badge circle
+        mCanvas.drawCircle(mX, mY, mBadgeRadius, mBadgeBackgroundPaint);
+
+        // Draw badge text centered in circle
+        String mTaBadgeText = mItemModel.BadgeText(mIndex);
+        float mTextY = mY + mBadgeTextBaselineOffset;
+        mCanvas.drawText(mTaBadgeText, mX, mTextY, mBadgeTextPaint);
+    }
+
+    /**
+     * Full (unscaled) badge radius; badge nodes are recorded at it and scaled.
+     */
+    float BadgeFullRadius() {
+        return mBadgeRadiusPx;
+    }
+
+    /**
+     * Resolves each enabled badge to a bitmap from the shared badge cache.
+     */
+    private void UpdateBadgeBitmaps() {
+        mBadgeBitmapsDirty = false;
+        for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            boolean mVisible = mI < mNavifyItemCount && mItemModel.HasVisibleBadge(mI);
+            if (!mVisible || mBadgeBackgroundPaint == null || mBadgeTextPaint == null || mBadgeRadiusPx <= 0f) {
+                mBadgeBitmaps[mI] = null;
+                continue;
             }
+            mBadgeBitmaps[mI] = NavifyBadgeCache.Obtain(mItemModel.BadgeText(mI), mBadgeRadiusPx, mBadgeBackgroundPaint, mBadgeTextPaint, mBadgeTextBaselineOffset);
         }
     }
 
+    /**
+     * Size icons are recorded at in their RenderNodes; nodes scale down from it.
+     */
+    float RenderNodeIconSize() {
+        return Math.max(mItemSelectedIconSize, mItemUnSelectedIconSize);
+    }
+
+    /**
+     * Converts the fixed dp distances used while drawing to pixels once.
+     * <p>
+     * Called at init, on configuration changes and from the setters that
+     * change them, so frames never touch the display metrics.
+     */
+    private void UpdateFrameConstants() {
+        mItemGapPx = dpToPx(2f);
+        mBumpExtraPx = dpToPx(4f);
+        mBadgeRadiusPx = dpToPx(8f);
+        mItemTextSelectedExtraSpacePx = dpToPx(mItemTextSelectedExtraSpace);
+    }
+
+    /**
+     * Hands the settled icon sizes and label offset to the item model.
+     * <p>
+     * Items keep their current values until they are settled or animated again.
+     */
+    private void UpdateItemModelState() {
+        mItemModel.SetStateValues(mItemSelectedIconSize, mItemUnSelectedIconSize, mNavifyItemTextAnimDistancePX);
+    }
+
+    /**
+     * Rebuilds per-item draw state derived from titles and icons.
+     * <p>
+     * Upper-cases titles once instead of per frame and forgets the tint applied
+     * to each icon, since the drawables may have been replaced.
+     */
+    private void UpdateItemDrawState() {
+        Locale mLocale = Locale.getDefault();
+        for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            String mTitle = mItemModel.Title(mI);
+            mNavifyItemDrawTitle[mI] = (mTitle != null && mItemTextAllCaps) ? mTitle.toUpperCase(mLocale) : mTitle;
+            mNavifyItemTintApplied[mI] = false;
+        }
+        mItemLayoutDirty = true;
+        UpdateLabelCache();
+    }
+
+    /**
+     * Re-shapes the label cache in the background for the current titles and text style.
+     * <p>
+     * Labels draw as plain strings until the result arrives, then the content is invalidated.
+     */
+    private void UpdateLabelCache() {
+        if (mTextPaint == null) return;
+        mLabelCache.SetColors(mItemSelectedTextColor, mItemUnSelectedTextColor);
+        mLabelCache.Rebuild(this, mNavifyItemDrawTitle, mTextPaint, mItemSelectedTextSize, mItemUnSelectedTextSize, this::InvalidateContent);
+    }
+
+    /**
+     * Rebuilds the item layout table if it was invalidated or its columns changed.
+     * <p>
+     * Size, menu changes and every setter mark it dirty; layout direction is
+     * compared directly since it can change without a setter.
+     */
+    private void EnsureItemLayout() {
+        boolean mRTL = getForceRTL();
+        if (!mItemLayoutDirty && !mItemLayout.IsStale(mNavifyItemCount, mViewWidth, mRTL)) return;
+        mItemLayoutDirty = false;
+
+        mItemLayout.SetColumns(mNavifyItemCount, mViewWidth, mRTL);
+        mItemLayout.SetBadgeSide(mItemBadgePosition == BADGE_POSITION_END);
+        UpdateItemLayoutState(true);
+        UpdateItemLayoutState(false);
+    }
+
+    /**
+     * Fills one state of the item layout table.
+     * <p>
+     * Measures the label font at that state's text size; the geometry itself is
+     * computed by NavifyItemLayout.
+     *
+     * @param mSelected Which state to compute
+     */
+    private void UpdateItemLayoutState(boolean mSelected) {
+        mTextPaint.setTextSize(mSelected ? mItemSelectedTextSize : mItemUnSelectedTextSize);
+        mItemLayout.SetStateGeometry(mSelected ? NavifyItemLayout.STATE_SELECTED : NavifyItemLayout.STATE_UNSELECTED, mItemLabelVisibilityMode, mBarTopY, mBarHeight, mCircleCenterY, mTextPaint.ascent(), mTextPaint.descent(), mItemGapPx, mItemTextSelectedExtraSpacePx);
+    }
+
+    /**
+     * Marks recorded drawing content as stale and schedules a redraw.
+     * <p>
+     * Used whenever appearance or content changes. Animation ticks use
+     * InvalidateTransition / InvalidateItem, so they never trigger re-recording.
+     */
+    private void InvalidateContent() {
+        mItemLayoutDirty = true;
+        mBadgeBitmapsDirty = true;
+        if (mRenderNodes != null) {
+            mRenderNodes.MarkAllDirty();
+        }
+        invalidate();
+    }
+
+    /**
+     * Invalidates only what the selection transition changes this frame.
+     * <p>
+     * The dirty region is the bump span at the last drawn and current center
+     * (bar, circle and their shadows) plus the columns of the animating items
+     * (icons, labels, badges). The transition's Choreographer callback calls
+     * this once per frame, from ApplyTransitionFrame. Hardware-accelerated
+     * windows ignore the rectangle and redraw the view's display list instead,
+     * so the gain is on software rendering.
+     */
+    private void InvalidateTransition() {
+        if (mDrawnCenterX < 0f || mViewWidth <= 0) {
+            invalidate();
+            return;
+        }
+
+        // Bump reaches 1.7x its radius to each side, shadows add up to twice the elevation
+        float mHalfSpan = (mCircleRadius + mBumpExtraPx) * 1.7f + 2f * Math.max(mBackgroundElevation, mItemCircleBackgroundElevation) + 1f;
+        float mLeft = Math.min(mDrawnCenterX, mAnimCenterX) - mHalfSpan;
+        float mRight = Math.max(mDrawnCenterX, mAnimCenterX) + mHalfSpan;
+
+        EnsureItemLayout();
+        float mColumnHalf = ItemDirtyHalfWidth();
+        for (int mI = 0; mI < mNavifyItemCount; mI++) {
+            if (!mItemModel.IsAnimated(mI)) continue;
+            float mCenterX = mItemLayout.CenterX(mI);
+            mLeft = Math.min(mLeft, mCenterX - mColumnHalf);
+            mRight = Math.max(mRight, mCenterX + mColumnHalf);
+        }
+        InvalidateFrameSpan(mLeft, mRight);
+    }
+
+    /**
+     * Invalidates the column of a single item (badge pop-in).
+     *
+     * @param mIndex Item index
+     */
+    private void InvalidateItem(int mIndex) {
+        if (mIndex < 0 || mIndex >= mNavifyItemCount || mViewWidth <= 0) {
+            invalidate();
+            return;
+        }
+        EnsureItemLayout();
+        float mCenterX = mItemLayout.CenterX(mIndex);
+        float mColumnHalf = ItemDirtyHalfWidth();
+        InvalidateFrameSpan(mCenterX - mColumnHalf, mCenterX + mColumnHalf);
+    }
+
+    /**
+     * Half width of the region an item can paint into: its section, or the
+     * larger icon plus a full-size badge, or its widest label if that reaches further.
+     */
+    private float ItemDirtyHalfWidth() {
+        float mBadgeReach = Math.max(mItemSelectedIconSize, mItemUnSelectedIconSize) / 2f + mBadgeRadiusPx * 1.3f;
+        float mLabelReach = mLabelCache.MaxAdvance() / 2f;
+        return Math.max(mItemLayout.SectionWidth() / 2f, Math.max(mBadgeReach, mLabelReach)) + 1f;
+    }
+
+    /**
+     * Invalidates a full-height horizontal span, at most once per animation
+     * frame unless the span grows.
+     * <p>
+     * The transition itself invalidates once per frame; the merge is for badge
+     * pop-in ValueAnimator ticks, which land in the same animation frame as the
+     * transition and as each other. Frames are keyed by the animation clock
+     * those animators tick on.
+     */
+    @SuppressWarnings("deprecation")
+    private void InvalidateFrameSpan(float mLeft, float mRight) {
+        int mL = Math.max(0, (int) Math.floor(mLeft));
+        int mR = Math.min(mViewWidth, (int) Math.ceil(mRight));
+        if (mR <= mL) return;
+
+        long mFrameTime = AnimationUtils.currentAnimationTimeMillis();
+        if (mFrameTime == mFrameDirtyTime) {
+            if (mFrameDirtyRect.contains(mL, 0, mR, mViewHeight)) return;
+            mFrameDirtyRect.union(mL, 0, mR, mViewHeight);
+        } else {
+            mFrameDirtyTime = mFrameTime;
+            mFrameDirtyRect.set(mL, 0, mR, mViewHeight);
+        }
+        if (mMetrics != null) mMetrics.Increment(NavifyMetrics.COUNTER_INVALIDATE);
+        invalidate(mFrameDirtyRect);
+    }
+
     /**
      * Handles touch interaction for navigation item selection.
      * <p>
@@ -1180,13 +2091,9 @@ public class Navify extends View {
         if (mDisableSelectedItem) return false;
         if (mNavifyItemCount == 0) return super.onTouchEvent(mMotionEvent);
 
-        // Get touch X position and determine which item was tapped
-        float mTouchX = mMotionEvent.getX();
-        float mSectionWidthPx = mViewWidth / (float) mNavifyItemCount;
-        int mDisplayIDX = (int) (mTouchX / mSectionWidthPx);
-
-        // Adjust for RTL layout if needed
-        int mTappedIndex = getForceRTL() ? (mNavifyItemCount - 1 - mDisplayIDX) : mDisplayIDX;
+        // Get touch X position and determine which item was tapped (RTL aware)
+        EnsureItemLayout();
+        int mTappedIndex = mItemLayout.IndexAt(mMotionEvent.getX());
 
         switch (mMotionEvent.getAction()) {
 
@@ -1199,12 +2106,17 @@ public class Navify extends View {
                     // Handle long press with delay
                     postDelayed(() -> {
                         if (isPressed() && mPressedIndex == mTappedIndex) {
-                            if (mBadgeEnabled[mPressedIndex]) {
+                            if (mItemModel.BadgeEnabled(mPressedIndex)) {
                                 // Show badge popup if badge is active
                                 BadgePopupWindow(mPressedIndex);
                             } else if (mLongSelectedItemListener != null) {
                                 // Trigger long press listener
-                                mLongSelectedItemListener.onNavifyLongSelectedItem(mPressedIndex);
+                                boolean mListenerTrace = NavifyTrace.Begin("Navify.onNavifyLongSelectedItem");
+                                try {
+                                    mLongSelectedItemListener.onNavifyLongSelectedItem(mPressedIndex);
+                                } finally {
+                                    NavifyTrace.End(mListenerTrace);
+                                }
                             }
                         }
                     }, ViewConfiguration.getLongPressTimeout());
@@ -1220,16 +2132,26 @@ public class Navify extends View {
                     // Handle double tap
                     if (mTappedIndex == mLastTapIndex && (mNow - mLastTapTime) < DOUBLE_TAP_TIMEOUT) {
                         if (mDoubleTapSelectedItemListener != null) {
-                            mDoubleTapSelectedItemListener.onNavifyDoubleTapSelectedItem(mTappedIndex);
+                            boolean mListenerTrace = NavifyTrace.Begin("Navify.onNavifyDoubleTapSelectedItem");
+                            try {
+                                mDoubleTapSelectedItemListener.onNavifyDoubleTapSelectedItem(mTappedIndex);
+                            } finally {
+                                NavifyTrace.End(mListenerTrace);
+                            }
                         }
                     } else {
                         // Handle single tap
-                        if (mTappedIndex != mItemSelectedIndex) {
+                        if (mTappedIndex != mSelection.Selected()) {
                             AnimationSelectionToIndex(mTappedIndex); // animate to new index
-                        } else {
-                            // Notify normal (same) item tap
+                        } else if (!mSelection.IsTransitioning()) {
+                            // Notify normal (same) item tap; a selection still animating reports when it settles
                             if (mNavifyNormalSelectedItemListener != null) {
-                                mNavifyNormalSelectedItemListener.onNavifyNormalSelectedItem(mItemSelectedIndex);
+                                boolean mListenerTrace = NavifyTrace.Begin("Navify.onNavifyNormalSelectedItem");
+                                try {
+                                    mNavifyNormalSelectedItemListener.onNavifyNormalSelectedItem(mSelection.Selected());
+                                } finally {
+                                    NavifyTrace.End(mListenerTrace);
+                                }
                             }
                         }
                         performClick(); // accessibility
@@ -1272,34 +2194,37 @@ public class Navify extends View {
      * Returns a corresponding TimeInterpolator based on animation type code.
      * <p>
      * Used to define how item selection animations behave visually over time.
+     * Interpolators come from the shared table-backed registry; the CUSTOM curve is resolved
+     * once when it is set, so a selection never looks it up. CUSTOM without control points
+     * falls back to FAST_OUT_SLOW_IN.
      *
      * @param mType the animation type constant (e.g. LINEAR, BOUNCE)
      * @return corresponding TimeInterpolator instance
      */
     private TimeInterpolator NavifyInterpolar(int mType) {
-        switch (mType) {
-            case LINEAR:
-                return new LinearInterpolator(); // constant speed
-            case ACCELERATE:
-                return new AccelerateInterpolator(); // starts slow, ends fast
-            case DECELERATE:
-                return new DecelerateInterpolator(); // starts fast, ends slow
-            case ACCELERATE_DECELERATE:
-                return new AccelerateDecelerateInterpolator(); // ease-in-out
-            case OVERSHOOT:
-                return new OvershootInterpolator(); // goes beyond target, then snaps
-            case BOUNCE:
-                return new BounceInterpolator(); // bouncy finish
-            case NONE:
-                return input -> 1f; // instant, no animation
-            case ANTICIPATE:
-                return new AnticipateInterpolator(); // starts backward before forward
-            case ANTICIPATE_OVERSHOOT:
-                return new AnticipateOvershootInterpolator(); // both anticipate & overshoot
-            case FAST_OUT_SLOW_IN:
-                return AnimationUtils.loadInterpolator(getContext(), android.R.interpolator.fast_out_slow_in); // Material motion curve
-            default:
-                return new OvershootInterpolator(); // fallback
+        if (mType == CUSTOM) {
+            TimeInterpolator mCurve = mItemCircleAnimationCurveInterpolator;
+            return mCurve != null ? mCurve : NavifyInterpolators.Get(FAST_OUT_SLOW_IN);
+        }
+        return NavifyInterpolators.Get(mType);
+    }
+
+    /**
+     * Parses an "x1,y1,x2,y2" curve from XML and switches to the CUSTOM interpolator.
+     * Invalid values are logged and ignored.
+     */
+    private void ParseCircleAnimationCurve(String mCurve) {
+        String[] mParts = mCurve.split(",");
+        try {
+            if (mParts.length != 4) throw new NumberFormatException("expected 4 values");
+            float mX1 = Float.parseFloat(mParts[0].trim()), mY1 = Float.parseFloat(mParts[1].trim());
+            float mX2 = Float.parseFloat(mParts[2].trim()), mY2 = Float.parseFloat(mParts[3].trim());
+            if (!NavifyInterpolators.IsValidBezier(mX1, mY1, mX2, mY2)) throw new NumberFormatException("x1 and x2 must be within 0..1");
+            mItemCircleAnimationCurve = new float[]{mX1, mY1, mX2, mY2};
+            mItemCircleAnimationCurveInterpolator = NavifyInterpolators.Bezier(mX1, mY1, mX2, mY2);
+            mItemCircleAnimationInterpolator = CUSTOM;
+        } catch (NumberFormatException mException) {
+            Log.w("Navify", "Invalid circle animation curve \"" + mCurve + "\": " + mException.getMessage());
         }
     }
 
@@ -1311,146 +2236,196 @@ public class Navify extends View {
      * - Fading in/out text and icons
      * - Adjusting text position
      * It also optionally removes the badge on selection and triggers callbacks.
+     * <p>
+     * Selections made while a transition is running are coalesced: only the latest one is
+     * applied, on the next frame, by retargeting the running transition. Intermediate
+     * selections never settle, so the listener fires once, for the final item.
      *
      * @param mNewSelectedIndex The index of the newly selected item
      */
     private void AnimationSelectionToIndex(final int mNewSelectedIndex) {
+        boolean mTrace = NavifyTrace.Begin("Navify.AnimationSelectionToIndex");
+        try {
+            RequestSelection(mNewSelectedIndex);
+        } finally {
+            NavifyTrace.End(mTrace);
+        }
+    }
+
+    /**
+     * Body of AnimationSelectionToIndex, run inside its trace section.
+     */
+    private void RequestSelection(int mNewSelectedIndex) {
         // Return early if index is invalid
         if (mNewSelectedIndex < 0 || mNewSelectedIndex >= mNavifyItemCount) return;
         if (mNavifyItemCount == 0) return;
+        if (mMetrics != null) mSelectionRequestNanos = System.nanoTime();
 
-        final int mPreviousSelectedIndex = mItemSelectedIndex;
-        mItemSelectedIndex = mNewSelectedIndex;
-
-        // Reset all icon alphas
-        for (int mI = 0; mI < mNavifyItemCount; mI++) {
-            mNavifyItemIconAlphas[mI] = 1f;
-        }
-
-        // Start new selected icon fully transparent
-        mNavifyItemIconAlphas[mNewSelectedIndex] = 0f;
+        // A running transition picks the request up on its next frame
+        if (mSelection.Request(mNewSelectedIndex, mNavifyItemCount) != NavifySelection.REQUEST_START) return;
 
-        // Reset other items (not previous or new) to unselected state
-        for (int mItemIndex = 0; mItemIndex < mNavifyItemCount; mItemIndex++) {
-            if (mItemIndex != mPreviousSelectedIndex && mItemIndex != mNewSelectedIndex) {
-                mNavifyItemIconSize[mItemIndex] = mItemUnSelectedIconSize;
-                mNavifyItemTextAlphas[mItemIndex] = 0f;
-                mNavifyTextOffsets[mItemIndex] = mNavifyItemTextAnimDistancePX;
-            }
-        }
+        // Previous item starts selected, the new icon hidden, every other item unselected
+        mItemModel.BeginSelection(mSelection.Previous(), mNewSelectedIndex);
+        StartTransition(mNewSelectedIndex);
+    }
 
-        // Set previous item to selected state (as animation's starting point)
-        mNavifyItemIconSize[mPreviousSelectedIndex] = mItemSelectedIconSize;
-        mNavifyItemTextAlphas[mPreviousSelectedIndex] = 1f;
-        mNavifyTextOffsets[mPreviousSelectedIndex] = 0f;
+    /**
+     * Applies the latest selection requested during the running transition.
+     * <p>
+     * Called by NavifyTransition at the start of a frame. Every animated item continues
+     * from its current values toward its new target state; the circle continues from its
+     * current position (and, for SPRING, velocity).
+     */
+    void ApplyPendingSelection() {
+        int mTarget = mSelection.TakePending(mNavifyItemCount);
+        if (mTarget < 0) return;
 
-        final float mStartX = mAnimCenterX;
-        final float mEndX = ComputeCenterXForIndex(mNewSelectedIndex);
+        mItemModel.Retarget(mTarget);
+        StartTransition(mTarget);
+    }
 
-        if (mCircleAnimator != null && mCircleAnimator.isRunning()) {
-            mCircleAnimator.cancel();
+    /**
+     * Starts (or retargets) the transition engine toward the given item.
+     */
+    private void StartTransition(int mTargetIndex) {
+        // One async slice spans the whole transition, retargets included
+        if (!mTransitionTraceStarted) {
+            mTransitionTraceCookie = ++sTransitionTraceCookie;
+            mTransitionTraceStarted = NavifyTrace.BeginAsync("Navify.transition", mTransitionTraceCookie);
         }
+        mSelection.Begin(mTargetIndex);
+        mTransitionEndX = ComputeCenterXForIndex(mTargetIndex);
+        if (mActiveRenderProfile == RENDER_PROFILE_STATIC) {
+            // Instant state change: no frames, so the metrics must not report the previous transition's
+            mTransition.Cancel();
+            mTransition.ResetFrameStats();
+            FinishTransition();
+        } else if (mItemCircleAnimationInterpolator == SPRING) {
+            mAdaptiveQuality.BeginSampling();
+            mTransition.SetFrameBudget(mAdaptiveQuality.FrameBudgetNanos());
+            mTransition.StartSpring(mAnimCenterX, mTransitionEndX, mItemCircleSpringStiffness, mItemCircleSpringDampingRatio);
+        } else {
+            mAdaptiveQuality.BeginSampling();
+            mTransition.SetFrameBudget(mAdaptiveQuality.FrameBudgetNanos());
+            long mDuration = mItemCircleAnimationDuration;
+            if (mAdaptiveQuality.Tier() >= QUALITY_TIER_SHORT_ANIMATION) {
+                mDuration = (long) (mDuration * NAVIFY_QUALITY_SHORT_DURATION_FACTOR);
+            }
+            mTransition.Start(mAnimCenterX, mTransitionEndX, mDuration, NavifyInterpolar(mItemCircleAnimationInterpolator));
+        }
+    }
 
+    /**
+     * Applies one transition frame: every item value derives from the same fraction.
+     * <p>
+     * Called by NavifyTransition once per vsync. The target item moves toward the selected
+     * state, every other animated item toward the unselected state.
+     *
+     * @param mCenterX  Circle center X for this frame
+     * @param mFraction Item progress (may overshoot 0..1)
+     */
+    void ApplyTransitionFrame(float mCenterX, float mFraction) {
         // Move the circle to new selected item
-        ValueAnimator mCircleMoveAnimator = ValueAnimator.ofFloat(mStartX, mEndX);
-        mCircleMoveAnimator.setDuration(mItemCircleAnimationDuration);
-        mCircleMoveAnimator.setInterpolator(NavifyInterpolar(mItemCircleAnimationInterpolator));
-        mCircleMoveAnimator.addUpdateListener(animation -> {
-            mAnimCenterX = (float) animation.getAnimatedValue();
-            invalidate();
-        });
-        mCircleAnimator = mCircleMoveAnimator;
-
-        // Animate shrinking old icon
-        ValueAnimator mOldIconShrinkAnimator = ValueAnimator.ofFloat(mItemSelectedIconSize, mItemUnSelectedIconSize);
-        mOldIconShrinkAnimator.setDuration(mItemCircleAnimationDuration);
-        mOldIconShrinkAnimator.setInterpolator(NavifyInterpolar(mItemCircleAnimationInterpolator));
-        mOldIconShrinkAnimator.addUpdateListener(animation -> {
-            mNavifyItemIconSize[mPreviousSelectedIndex] = (float) animation.getAnimatedValue();
-            invalidate();
-        });
+        mAnimCenterX = mCenterX;
 
-        // Animate growing new icon
-        ValueAnimator mNewIconGrowAnimator = ValueAnimator.ofFloat(mItemUnSelectedIconSize, mItemSelectedIconSize);
-        mNewIconGrowAnimator.setDuration(mItemCircleAnimationDuration);
-        mNewIconGrowAnimator.setInterpolator(NavifyInterpolar(mItemCircleAnimationInterpolator));
-        mNewIconGrowAnimator.addUpdateListener(animation -> {
-            mNavifyItemIconSize[mNewSelectedIndex] = (float) animation.getAnimatedValue();
-            invalidate();
-        });
-
-        // Fade out old text
-        ValueAnimator mOldTextAlphaAnimator = ValueAnimator.ofFloat(1f, 0f);
-        mOldTextAlphaAnimator.setDuration(mItemCircleAnimationDuration);
-        mOldTextAlphaAnimator.addUpdateListener(animation -> {
-            mNavifyItemTextAlphas[mPreviousSelectedIndex] = (float) animation.getAnimatedValue();
-            invalidate();
-        });
+        // REDUCED: labels only fade, icons only resize
+        mItemModel.ApplyFraction(mSelection.Target(), mFraction, mActiveRenderProfile == RENDER_PROFILE_REDUCED);
 
-        // Slide old text down
-        ValueAnimator mOldTextOffsetAnimator = ValueAnimator.ofFloat(0f, mNavifyItemTextAnimDistancePX);
-        mOldTextOffsetAnimator.setDuration(mItemCircleAnimationDuration);
-        mOldTextOffsetAnimator.addUpdateListener(animation -> {
-            mNavifyTextOffsets[mPreviousSelectedIndex] = (float) animation.getAnimatedValue();
-            invalidate();
-        });
+        InvalidateTransition();
+    }
 
-        // Fade in new text
-        ValueAnimator mNewTextAlphaAnimator = ValueAnimator.ofFloat(0f, 1f);
-        mNewTextAlphaAnimator.setDuration(mItemCircleAnimationDuration);
-        mNewTextAlphaAnimator.addUpdateListener(animation -> {
-            mNavifyItemTextAlphas[mNewSelectedIndex] = (float) animation.getAnimatedValue();
-            invalidate();
-        });
+    /**
+     * Settles the transition: final values, badge auto-removal, listener and redraw.
+     * <p>
+     * Called by NavifyTransition after the last frame, or directly when the transition
+     * has to end early (detach). A selection still pending is settled instead of the
+     * current target.
+     */
+    void FinishTransition() {
+        int mTo = mSelection.Settle();
+        mItemModel.FinishSelection(mTo);
+        mAdaptiveQuality.EndSampling();
+        EndTransitionTrace();
+        if (mTo < 0 || mTo >= mNavifyItemCount) return;
+
+        mAnimCenterX = ComputeCenterXForIndex(mTo);
+
+        if (mAutoRemoveBadgeOnSelect && mItemModel.BadgeEnabled(mTo)) {
+            mItemModel.SetBadgeEnabled(mTo, false);
+            if (mBadgeResetListener != null) {
+                boolean mListenerTrace = NavifyTrace.Begin("Navify.onNavifyBadgeReset");
+                try {
+                    mBadgeResetListener.onNavifyBadgeReset(mTo);
+                } finally {
+                    NavifyTrace.End(mListenerTrace);
+                }
+            }
+        }
 
-        // Slide new text up
-        ValueAnimator mNewTextOffsetAnimator = ValueAnimator.ofFloat(mNavifyItemTextAnimDistancePX, 0f);
-        mNewTextOffsetAnimator.setDuration(mItemCircleAnimationDuration);
-        mNewTextOffsetAnimator.addUpdateListener(animation -> {
-            mNavifyTextOffsets[mNewSelectedIndex] = (float) animation.getAnimatedValue();
-            invalidate();
-        });
+        requestLayout();
+        InvalidateContent();
 
-        // Fade in new icon
-        ValueAnimator mIconAlphaAnimator = ValueAnimator.ofFloat(0f, 1f);
-        mIconAlphaAnimator.setDuration(mItemCircleAnimationDuration);
-        mIconAlphaAnimator.setInterpolator(NavifyInterpolar(mItemCircleAnimationInterpolator));
-        mIconAlphaAnimator.addUpdateListener(animation -> {
-            mNavifyItemIconAlphas[mNewSelectedIndex] = (float) animation.getAnimatedValue();
-            invalidate();
-        });
+        if (mNavifyNormalSelectedItemListener != null) {
+            boolean mListenerTrace = NavifyTrace.Begin("Navify.onNavifyNormalSelectedItem");
+            try {
+                mNavifyNormalSelectedItemListener.onNavifyNormalSelectedItem(mTo);
+            } finally {
+                NavifyTrace.End(mListenerTrace);
+            }
+        }
 
-        // Combine all animations
-        AnimatorSet mCombinedAnimatorSet = new AnimatorSet();
-        mCombinedAnimatorSet.setInterpolator(NavifyInterpolar(mItemCircleAnimationInterpolator));
-        mCombinedAnimatorSet.playTogether(mCircleMoveAnimator, mOldIconShrinkAnimator, mNewIconGrowAnimator, mOldTextAlphaAnimator, mOldTextOffsetAnimator, mNewTextAlphaAnimator, mNewTextOffsetAnimator, mIconAlphaAnimator);
-
-        // After animation ends: reset badge (if needed), trigger listeners, and refresh layout
-        mCombinedAnimatorSet.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(android.animation.Animator mAnimation) {
-                mNavifyItemIconSize[mNewSelectedIndex] = mItemSelectedIconSize;
-                mNavifyItemTextAlphas[mNewSelectedIndex] = 1f;
-                mNavifyTextOffsets[mNewSelectedIndex] = 0f;
-                mNavifyItemIconAlphas[mNewSelectedIndex] = 1f;
-
-                if (mAutoRemoveBadgeOnSelect && mBadgeEnabled[mNewSelectedIndex]) {
-                    mBadgeEnabled[mNewSelectedIndex] = false;
-                    if (mBadgeResetListener != null) {
-                        mBadgeResetListener.onNavifyBadgeReset(mNewSelectedIndex);
-                    }
+        if (mMetrics != null) {
+            mMetrics.Increment(NavifyMetrics.COUNTER_TRANSITIONS);
+            mMetrics.Record(NavifyMetrics.HISTOGRAM_TRANSITION_FRAMES, mTransition.Frames());
+            mMetrics.Record(NavifyMetrics.HISTOGRAM_TRANSITION_DROPPED_FRAMES, mTransition.DroppedFrames());
+            if (mSelectionRequestNanos != 0L) {
+                mMetrics.Record(NavifyMetrics.HISTOGRAM_TAP_TO_SETTLE, (System.nanoTime() - mSelectionRequestNanos) / 1_000_000L);
+                mSelectionRequestNanos = 0L;
+            }
+            if (mMetricsListener != null) {
+                boolean mListenerTrace = NavifyTrace.Begin("Navify.onNavifyMetrics");
+                try {
+                    mMetricsListener.onNavifyMetrics(mMetrics);
+                } finally {
+                    NavifyTrace.End(mListenerTrace);
                 }
+            }
+        }
+    }
 
-                requestLayout();
-                invalidate();
+    /**
+     * Switches selection transitions to a caller-driven clock.
+     * <p>
+     * While enabled no Choreographer callbacks are posted; every
+     * {@link #DriveTransitionFrame} call renders the frame for the given time.
+     * Used by the render benchmarks and golden-image tests.
+     *
+     * @param mManual True to drive frames manually
+     */
+    @VisibleForTesting
+    void SetManualTransitionFrames(boolean mManual) {
+        mTransition.SetManualFrames(mManual);
+    }
 
-                if (mNavifyNormalSelectedItemListener != null) {
-                    mNavifyNormalSelectedItemListener.onNavifyNormalSelectedItem(mNewSelectedIndex);
-                }
-            }
-        });
+    /**
+     * Advances a caller-driven transition to the given frame time.
+     *
+     * @param mFrameTimeNanos Frame time; the first frame of a transition is its start
+     * @return true while the transition is still running
+     */
+    @VisibleForTesting
+    boolean DriveTransitionFrame(long mFrameTimeNanos) {
+        if (!mTransition.IsRunning()) return false;
+        mTransition.doFrame(mFrameTimeNanos);
+        return mTransition.IsRunning();
+    }
 
-        mCombinedAnimatorSet.start();
+    /**
+     * Closes the async trace slice of the transition, if one is open.
+     */
+    private void EndTransitionTrace() {
+        NavifyTrace.EndAsync(mTransitionTraceStarted, "Navify.transition", mTransitionTraceCookie);
+        mTransitionTraceStarted = false;
     }
 
     /**
@@ -1475,137 +2450,323 @@ public class Navify extends View {
         return (int) (mSP * getResources().getDisplayMetrics().scaledDensity + 0.5f);
     }
 
-
+
+    /**
+     * Calculates the horizontal center X position for a given navigation item index.
+     * <p>
+     * Reads the item layout table, which already applies right-to-left (RTL) layouts.
+     *
+     * @param mIndex The logical item index
+     * @return The X coordinate of the center of that item
+     */
+    private float ComputeCenterXForIndex(int mIndex) {
+        if (mIndex < 0 || mIndex >= mNavifyItemCount) return mViewWidth / 2f;
+        EnsureItemLayout();
+        return mItemLayout.CenterX(mIndex);
+    }
+
+
+    /**
+     * Clears all previously added items and resets the navigation view state.
+     * <p>
+     * This method resets:
+     * - Menu resource reference
+     * - Icons, titles, sizes, alphas
+     * - Badge/text visuals
+     */
+    public void ClearReloadItems() {
+        // Reset menu reference
+        mMenuResource = 0;
+
+        // Clear all item visuals; icons still loading are dropped
+        mIconLoader.Cancel();
+        for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            mNavifyItemIcon[mI] = null;
+        }
+        mItemModel.SetCount(0);
+
+        UpdateItemDrawState();
+
+        // Drop any running or pending transition; its items are gone
+        mTransition.Cancel();
+        EndTransitionTrace();
+        mSelection.Reset();
+        mItemModel.FinishSelection(-1);
+
+        // Reset item count
+        mNavifyItemCount = 0;
+
+        // Reset icon alphas
+        mItemModel.ResetIconAlphas();
+
+        // Redraw the view
+        InvalidateContent();
+    }
+
+    /**
+     * Gets the background color of the navigation bar.
+     */
+    public int getBackgroundColor() {
+        return mBackgroundColor;
+    }
+
+    /**
+     * Sets the background color of the navigation bar.
+     *
+     * @param sBackgroundColor The color to apply
+     */
+    public void setBackgroundColor(int sBackgroundColor) {
+        mBackgroundColor = sBackgroundColor;
+        mBackgroundPaint.setColor(mBackgroundColor);
+        InvalidateContent();
+    }
+
+    /**
+     * Gets the elevation (shadow) of the navigation background.
+     */
+    public float getBackgroundElevation() {
+        return mBackgroundElevation;
+    }
+
+    /**
+     * Sets the elevation (shadow) of the navigation background.
+     *
+     * @param sBackgroundElevation The elevation in pixels
+     */
+    public void setBackgroundElevation(float sBackgroundElevation) {
+        mBackgroundElevation = sBackgroundElevation;
+        setElevation(sBackgroundElevation);
+        ApplyShadowRenderMode();
+    }
+
+    /**
+     * Gets the color of the selected item’s circular background.
+     */
+    public int getItemCircleBackgroundColor() {
+        return mItemCircleBackgroundColor;
+    }
+
+    /**
+     * Sets the color of the selected item’s circular background.
+     *
+     * @param sItemCircleBackgroundColor The color to use
+     */
+    public void setItemCircleBackgroundColor(int sItemCircleBackgroundColor) {
+        mItemCircleBackgroundColor = sItemCircleBackgroundColor;
+        mCirclePaint.setColor(sItemCircleBackgroundColor);
+        InvalidateContent();
+    }
+
+    /**
+     * Gets the elevation (shadow) for the item circle.
+     */
+    public float getItemCircleBackgroundElevation() {
+        return mItemCircleBackgroundElevation;
+    }
+
+    /**
+     * Sets the elevation (shadow) for the item circle.
+     *
+     * @param sItemCircleBackgroundElevation The elevation value
+     */
+    public void setItemCircleBackgroundElevation(float sItemCircleBackgroundElevation) {
+        mItemCircleBackgroundElevation = sItemCircleBackgroundElevation;
+        ApplyShadowRenderMode();
+    }
+
+    /**
+     * Gets the shadow rendering mode.
+     *
+     * @return SHADOW_RENDER_SOFTWARE or SHADOW_RENDER_HARDWARE
+     */
+    public int getShadowRenderMode() {
+        return mShadowRenderMode;
+    }
+
+    /**
+     * Sets how the bar and circle shadows are rendered.
+     * <p>
+     * SHADOW_RENDER_HARDWARE keeps the view hardware accelerated, SHADOW_RENDER_SOFTWARE
+     * restores the original software-layer blur.
+     *
+     * @param sShadowRenderMode SHADOW_RENDER_SOFTWARE or SHADOW_RENDER_HARDWARE
+     */
+    public void setShadowRenderMode(int sShadowRenderMode) {
+        if (sShadowRenderMode != SHADOW_RENDER_SOFTWARE && sShadowRenderMode != SHADOW_RENDER_HARDWARE)
+            return;
+        mShadowRenderMode = sShadowRenderMode;
+        ApplyShadowRenderMode();
+    }
+
+    /**
+     * Gets the requested rendering profile.
+     *
+     * @return RENDER_PROFILE_AUTO, RENDER_PROFILE_FULL, RENDER_PROFILE_REDUCED or RENDER_PROFILE_STATIC
+     */
+    public int getRenderProfile() {
+        return mRenderProfile;
+    }
+
+    /**
+     * Gets the rendering profile currently in effect (AUTO resolved).
+     *
+     * @return RENDER_PROFILE_FULL, RENDER_PROFILE_REDUCED or RENDER_PROFILE_STATIC
+     */
+    public int getActiveRenderProfile() {
+        return mActiveRenderProfile;
+    }
+
     /**
-     * Calculates the horizontal center X position for a given navigation item index.
+     * Sets the rendering profile.
      * <p>
-     * Takes into account right-to-left (RTL) layouts using {@link #RTLIndex(int)}.
+     * RENDER_PROFILE_AUTO (default) picks REDUCED on low-RAM devices, in battery saver and
+     * under moderate thermal throttling, STATIC when animations are turned off or under severe
+     * throttling, FULL otherwise, and follows power state changes while attached.
      *
-     * @param mIndex The logical item index
-     * @return The X coordinate of the center of that item
+     * @param sRenderProfile RENDER_PROFILE_AUTO, RENDER_PROFILE_FULL, RENDER_PROFILE_REDUCED or RENDER_PROFILE_STATIC
      */
-    private float ComputeCenterXForIndex(int mIndex) {
-        int drawIndex = RTLIndex(mIndex);
-        float mSectionWidth = ((float) mViewWidth) / mNavifyItemCount;
-        return mSectionWidth * drawIndex + mSectionWidth / 2f;
+    public void setRenderProfile(int sRenderProfile) {
+        if (sRenderProfile < RENDER_PROFILE_AUTO || sRenderProfile > RENDER_PROFILE_STATIC) return;
+        mRenderProfile = sRenderProfile;
+        UpdateRenderProfile();
     }
 
-
     /**
-     * Clears all previously added items and resets the navigation view state.
-     * <p>
-     * This method resets:
-     * - Menu resource reference
-     * - Icons, titles, sizes, alphas
-     * - Badge/text visuals
+     * Returns whether quality adapts to missed frames during transitions.
      */
-    public void ClearReloadItems() {
-        // Reset menu reference
-        mMenuResource = 0;
-
-        // Clear all item visuals
-        for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
-            mNavifyItemIcon[mI] = null;
-            mNavifyItemTitle[mI] = null;
-            mNavifyItemIconSize[mI] = mItemUnSelectedIconSize;
-            mNavifyItemTextAlphas[mI] = 0f;
-            mNavifyTextOffsets[mI] = mNavifyItemTextAnimDistancePX;
-        }
-
-        // Reset item count
-        mNavifyItemCount = 0;
-
-        // Reset icon alphas
-        for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
-            mNavifyItemIconAlphas[mI] = 1f;
-        }
-
-        // Redraw the view
-        invalidate();
+    public boolean getAdaptiveQuality() {
+        return mAdaptiveQuality.IsEnabled();
     }
 
+    /**
+     * Enables or disables adaptive quality (enabled by default). Disabling restores full quality.
+     *
+     * @param sAdaptiveQuality True to step quality down when transitions miss frames
+     */
+    public void setAdaptiveQuality(boolean sAdaptiveQuality) {
+        mAdaptiveQuality.SetEnabled(sAdaptiveQuality);
+    }
 
     /**
-     * Converts the given index to RTL format if RTL mode is enabled.
+     * Gets the current adaptive quality tier.
      *
-     * @param mRTLIndex The original LTR index
-     * @return The RTL adjusted index
+     * @return QUALITY_TIER_FULL, QUALITY_TIER_NO_SHADOW_BLUR, QUALITY_TIER_NO_BUMP_AA or QUALITY_TIER_SHORT_ANIMATION
      */
-    private int RTLIndex(int mRTLIndex) {
-        if (!getForceRTL()) return mRTLIndex;
-        return mNavifyItemCount - 1 - mRTLIndex;
+    public int getQualityTier() {
+        return mAdaptiveQuality.Tier();
     }
 
     /**
-     * Gets the background color of the navigation bar.
+     * Gets the share of missed frames in one transition that steps quality down.
      */
-    public int getBackgroundColor() {
-        return mBackgroundColor;
+    public float getAdaptiveQualityMissedFrameRatio() {
+        return mAdaptiveQuality.MissedFrameRatio();
     }
 
     /**
-     * Sets the background color of the navigation bar.
+     * Gets the number of consecutive smooth transitions that steps quality back up.
+     */
+    public int getAdaptiveQualityStableTransitions() {
+        return mAdaptiveQuality.StableTransitions();
+    }
+
+    /**
+     * Sets the adaptive quality thresholds.
      *
-     * @param sBackgroundColor The color to apply
+     * @param sMissedFrameRatio  Share of missed frames (0..1) in one transition that steps quality down one tier (default 0.25)
+     * @param sStableTransitions Consecutive smooth transitions that step quality up one tier (default 5)
      */
-    public void setBackgroundColor(int sBackgroundColor) {
-        mBackgroundColor = sBackgroundColor;
-        mBackgroundPaint.setColor(mBackgroundColor);
-        invalidate();
+    public void setAdaptiveQualityThresholds(float sMissedFrameRatio, int sStableTransitions) {
+        if (!(sMissedFrameRatio >= 0f && sMissedFrameRatio <= 1f) || sStableTransitions < 1) {
+            throw new IllegalArgumentException("Missed frame ratio must be within 0..1 and stable transitions at least 1.");
+        }
+        mAdaptiveQuality.SetThresholds(sMissedFrameRatio, sStableTransitions);
     }
 
     /**
-     * Gets the elevation (shadow) of the navigation background.
+     * Resolves the requested profile against the current device state.
      */
-    public float getBackgroundElevation() {
-        return mBackgroundElevation;
+    private int ResolveRenderProfile() {
+        if (mRenderProfile != RENDER_PROFILE_AUTO) return mRenderProfile;
+        return NavifyRenderProfile.Detect(getContext());
     }
 
     /**
-     * Sets the elevation (shadow) of the navigation background.
-     *
-     * @param sBackgroundElevation The elevation in pixels
+     * Re-resolves the profile and applies it if it changed.
+     * <p>
+     * Called from the setter and, in AUTO mode, when power state changes.
      */
-    public void setBackgroundElevation(float sBackgroundElevation) {
-        mBackgroundElevation = sBackgroundElevation;
-        setElevation(sBackgroundElevation);
-        invalidate();
+    private void UpdateRenderProfile() {
+        int mProfile = ResolveRenderProfile();
+        if (mProfile == mActiveRenderProfile) return;
+        mActiveRenderProfile = mProfile;
+
+        // Static: a running transition jumps to its end
+        if (mProfile == RENDER_PROFILE_STATIC && mTransition.IsRunning()) {
+            mTransition.Cancel();
+            FinishTransition();
+        }
+        ApplyShadowRenderMode();
     }
 
     /**
-     * Gets the color of the selected item’s circular background.
+     * Returns whether icons are drawn from the pre-rasterized icon atlas.
      */
-    public int getItemCircleBackgroundColor() {
-        return mItemCircleBackgroundColor;
+    public boolean getItemIconAtlas() {
+        return mItemIconAtlas;
     }
 
     /**
-     * Sets the color of the selected item’s circular background.
+     * Enables or disables the icon atlas.
+     * <p>
+     * When enabled, each icon is rasterized once per size and tint into a shared
+     * bitmap and frames draw from it; the item drawables are no longer tinted or
+     * resized by Navify. Icons whose content changes on their own (animated
+     * drawables) should keep the atlas disabled.
      *
-     * @param sItemCircleBackgroundColor The color to use
+     * @param sItemIconAtlas True to draw icons from the atlas
      */
-    public void setItemCircleBackgroundColor(int sItemCircleBackgroundColor) {
-        mItemCircleBackgroundColor = sItemCircleBackgroundColor;
-        mCirclePaint.setColor(sItemCircleBackgroundColor);
-        invalidate();
+    public void setItemIconAtlas(boolean sItemIconAtlas) {
+        mItemIconAtlas = sItemIconAtlas;
+        if (!sItemIconAtlas) {
+            mIconAtlas.Release();
+        }
+        InvalidateContent();
     }
 
     /**
-     * Gets the elevation (shadow) for the item circle.
+     * Returns whether menu icons are resolved lazily in the background.
      */
-    public float getItemCircleBackgroundElevation() {
-        return mItemCircleBackgroundElevation;
+    public boolean getItemIconLazy() {
+        return mItemIconLazy;
     }
 
     /**
-     * Sets the elevation (shadow) for the item circle.
+     * Enables or disables lazy menu icons.
+     * <p>
+     * When enabled, setMenu reads only the icon resource IDs; the drawables are
+     * resolved and pre-rendered on a background thread while a dot in the state
+     * tint is drawn in their place, then swapped in with a single redraw. Applies
+     * to menus loaded afterwards, not to items added with setAddItem.
      *
-     * @param sItemCircleBackgroundElevation The elevation value
+     * @param sItemIconLazy True to resolve menu icons in the background
+     * @see #awaitIconsReady(INavifyIconsReadyListener)
      */
-    public void setItemCircleBackgroundElevation(float sItemCircleBackgroundElevation) {
-        mItemCircleBackgroundElevation = sItemCircleBackgroundElevation;
-        mCirclePaint.setShadowLayer(sItemCircleBackgroundElevation, 0, 0, Color.parseColor("#33000000"));
-        invalidate();
+    public void setItemIconLazy(boolean sItemIconLazy) {
+        mItemIconLazy = sItemIconLazy;
+    }
+
+    /**
+     * Calls the listener once no menu icon is loading anymore.
+     * <p>
+     * Runs immediately if every icon is already in place, otherwise on the main
+     * thread right after the lazy icons are swapped in (or dropped because the
+     * items were cleared). Useful to gate screenshots and tests.
+     *
+     * @param mListener Listener to call once
+     */
+    public void awaitIconsReady(@NonNull INavifyIconsReadyListener mListener) {
+        mIconLoader.AwaitReady(mListener);
     }
 
     /**
@@ -1638,9 +2799,64 @@ public class Navify extends View {
      */
     public void setItemCircleAnimationInterpolator(int sItemCircleAnimationInterpolator) {
         mItemCircleAnimationInterpolator = sItemCircleAnimationInterpolator;
-        if (mCircleAnimator != null) {
-            mCircleAnimator.setInterpolator(NavifyInterpolar(sItemCircleAnimationInterpolator));
+    }
+
+    /**
+     * Gets the control points (x1, y1, x2, y2) of the custom curve, or null if none was set.
+     */
+    @Nullable
+    public float[] getItemCircleAnimationCurve() {
+        return mItemCircleAnimationCurve != null ? mItemCircleAnimationCurve.clone() : null;
+    }
+
+    /**
+     * Sets a cubic-bezier curve for the item circle animation and switches the interpolator to CUSTOM.
+     * The curve runs from (0,0) to (1,1), like CSS cubic-bezier().
+     *
+     * @param sX1 First control point X (0..1)
+     * @param sY1 First control point Y
+     * @param sX2 Second control point X (0..1)
+     * @param sY2 Second control point Y
+     */
+    public void setItemCircleAnimationCurve(float sX1, float sY1, float sX2, float sY2) {
+        if (!NavifyInterpolators.IsValidBezier(sX1, sY1, sX2, sY2)) {
+            throw new IllegalArgumentException("Curve control point X values must be within 0..1 and Y values must be finite.");
         }
+        mItemCircleAnimationCurve = new float[]{sX1, sY1, sX2, sY2};
+        mItemCircleAnimationCurveInterpolator = NavifyInterpolators.Bezier(sX1, sY1, sX2, sY2);
+        mItemCircleAnimationInterpolator = CUSTOM;
+    }
+
+    /**
+     * Gets the spring stiffness used by the SPRING interpolator.
+     */
+    public float getItemCircleSpringStiffness() {
+        return mItemCircleSpringStiffness;
+    }
+
+    /**
+     * Gets the spring damping ratio used by the SPRING interpolator.
+     */
+    public float getItemCircleSpringDampingRatio() {
+        return mItemCircleSpringDampingRatio;
+    }
+
+    /**
+     * Configures the SPRING interpolator and selects it.
+     * <p>
+     * The spring ignores the animation duration: it settles when it comes to rest, and
+     * a new selection while it is moving retargets it without losing velocity.
+     *
+     * @param sStiffness    Stiffness (higher is faster, e.g. 200 slow, 400 default, 1500 fast)
+     * @param sDampingRatio Damping ratio (1 = no bounce, lower values bounce more)
+     */
+    public void setItemCircleSpring(float sStiffness, float sDampingRatio) {
+        if (!(sStiffness > 0f) || !(sDampingRatio > 0f) || Float.isInfinite(sStiffness) || Float.isInfinite(sDampingRatio)) {
+            throw new IllegalArgumentException("Spring stiffness and damping ratio must be positive.");
+        }
+        mItemCircleSpringStiffness = sStiffness;
+        mItemCircleSpringDampingRatio = sDampingRatio;
+        mItemCircleAnimationInterpolator = SPRING;
     }
 
     /**
@@ -1657,6 +2873,7 @@ public class Navify extends View {
      */
     public void setItemSelectedIconColor(int sItemSelectedIconColor) {
         mItemSelectedIconColor = sItemSelectedIconColor;
+        InvalidateContent();
     }
 
     /**
@@ -1673,8 +2890,9 @@ public class Navify extends View {
      */
     public void setItemSelectedIconSize(float sItemSelectedIconSize) {
         mItemSelectedIconSize = dpToPx(sItemSelectedIconSize);
+        UpdateItemModelState();
         requestLayout();
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -1691,7 +2909,7 @@ public class Navify extends View {
      */
     public void setItemUnSelectedIconColor(int sItemUnselectedIconColor) {
         mItemUnSelectedIconColor = sItemUnselectedIconColor;
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -1708,8 +2926,9 @@ public class Navify extends View {
      */
     public void setItemUnSelectedIconSize(float sItemUnSelectedIconSize) {
         mItemUnSelectedIconSize = dpToPx(sItemUnSelectedIconSize);
+        UpdateItemModelState();
         requestLayout();
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -1726,7 +2945,8 @@ public class Navify extends View {
      */
     public void setItemSelectedTextColor(int sItemSelectedTextColor) {
         mItemSelectedTextColor = sItemSelectedTextColor;
-        invalidate();
+        mLabelCache.SetColors(mItemSelectedTextColor, mItemUnSelectedTextColor);
+        InvalidateContent();
     }
 
     /**
@@ -1743,8 +2963,9 @@ public class Navify extends View {
      */
     public void setItemSelectedTextSize(float sItemSelectedTextSize) {
         mItemSelectedTextSize = spToPx(sItemSelectedTextSize);
+        UpdateLabelCache();
         requestLayout();
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -1761,7 +2982,8 @@ public class Navify extends View {
      */
     public void setItemUnSelectedTextColor(int sItemUnSelectedTextColor) {
         mItemUnSelectedTextColor = sItemUnSelectedTextColor;
-        invalidate();
+        mLabelCache.SetColors(mItemSelectedTextColor, mItemUnSelectedTextColor);
+        InvalidateContent();
     }
 
     /**
@@ -1778,8 +3000,9 @@ public class Navify extends View {
      */
     public void setItemUnSelectedTextSize(float smItemUnSelectedTextSize) {
         mItemUnSelectedTextSize = spToPx(smItemUnSelectedTextSize);
+        UpdateLabelCache();
         requestLayout();
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -1796,8 +3019,9 @@ public class Navify extends View {
      */
     public void setItemTextSelectedExtraSpace(float sItemTextSelectedExtraSpace) {
         mItemTextSelectedExtraSpace = sItemTextSelectedExtraSpace;
+        UpdateFrameConstants();
         requestLayout();
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -1815,7 +3039,8 @@ public class Navify extends View {
     public void setItemTextBold(boolean sItemTextBold) {
         mItemTextBold = sItemTextBold;
         mTextPaint.setFakeBoldText(sItemTextBold);
-        invalidate();
+        UpdateLabelCache();
+        InvalidateContent();
     }
 
     /**
@@ -1832,6 +3057,8 @@ public class Navify extends View {
      */
     public void setItemTextAllCaps(boolean sItemTextAllCaps) {
         mItemTextAllCaps = sItemTextAllCaps;
+        UpdateItemDrawState();
+        InvalidateContent();
     }
 
     /**
@@ -1856,7 +3083,23 @@ public class Navify extends View {
         } catch (Exception mException) {
             Log.w("Navify", "Invalid font source for Item Text: " + mException.getMessage());
         }
-        invalidate();
+        UpdateLabelCache();
+        InvalidateContent();
+    }
+
+    /**
+     * Sets the font used for item text.
+     *
+     * @param sItemTextChooseFont Typeface, null for Typeface.DEFAULT
+     */
+    public void setItemTextChooseFont(@Nullable Typeface sItemTextChooseFont) {
+        mItemTextChooseFontResourcesID = 0;
+        mItemTextChooseFont = (sItemTextChooseFont != null) ? sItemTextChooseFont : Typeface.DEFAULT;
+        if (mTextPaint != null) {
+            mTextPaint.setTypeface(mItemTextChooseFont);
+        }
+        UpdateLabelCache();
+        InvalidateContent();
     }
 
     /**
@@ -1868,7 +3111,7 @@ public class Navify extends View {
         if (sItemLabelVisibilityMode < NAVIFY_SELECTED || sItemLabelVisibilityMode > NAVIFY_UNLABELED)
             return;
         mItemLabelVisibilityMode = sItemLabelVisibilityMode;
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -1886,7 +3129,7 @@ public class Navify extends View {
      * @return Index of selected item
      */
     public int getItemSelectedIndex() {
-        return mItemSelectedIndex;
+        return mSelection.Selected();
     }
 
     /**
@@ -1896,10 +3139,7 @@ public class Navify extends View {
      */
     public void setItemSelectedIndex(int mItemSelectedIndex) {
         if (mItemSelectedIndex < 0 || mItemSelectedIndex >= mNavifyItemCount) return;
-        for (int mI = 0; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
-            mNavifyItemTextAlphas[mI] = 0f;
-            mNavifyTextOffsets[mI] = mNavifyItemTextAnimDistancePX;
-        }
+        mItemModel.HideLabels();
         AnimationSelectionToIndex(mItemSelectedIndex);
     }
 
@@ -1916,78 +3156,10 @@ public class Navify extends View {
      * Sets the menu from a resource and applies it to the view.
      *
      * @param mMenuResource Resource ID of the menu
+     * @see #setMenu(int)
      */
     public void setMenuResource(int mMenuResource) {
-        if (mMenuResource == 0) {
-            throw new IllegalArgumentException("Menu resource ID cannot be 0. Please provide a valid menu resource.");
-        }
-
-        if (mNavifyItemCount > 0 && mNavifyItemIcon[0] != null) {
-            throw new IllegalStateException("A menu item was added manually. Please clear the manual items with clearItems() first and then call setMenu().");
-        }
-
-        PopupMenu mPopupMenu = new PopupMenu(getContext(), this);
-        mPopupMenu.getMenuInflater().inflate(mMenuResource, mPopupMenu.getMenu());
-        android.view.Menu mMenu = mPopupMenu.getMenu();
-
-        int mRawCount = mMenu.size();
-        if (mRawCount == 0) {
-            throw new IllegalStateException("There are no items in the menu source. At least one item is required.");
-        }
-
-        List<Drawable> mValidIcons = new ArrayList<>();
-        List<String> mValidTitles = new ArrayList<>();
-
-        for (int mI = 0; mI < mRawCount; mI++) {
-            MenuItem mItem = mMenu.getItem(mI);
-            Drawable mIcon = mItem.getIcon();
-            CharSequence mTitle = mItem.getTitle();
-            if (mIcon == null || mTitle == null || mTitle.toString().trim().isEmpty()) {
-                Log.w("Navify", "menu item " + mI + " invalid. Skipping.");
-                continue;
-            }
-            mValidIcons.add(mIcon);
-            mValidTitles.add(mTitle.toString());
-        }
-
-        int mCount = mValidIcons.size();
-        if (mCount == 0) {
-            throw new IllegalStateException("No valid menu items found. Please add at least one item with icon+title.");
-        }
-        if (mCount > NAVIFY_MAX_ITEMS_SIZE) {
-            throw new IllegalStateException("Too many valid items in menu source (" + mCount + "). Maximum allowed value " + NAVIFY_MAX_ITEMS_SIZE);
-        }
-
-        mNavifyItemCount = mCount;
-        if (mItemSelectedIndex < 0 || mItemSelectedIndex >= mCount) {
-            mItemSelectedIndex = 0;
-        }
-
-        for (int mI = 0; mI < mCount; mI++) {
-            mNavifyItemIcon[mI] = mValidIcons.get(mI);
-            mNavifyItemTitle[mI] = mValidTitles.get(mI);
-            if (mI == mItemSelectedIndex) {
-                mNavifyItemIconSize[mI] = mItemSelectedIconSize;
-                mNavifyItemTextAlphas[mI] = 1f;
-                mNavifyTextOffsets[mI] = 0f;
-            } else {
-                mNavifyItemIconSize[mI] = mItemUnSelectedIconSize;
-                mNavifyItemTextAlphas[mI] = 0f;
-                mNavifyTextOffsets[mI] = mNavifyItemTextAnimDistancePX;
-            }
-        }
-
-        for (int mI = mCount; mI < NAVIFY_MAX_ITEMS_SIZE; mI++) {
-            mNavifyItemIcon[mI] = null;
-            mNavifyItemTitle[mI] = null;
-            mNavifyItemIconSize[mI] = mItemUnSelectedIconSize;
-            mNavifyItemTextAlphas[mI] = 0f;
-            mNavifyTextOffsets[mI] = mNavifyItemTextAnimDistancePX;
-        }
-
-        mAnimCenterX = ComputeCenterXForIndex(mItemSelectedIndex);
-        requestLayout();
-        invalidate();
+        ApplyMenu(mMenuResource, "Navify.setMenuResource");
     }
 
     /**
@@ -2027,7 +3199,7 @@ public class Navify extends View {
      */
     public void setForceRTL(Boolean sForceRTL) {
         mForceRTL = sForceRTL;
-        invalidate();
+        InvalidateContent();
     }
 
 
@@ -2038,7 +3210,7 @@ public class Navify extends View {
      */
     public void setDisableSelectedItem(boolean sDisableSelectedItem) {
         mDisableSelectedItem = sDisableSelectedItem;
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2069,7 +3241,7 @@ public class Navify extends View {
     public void setBadgeBehaviorListener(boolean sSkipOnSelected, boolean sAutoRemoveOnSelect) {
         mSkipBadgeOnSelected = sSkipOnSelected;
         mAutoRemoveBadgeOnSelect = sAutoRemoveOnSelect;
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2082,22 +3254,23 @@ public class Navify extends View {
         if (!mItemBadge) return;
         if (mIndex < 0 || mIndex >= mNavifyItemCount) return;
 
-        mBadgeCount = Math.max(0, Math.min(mBadgeCount, mItemBadgeMaxCount));
+        mBadgeCount = NavifyBadgeFormat.Clamp(mBadgeCount, mItemBadgeMaxCount);
+        mItemModel.SetBadge(mIndex, mBadgeCount > 0, NavifyBadgeFormat.Format(mBadgeCount, mItemBadgeMaxCount));
 
-        mBadgeEnabled[mIndex] = mBadgeCount > 0;
-        mBadgeText[mIndex] = mBadgeCount == 0 ? "" : (mBadgeCount == mItemBadgeMaxCount ? (mItemBadgeMaxCount + "+") : String.valueOf(mBadgeCount));
-
-        if (mItemBadgeAnimation && mBadgeCount > 0) {
-            mBadgeScale[mIndex] = 0f;
+        if (mItemBadgeAnimation && mBadgeCount > 0 && mActiveRenderProfile == RENDER_PROFILE_STATIC) {
+            mItemModel.SetBadgeScale(mIndex, 1f);
+        } else if (mItemBadgeAnimation && mBadgeCount > 0) {
+            if (mMetrics != null) mMetrics.Increment(NavifyMetrics.COUNTER_BADGE_ANIMATIONS);
+            mItemModel.SetBadgeScale(mIndex, 0f);
             ValueAnimator mValueAnimator = ValueAnimator.ofFloat(0f, 1f);
             mValueAnimator.setDuration(200);
             mValueAnimator.addUpdateListener(a -> {
-                mBadgeScale[mIndex] = (float) a.getAnimatedValue();
-                invalidate();
+                mItemModel.SetBadgeScale(mIndex, (float) a.getAnimatedValue());
+                InvalidateItem(mIndex);
             });
             mValueAnimator.start();
         }
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2121,12 +3294,11 @@ public class Navify extends View {
         if (!mItemBadge) return;
         if (mIndex < 0 || mIndex >= mNavifyItemCount) return;
 
-        mBadgeCount = Math.max(0, Math.min(mBadgeCount, mItemBadgeMaxCount));
+        mBadgeCount = NavifyBadgeFormat.Clamp(mBadgeCount, mItemBadgeMaxCount);
 
         if (mBadgeCount == 0 && mShowZero) {
-            mBadgeEnabled[mIndex] = true;
-            mBadgeText[mIndex] = "0";
-            invalidate();
+            mItemModel.SetBadge(mIndex, true, NavifyBadgeFormat.ZERO_TEXT);
+            InvalidateContent();
         } else {
             InternalBadgeController(mIndex, mBadgeCount);
         }
@@ -2139,10 +3311,8 @@ public class Navify extends View {
      */
     public void setRemoveBadge(int mIndex) {
         if (mIndex < 0 || mIndex >= mNavifyItemCount) return;
-        mBadgeEnabled[mIndex] = false;
-        mBadgeText[mIndex] = "";
-        mBadgeScale[mIndex] = 1f;
-        invalidate();
+        mItemModel.ClearBadge(mIndex);
+        InvalidateContent();
     }
 
     /**
@@ -2161,7 +3331,7 @@ public class Navify extends View {
      */
     public void setItemBadge(boolean sItemBadge) {
         mItemBadge = sItemBadge;
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2183,7 +3353,7 @@ public class Navify extends View {
         if (mBadgeBackgroundPaint != null) {
             mBadgeBackgroundPaint.setColor(sItemColor);
         }
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2206,7 +3376,7 @@ public class Navify extends View {
         if (mItemBadgeSelectedCount >= 0) {
             setItemBadgeSelectedCount(mItemBadgeSelectedCount);
         }
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2244,7 +3414,7 @@ public class Navify extends View {
     public void setItemBadgeIndex(int sItemBadgeIndex) {
         if (sItemBadgeIndex < -1 || sItemBadgeIndex >= NAVIFY_MAX_ITEMS_SIZE) return;
         mItemBadgeIndex = sItemBadgeIndex;
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2264,7 +3434,7 @@ public class Navify extends View {
     public void setItemBadgePosition(int sItemBadgePosition) {
         if (sItemBadgePosition == BADGE_POSITION_START || sItemBadgePosition == BADGE_POSITION_END) {
             mItemBadgePosition = sItemBadgePosition;
-            invalidate();
+            InvalidateContent();
         }
     }
 
@@ -2283,15 +3453,13 @@ public class Navify extends View {
      * Limits the count to the configured max and updates the badge display accordingly.
      */
     public void setItemBadgeSelectedCount(int sItemBadgeSelectedCount) {
-        sItemBadgeSelectedCount = Math.max(0, Math.min(sItemBadgeSelectedCount, mItemBadgeMaxCount));
+        sItemBadgeSelectedCount = NavifyBadgeFormat.Clamp(sItemBadgeSelectedCount, mItemBadgeMaxCount);
         mItemBadgeSelectedCount = sItemBadgeSelectedCount;
 
-        String mTXT = (sItemBadgeSelectedCount == 0 ? "" : sItemBadgeSelectedCount == mItemBadgeMaxCount ? (mItemBadgeMaxCount + "+") : String.valueOf(sItemBadgeSelectedCount));
         if (mItemBadgeIndex >= 0 && mItemBadgeIndex < NAVIFY_MAX_ITEMS_SIZE) {
-            mBadgeText[mItemBadgeIndex] = mTXT;
-            mBadgeEnabled[mItemBadgeIndex] = sItemBadgeSelectedCount > 0;
+            mItemModel.SetBadge(mItemBadgeIndex, sItemBadgeSelectedCount > 0, NavifyBadgeFormat.Format(sItemBadgeSelectedCount, mItemBadgeMaxCount));
         }
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2309,7 +3477,7 @@ public class Navify extends View {
         if (mBadgeTextPaint != null) {
             mBadgeTextPaint.setColor(sItemBadgeSelectedTextColor);
         }
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2327,9 +3495,10 @@ public class Navify extends View {
         if (mBadgeTextPaint != null) {
             float px = sItemBadgeSelectedTextSize * getResources().getDisplayMetrics().scaledDensity;
             mBadgeTextPaint.setTextSize(px);
+            UpdateBadgeFontMetrics();
         }
         requestLayout();
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2348,11 +3517,52 @@ public class Navify extends View {
             mBadgeChooseFont = ResourcesCompat.getFont(getContext(), sItemBadgeSelectedTextChooseFont);
             if (mBadgeTextPaint != null && mBadgeChooseFont != null) {
                 mBadgeTextPaint.setTypeface(mBadgeChooseFont);
+                UpdateBadgeFontMetrics();
             }
         } catch (Exception mException) {
             Log.w("Navify", "Invalid font source for Badge: " + mException.getMessage());
         }
-        invalidate();
+        InvalidateContent();
+    }
+
+    /**
+     * Returns the memory budget of the badge bitmap cache shared by all Navify views.
+     *
+     * @return Budget in bytes
+     */
+    public static int getBadgeCacheBudget() {
+        return NavifyBadgeCache.GetBudget();
+    }
+
+    /**
+     * Sets the memory budget of the badge bitmap cache shared by all Navify views.
+     * <p>
+     * Least recently used badges are evicted beyond the budget; 0 disables caching.
+     *
+     * @param sBadgeCacheBudget Budget in bytes
+     */
+    public static void setBadgeCacheBudget(int sBadgeCacheBudget) {
+        NavifyBadgeCache.SetBudget(sBadgeCacheBudget);
+    }
+
+    /**
+     * Returns whether Navify emits android.os.Trace sections.
+     */
+    public static boolean getTraceEnabled() {
+        return NavifyTrace.sEnabled;
+    }
+
+    /**
+     * Enables or disables android.os.Trace sections for all Navify views (disabled by default).
+     * <p>
+     * When enabled, init, menu loading, measure, draw passes, selection, badge popup and
+     * listener dispatch appear as "Navify.*" sections in Perfetto captures, and every
+     * selection transition as an async "Navify.transition" slice (API 29+).
+     *
+     * @param sTraceEnabled True to emit trace sections
+     */
+    public static void setTraceEnabled(boolean sTraceEnabled) {
+        NavifyTrace.sEnabled = sTraceEnabled;
     }
 
     /**
@@ -2383,6 +3593,59 @@ public class Navify extends View {
         mNavifyNormalSelectedItemListener = sNavifyNormalSelectedItemListener;
     }
 
+    /**
+     * Enables or disables metrics collection (disabled by default). Disabling drops collected data.
+     *
+     * @param sMetricsEnabled True to collect timings, counters and transition histograms
+     */
+    public void setMetricsEnabled(boolean sMetricsEnabled) {
+        if (sMetricsEnabled && mMetrics == null) {
+            mMetrics = new NavifyMetrics();
+        } else if (!sMetricsEnabled) {
+            mMetrics = null;
+        }
+    }
+
+    /**
+     * Returns whether metrics are being collected.
+     */
+    public boolean getMetricsEnabled() {
+        return mMetrics != null;
+    }
+
+    /**
+     * Gets the collected metrics, or null while metrics are disabled.
+     */
+    @Nullable
+    public NavifyMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Sets a listener that receives the metrics after each settled selection (only while enabled).
+     */
+    public void setMetricsListener(@Nullable INavifyMetricsListener sMetricsListener) {
+        mMetricsListener = sMetricsListener;
+    }
+
+    /**
+     * Counts invalidations for metrics.
+     */
+    @Override
+    public void invalidate() {
+        if (mMetrics != null) mMetrics.Increment(NavifyMetrics.COUNTER_INVALIDATE);
+        super.invalidate();
+    }
+
+    /**
+     * Counts layout requests for metrics.
+     */
+    @Override
+    public void requestLayout() {
+        if (mMetrics != null) mMetrics.Increment(NavifyMetrics.COUNTER_REQUEST_LAYOUT);
+        super.requestLayout();
+    }
+
     /**
      * Configures the badge behavior when an item is selected.
      * - sSkipOnSelected: whether to skip badge rendering for selected item.
@@ -2393,7 +3656,7 @@ public class Navify extends View {
         mSkipBadgeOnSelected = sSkipOnSelected;
         mAutoRemoveBadgeOnSelect = sAutoRemoveOnSelect;
         mBadgeResetListener = sNavifyBadgeResetListener;
-        invalidate();
+        InvalidateContent();
     }
 
     /**
@@ -2567,9 +3830,21 @@ public class Navify extends View {
      * @param mIndex The index of the item for which the badge popup will be shown.
      */
     private void BadgePopupWindow(int mIndex) {
-        if (!mBadgeEnabled[mIndex] || mBadgeText[mIndex].isEmpty()) return;
+        boolean mTrace = NavifyTrace.Begin("Navify.BadgePopupWindow");
+        try {
+            ShowBadgePopupWindow(mIndex);
+        } finally {
+            NavifyTrace.End(mTrace);
+        }
+    }
+
+    /**
+     * Body of BadgePopupWindow, run inside its trace section.
+     */
+    private void ShowBadgePopupWindow(int mIndex) {
+        if (!mItemModel.BadgeEnabled(mIndex) || mItemModel.BadgeText(mIndex).isEmpty()) return;
 
-        String mDefaultText = "0".equals(mBadgeText[mIndex]) ? mBadgePopupWindowNowText : mBadgeText[mIndex] + " " + mBadgePopupWindowNewText;
+        String mDefaultText = "0".equals(mItemModel.BadgeText(mIndex)) ? mBadgePopupWindowNowText : mItemModel.BadgeText(mIndex) + " " + mBadgePopupWindowNewText;
 
         if (mBadgePopupWindowTextAllCaps) {
             mDefaultText = mDefaultText.toUpperCase(Locale.getDefault());
@@ -2603,9 +3878,8 @@ public class Navify extends View {
         int[] mLocationOnScreen = new int[2];
         getLocationOnScreen(mLocationOnScreen);
 
-        float mSectionWeight = mViewWidth / (float) mNavifyItemCount;
-        int mDrawIDX = RTLIndex(mIndex);
-        float mCenterX = mSectionWeight * mDrawIDX + mSectionWeight / 2f;
+        EnsureItemLayout();
+        float mCenterX = mItemLayout.CenterX(mIndex);
 
         mPopupVindowTextView.measure(MeasureSpec.UNSPECIFIED, MeasureSpec.UNSPECIFIED);
         int mPopupWindowWeight = mPopupVindowTextView.getMeasuredWidth();
@@ -2616,9 +3890,8 @@ public class Navify extends View {
         int mMargin = (int) dpToPx(4f);
         mX = Math.max(mMargin, Math.min(mX, mScreenWeight - mPopupWindowWeight - mMargin));
 
-        float mBadgeR = dpToPx(8f) * mBadgeScale[mIndex];
-        float mIconTopY = (mItemSelectedIndex == mIndex) ? (mCircleCenterY - mNavifyItemIconSize[mIndex] / 2f) : (mBarTopY + (mBarHeight - mNavifyItemIconSize[mIndex]) / 2f);
-        float mBY = mIconTopY - mBadgeR * 0.3f;
+        float mBadgeR = mBadgeRadiusPx * mItemModel.BadgeScale(mIndex);
+        float mBY = mItemLayout.BadgeY(mIndex, mSelection.Selected() == mIndex, mItemModel.IconSize(mIndex), mBadgeR);
         int mY = mLocationOnScreen[1] + (int) (mBY - mPH - mBadgePopupWindowOffsetY);
 
         mPopupWindow.showAtLocation(this, Gravity.NO_GRAVITY, mX, mY);
@@ -2642,6 +3915,16 @@ public class Navify extends View {
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
 
+        // Follow power state changes while attached
+        mRenderProfileMonitor.Attach(getContext(), this::UpdateRenderProfile);
+        UpdateRenderProfile();
+
+        // Watch transition frame timings
+        mAdaptiveQuality.Attach(this, this::ApplyShadowRenderMode);
+
+        // Shadow bitmaps are released on detach
+        UpdateShadowCache();
+
         if (getContext() instanceof Activity) {
             Window mWindow = ((Activity) getContext()).getWindow();
             WindowCompat.setDecorFitsSystemWindows(mWindow, false);
@@ -2658,13 +3941,35 @@ public class Navify extends View {
         ViewCompat.requestApplyInsets(this);
     }
 
+    /**
+     * Refreshes cached pixel constants and draw titles when density or locale change.
+     */
+    @Override
+    protected void onConfigurationChanged(Configuration mNewConfig) {
+        super.onConfigurationChanged(mNewConfig);
+        UpdateFrameConstants();
+        UpdateItemDrawState();
+        InvalidateContent();
+    }
+
     /**
      * Lifecycle method triggered when the view is detached from the window.
-     * No-op currently, but useful for cleanup if needed in future.
+     * Settles a running transition and releases cached shadow bitmaps, the icon atlas and recorded RenderNodes.
      */
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
+        mRenderProfileMonitor.Detach();
+        mAdaptiveQuality.Detach();
+        if (mTransition.IsRunning()) {
+            mTransition.Cancel();
+            FinishTransition();
+        }
+        mShadowCache.Release();
+        mIconAtlas.Release();
+        if (mRenderNodes != null) {
+            mRenderNodes.Release();
+        }
     }
 }
 
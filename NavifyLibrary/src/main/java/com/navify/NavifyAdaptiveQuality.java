@@ -0,0 +1,273 @@
+package com.navify;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Display;
+import android.view.FrameMetrics;
+import android.view.View;
+import android.view.Window;
+
+/**
+ * Runtime quality control for Navify driven by the frames of its own transitions.
+ * <p>
+ * While a selection transition runs, frames are counted as on time or missed.
+ * Frame timings come from Window.OnFrameMetricsAvailableListener when the view
+ * sits in a hardware accelerated Activity window, otherwise from the interval
+ * between Navify's own draws. When a transition misses more than the configured
+ * share of its frames the quality tier steps down one level; after the
+ * configured number of consecutive smooth transitions it steps back up one level.
+ * <p>
+ * Tiers are cumulative: NO_SHADOW_BLUR, then NO_BUMP_AA, then SHORT_ANIMATION
+ * (see the Navify.QUALITY_TIER_* constants).
+ */
+final class NavifyAdaptiveQuality {
+    /**
+     * Own-draw intervals, and frame durations below API 31, longer than this many frame budgets count as missed
+     */
+    private static final float NAVIFY_QUALITY_DRAW_JANK_FACTOR = 1.5f;
+
+    /**
+     * Transitions with fewer measured frames are ignored
+     */
+    private static final int NAVIFY_QUALITY_MIN_FRAMES = 4;
+
+    /**
+     * Whether tiers may change
+     */
+    private boolean mEnabled = true;
+
+    /**
+     * Current tier (Navify.QUALITY_TIER_*)
+     */
+    private int mTier = Navify.QUALITY_TIER_FULL;
+
+    /**
+     * Share of missed frames in a transition that steps quality down
+     */
+    private float mMissedFrameRatio = 0.25f;
+
+    /**
+     * Consecutive smooth transitions that step quality back up
+     */
+    private int mStableTransitions = 5;
+
+    /**
+     * Smooth transitions counted since the last tier change
+     */
+    private int mStableCount = 0;
+
+    /**
+     * Whether a transition is being measured
+     */
+    private boolean mSampling = false;
+
+    /**
+     * Frames and missed frames of the measured transition
+     */
+    private int mFrames, mMissedFrames;
+
+    /**
+     * Time of the previous own draw, -1 before the first (fallback timing)
+     */
+    private long mLastDrawNanos = -1L;
+
+    /**
+     * Duration of one frame at the display refresh rate
+     */
+    private long mFrameBudgetNanos = 16_666_667L;
+
+    /**
+     * Window the frame metrics listener is registered on, null when using own draw timing
+     */
+    private Window mWindow;
+
+    /**
+     * Frame metrics listener, registered while attached
+     */
+    private Window.OnFrameMetricsAvailableListener mFrameMetricsListener;
+
+    /**
+     * Called when the tier changed
+     */
+    private Runnable mOnTierChanged;
+
+    /**
+     * Starts listening for frame timings of the owner's window.
+     *
+     * @param mOwner         Navify view
+     * @param mOnTierChanged Run on the main thread after a tier change
+     */
+    void Attach(View mOwner, Runnable mOnTierChanged) {
+        this.mOnTierChanged = mOnTierChanged;
+        Display mDisplay = mOwner.getDisplay();
+        float mRefreshRate = mDisplay != null ? mDisplay.getRefreshRate() : 60f;
+        mFrameBudgetNanos = (long) (1_000_000_000L / Math.max(1f, mRefreshRate));
+
+        if (mWindow != null || !(mOwner.getContext() instanceof Activity)) return;
+        Window mActivityWindow = ((Activity) mOwner.getContext()).getWindow();
+        if (mActivityWindow == null) return;
+        // mDropCount counts metrics reports lost by a slow listener, not frames the display missed
+        Window.OnFrameMetricsAvailableListener mListener = (mMetricsWindow, mFrameMetrics, mDropCount) -> {
+            if (!mSampling) return;
+            mFrames++;
+            if (IsMissed(mFrameMetrics)) mMissedFrames++;
+        };
+        try {
+            mActivityWindow.addOnFrameMetricsAvailableListener(mListener, new Handler(Looper.getMainLooper()));
+            mWindow = mActivityWindow;
+            mFrameMetricsListener = mListener;
+        } catch (RuntimeException mException) {
+            // Not hardware accelerated: fall back to own draw timing
+            Log.w("Navify", "Frame metrics unavailable, using draw timing: " + mException.getMessage());
+        }
+    }
+
+    /**
+     * Whether a reported frame missed its deadline.
+     * <p>
+     * TOTAL_DURATION runs from the intended vsync to the frame's completion and
+     * includes work pipelined into the next vsync, so comparing it with one
+     * frame budget flags smooth frames. API 31+ reports the frame's own
+     * DEADLINE; older releases use the looser own-draw factor.
+     */
+    private boolean IsMissed(FrameMetrics mFrameMetrics) {
+        long mTotal = mFrameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            long mDeadline = mFrameMetrics.getMetric(FrameMetrics.DEADLINE);
+            if (mDeadline > 0L) return mTotal > mDeadline;
+        }
+        return mTotal > mFrameBudgetNanos * NAVIFY_QUALITY_DRAW_JANK_FACTOR;
+    }
+
+    /**
+     * Stops listening; safe to call when not attached.
+     */
+    void Detach() {
+        if (mWindow != null && mFrameMetricsListener != null) {
+            try {
+                mWindow.removeOnFrameMetricsAvailableListener(mFrameMetricsListener);
+            } catch (RuntimeException ignored) {
+                // Already removed
+            }
+        }
+        mWindow = null;
+        mFrameMetricsListener = null;
+        mSampling = false;
+    }
+
+    /**
+     * Starts measuring a transition; a retarget keeps measuring the same one.
+     */
+    void BeginSampling() {
+        if (!mEnabled || mSampling) return;
+        mSampling = true;
+        mFrames = 0;
+        mMissedFrames = 0;
+        mLastDrawNanos = -1L;
+    }
+
+    /**
+     * Records an own draw; used only when frame metrics are unavailable.
+     *
+     * @param mNowNanos Current time in nanoseconds
+     */
+    void OnDraw(long mNowNanos) {
+        if (!mSampling || mFrameMetricsListener != null) return;
+        if (mLastDrawNanos >= 0L) {
+            mFrames++;
+            if (mNowNanos - mLastDrawNanos > mFrameBudgetNanos * NAVIFY_QUALITY_DRAW_JANK_FACTOR) {
+                mMissedFrames++;
+            }
+        }
+        mLastDrawNanos = mNowNanos;
+    }
+
+    /**
+     * Ends the measured transition and steps the tier if needed.
+     */
+    void EndSampling() {
+        if (!mSampling) return;
+        mSampling = false;
+        if (!mEnabled || mFrames < NAVIFY_QUALITY_MIN_FRAMES) return;
+
+        int mNewTier = mTier;
+        if (mMissedFrames > mFrames * mMissedFrameRatio) {
+            mStableCount = 0;
+            mNewTier = Math.min(Navify.QUALITY_TIER_SHORT_ANIMATION, mTier + 1);
+        } else if (++mStableCount >= mStableTransitions) {
+            mStableCount = 0;
+            mNewTier = Math.max(Navify.QUALITY_TIER_FULL, mTier - 1);
+        }
+        SetTier(mNewTier);
+    }
+
+    /**
+     * Enables or disables adaptation; disabling restores full quality.
+     */
+    void SetEnabled(boolean mEnabled) {
+        this.mEnabled = mEnabled;
+        if (!mEnabled) {
+            mSampling = false;
+            mStableCount = 0;
+            SetTier(Navify.QUALITY_TIER_FULL);
+        }
+    }
+
+    /**
+     * Whether adaptation is enabled.
+     */
+    boolean IsEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * Sets the step thresholds.
+     *
+     * @param mMissedFrameRatio  Share of missed frames (0..1) in one transition that steps down
+     * @param mStableTransitions Consecutive smooth transitions that step up
+     */
+    void SetThresholds(float mMissedFrameRatio, int mStableTransitions) {
+        this.mMissedFrameRatio = mMissedFrameRatio;
+        this.mStableTransitions = mStableTransitions;
+    }
+
+    /**
+     * Share of missed frames that steps quality down.
+     */
+    float MissedFrameRatio() {
+        return mMissedFrameRatio;
+    }
+
+    /**
+     * Consecutive smooth transitions that step quality up.
+     */
+    int StableTransitions() {
+        return mStableTransitions;
+    }
+
+    /**
+     * Duration of one frame at the display refresh rate, in nanoseconds.
+     */
+    long FrameBudgetNanos() {
+        return mFrameBudgetNanos;
+    }
+
+    /**
+     * Current tier (Navify.QUALITY_TIER_*).
+     */
+    int Tier() {
+        return mTier;
+    }
+
+    /**
+     * Changes the tier and notifies the owner.
+     */
+    private void SetTier(int mNewTier) {
+        if (mNewTier == mTier) return;
+        mTier = mNewTier;
+        if (mOnTierChanged != null) mOnTierChanged.run();
+    }
+}
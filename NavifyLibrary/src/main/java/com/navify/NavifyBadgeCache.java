@@ -0,0 +1,159 @@
+package com.navify;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.LruCache;
+import java.util.Objects;
+
+/**
+ * Process-wide LRU cache of rendered badges (circle + text).
+ * <p>
+ * A badge is rendered once per (text, background color, text color, font, text
+ * size, radius) at full radius and shared by every item and every Navify
+ * instance; the pop-in animation only scales the bitmap. Sizes are in pixels, so
+ * density is part of the key. Eviction is bounded by a byte budget. Evicted
+ * bitmaps are not recycled because drawing code and recorded display lists may
+ * still reference them; they are left to the GC.
+ */
+final class NavifyBadgeCache {
+    /**
+     * Default memory budget in bytes (a 24dp badge at xxxhdpi is ~37 KB)
+     */
+    static final int NAVIFY_BADGE_CACHE_DEFAULT_BUDGET = 512 * 1024;
+
+    /**
+     * Shared cache, sized in bytes
+     */
+    private static final LruCache<Key, Bitmap> sCache = new LruCache<Key, Bitmap>(NAVIFY_BADGE_CACHE_DEFAULT_BUDGET) {
+        @Override
+        protected int sizeOf(Key mKey, Bitmap mValue) {
+            return mValue.getByteCount();
+        }
+    };
+
+    /**
+     * Budget as set, 0 while caching is disabled (the LruCache itself needs a positive size)
+     */
+    private static int sBudget = NAVIFY_BADGE_CACHE_DEFAULT_BUDGET;
+
+    private NavifyBadgeCache() {
+    }
+
+    /**
+     * Returns the cached badge bitmap, rendering and caching it on a miss.
+     * <p>
+     * Called when badge content or style changes, never per frame.
+     *
+     * @param mText            Badge text
+     * @param mRadius          Full badge radius in pixels
+     * @param mBackgroundPaint Circle paint
+     * @param mTextPaint       Text paint (center aligned)
+     * @param mBaselineOffset  Offset from the circle center to the text baseline
+     * @return Bitmap of size ceil(2 * radius) + 2 with the badge centered
+     */
+    static Bitmap Obtain(String mText, float mRadius, Paint mBackgroundPaint, Paint mTextPaint, float mBaselineOffset) {
+        Key mKey = new Key(mText, mRadius, mBackgroundPaint.getColor(), mTextPaint.getColor(), mTextPaint.getTextSize(), mTextPaint.getTypeface());
+        synchronized (sCache) {
+            Bitmap mCached = sCache.get(mKey);
+            if (mCached != null) return mCached;
+        }
+
+        int mSize = (int) Math.ceil(mRadius * 2f) + 2;
+        Bitmap mBitmap = Bitmap.createBitmap(mSize, mSize, Bitmap.Config.ARGB_8888);
+        Canvas mCanvas = new Canvas(mBitmap);
+        float mCenter = mSize / 2f;
+        mCanvas.drawCircle(mCenter, mCenter, mRadius, mBackgroundPaint);
+        mCanvas.drawText(mText, mCenter, mCenter + mBaselineOffset, mTextPaint);
+
+        synchronized (sCache) {
+            if (sBudget > 0) sCache.put(mKey, mBitmap);
+        }
+        return mBitmap;
+    }
+
+    /**
+     * Changes the memory budget; entries beyond it are evicted immediately.
+     *
+     * @param mBudgetBytes Budget in bytes (0 disables caching of new entries)
+     */
+    static void SetBudget(int mBudgetBytes) {
+        synchronized (sCache) {
+            sBudget = Math.max(0, mBudgetBytes);
+            if (sBudget == 0) {
+                sCache.evictAll();
+            } else {
+                sCache.resize(sBudget);
+            }
+        }
+    }
+
+    /**
+     * Current memory budget in bytes, 0 while caching is disabled.
+     */
+    static int GetBudget() {
+        synchronized (sCache) {
+            return sBudget;
+        }
+    }
+
+    /**
+     * Cache key covering everything that changes the rendered pixels.
+     * <p>
+     * Holds the typeface itself, so two fonts never share an entry.
+     */
+    private static final class Key {
+        /**
+         * Badge text
+         */
+        private final String mText;
+
+        /**
+         * Full badge radius in pixels
+         */
+        private final float mRadius;
+
+        /**
+         * Circle color
+         */
+        private final int mBackgroundColor;
+
+        /**
+         * Text color
+         */
+        private final int mTextColor;
+
+        /**
+         * Text size in pixels
+         */
+        private final float mTextSize;
+
+        /**
+         * Text typeface, null for the default
+         */
+        private final Typeface mTypeface;
+
+        Key(String mText, float mRadius, int mBackgroundColor, int mTextColor, float mTextSize, Typeface mTypeface) {
+            this.mText = mText;
+            this.mRadius = mRadius;
+            this.mBackgroundColor = mBackgroundColor;
+            this.mTextColor = mTextColor;
+            this.mTextSize = mTextSize;
+            this.mTypeface = mTypeface;
+        }
+
+        @Override
+        public boolean equals(Object mOther) {
+            if (this == mOther) return true;
+            if (!(mOther instanceof Key)) return false;
+            Key mKey = (Key) mOther;
+            return mText.equals(mKey.mText) && Float.compare(mRadius, mKey.mRadius) == 0 && mBackgroundColor == mKey.mBackgroundColor && mTextColor == mKey.mTextColor && Float.compare(mTextSize, mKey.mTextSize) == 0 && Objects.equals(mTypeface, mKey.mTypeface);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mText, mRadius, mBackgroundColor, mTextColor, mTextSize, mTypeface);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.navify;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Pre-rasterized item icons for Navify's opt-in atlas mode.
+ * <p>
+ * Every item icon is drawn once into a shared ARGB bitmap at both icon sizes
+ * (selected / unselected) in both tints, one column per item:
+ * <pre>
+ * row 0: selected tint,   selected size
+ * row 1: selected tint,   unselected size
+ * row 2: unselected tint, selected size
+ * row 3: unselected tint, unselected size
+ * </pre>
+ * Frames blit from the atlas. In-between animation sizes scale from the
+ * smallest cached level that is at least as large (or the largest one).
+ * Rasterizing uses a copy of each drawable's constant state, so drawables shared
+ * with menus or other views are never tinted or resized by Navify.
+ */
+final class NavifyIconAtlas {
+    /**
+     * Rows per item column (2 tints x 2 sizes)
+     */
+    private static final int NAVIFY_ATLAS_ROWS = 4;
+
+    /**
+     * Transparent gap between cells so filtering never bleeds into a neighbor
+     */
+    private static final int NAVIFY_ATLAS_GAP = 2;
+
+    /**
+     * Atlas bitmap, null until built
+     */
+    private Bitmap mAtlasBitmap;
+
+    /**
+     * Paint used to blit cells (alpha set per draw)
+     */
+    private final Paint mBlitPaint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.ANTI_ALIAS_FLAG);
+
+    /**
+     * Reused source rect of the cell being drawn
+     */
+    private final Rect mSrcRect = new Rect();
+
+    /**
+     * Reused destination rect of the cell being drawn
+     */
+    private final RectF mDstRect = new RectF();
+
+    /**
+     * Side of one cell in pixels (largest icon size plus gap)
+     */
+    private int mCellSize;
+
+    /**
+     * Cache key: icons the atlas was built from
+     */
+    private final Drawable[] mKeyIcons = new Drawable[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Cache key: item count
+     */
+    private int mKeyCount = -1;
+
+    /**
+     * Cache key: icon sizes in pixels
+     */
+    private int mKeySelectedSize, mKeyUnSelectedSize;
+
+    /**
+     * Cache key: icon tints
+     */
+    private int mKeySelectedColor, mKeyUnSelectedColor;
+
+    /**
+     * Rebuilds the atlas if icons, sizes or tints changed.
+     *
+     * @param mResources         Resources used to copy drawables
+     * @param mIcons             Item icons (entries may be null)
+     * @param mCount             Item count
+     * @param mSelectedSize      Selected icon size in pixels
+     * @param mUnSelectedSize    Unselected icon size in pixels
+     * @param mSelectedColor     Selected icon tint
+     * @param mUnSelectedColor   Unselected icon tint
+     * @return true if the atlas was rebuilt
+     */
+    boolean Update(Resources mResources, Drawable[] mIcons, int mCount, float mSelectedSize, float mUnSelectedSize, int mSelectedColor, int mUnSelectedColor) {
+        int mSelectedPx = Math.max(1, Math.round(mSelectedSize));
+        int mUnSelectedPx = Math.max(1, Math.round(mUnSelectedSize));
+        if (mAtlasBitmap != null && IsSameKey(mIcons, mCount, mSelectedPx, mUnSelectedPx, mSelectedColor, mUnSelectedColor)) {
+            return false;
+        }
+
+        mKeyCount = mCount;
+        for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            mKeyIcons[mI] = mI < mCount ? mIcons[mI] : null;
+        }
+        mKeySelectedSize = mSelectedPx;
+        mKeyUnSelectedSize = mUnSelectedPx;
+        mKeySelectedColor = mSelectedColor;
+        mKeyUnSelectedColor = mUnSelectedColor;
+
+        // The old bitmap may still be referenced by recorded display lists, so it is left to the GC
+        mAtlasBitmap = null;
+        if (mCount <= 0) return true;
+
+        mCellSize = Math.max(mSelectedPx, mUnSelectedPx) + NAVIFY_ATLAS_GAP;
+        mAtlasBitmap = Bitmap.createBitmap(mCellSize * mCount, mCellSize * NAVIFY_ATLAS_ROWS, Bitmap.Config.ARGB_8888);
+        Canvas mCanvas = new Canvas(mAtlasBitmap);
+
+        for (int mI = 0; mI < mCount; mI++) {
+            Drawable mCopy = CopyDrawable(mResources, mIcons[mI]);
+            if (mCopy == null) continue;
+            for (int mRow = 0; mRow < NAVIFY_ATLAS_ROWS; mRow++) {
+                int mSize = (mRow % 2 == 0) ? mSelectedPx : mUnSelectedPx;
+                int mLeft = mI * mCellSize;
+                int mTop = mRow * mCellSize;
+                mCopy.setBounds(mLeft, mTop, mLeft + mSize, mTop + mSize);
+                mCopy.setTint(mRow < 2 ? mSelectedColor : mUnSelectedColor);
+                mCopy.setAlpha(255);
+                mCopy.draw(mCanvas);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws an item icon from the atlas into the given bounds.
+     *
+     * @param mCanvas   Canvas to draw on
+     * @param mIndex    Item index
+     * @param mSelected Whether to use the selected tint
+     * @param mLeft     Left bound
+     * @param mTop      Top bound
+     * @param mRight    Right bound
+     * @param mBottom   Bottom bound
+     * @param mAlpha    Alpha (0-255)
+     * @return false if the atlas has no cell for this item (caller draws the drawable)
+     */
+    boolean Draw(Canvas mCanvas, int mIndex, boolean mSelected, int mLeft, int mTop, int mRight, int mBottom, int mAlpha) {
+        if (mAtlasBitmap == null || mIndex < 0 || mIndex >= mKeyCount || mKeyIcons[mIndex] == null) return false;
+
+        // Smallest cached level that does not need upscaling
+        int mSize = Math.max(mRight - mLeft, mBottom - mTop);
+        int mSmall = Math.min(mKeySelectedSize, mKeyUnSelectedSize);
+        int mLarge = Math.max(mKeySelectedSize, mKeyUnSelectedSize);
+        int mLevelSize = mSize <= mSmall ? mSmall : mLarge;
+        int mRow = (mSelected ? 0 : 2) + (mLevelSize == mKeySelectedSize ? 0 : 1);
+
+        int mCellLeft = mIndex * mCellSize;
+        int mCellTop = mRow * mCellSize;
+        mSrcRect.set(mCellLeft, mCellTop, mCellLeft + mLevelSize, mCellTop + mLevelSize);
+        mDstRect.set(mLeft, mTop, mRight, mBottom);
+        mBlitPaint.setAlpha(mAlpha);
+        mCanvas.drawBitmap(mAtlasBitmap, mSrcRect, mDstRect, mBlitPaint);
+        return true;
+    }
+
+    /**
+     * Drops the atlas; the next {@link #Update} rebuilds it.
+     */
+    void Release() {
+        mAtlasBitmap = null;
+        mKeyCount = -1;
+    }
+
+    /**
+     * Whether the atlas was built for exactly these inputs.
+     */
+    private boolean IsSameKey(Drawable[] mIcons, int mCount, int mSelectedPx, int mUnSelectedPx, int mSelectedColor, int mUnSelectedColor) {
+        if (mKeyCount != mCount || mKeySelectedSize != mSelectedPx || mKeyUnSelectedSize != mUnSelectedPx) return false;
+        if (mKeySelectedColor != mSelectedColor || mKeyUnSelectedColor != mUnSelectedColor) return false;
+        for (int mI = 0; mI < mCount; mI++) {
+            if (mKeyIcons[mI] != mIcons[mI]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Independent copy of a drawable so tint and bounds stay private to the atlas.
+     */
+    private static Drawable CopyDrawable(Resources mResources, Drawable mIcon) {
+        if (mIcon == null) return null;
+        Drawable.ConstantState mState = mIcon.getConstantState();
+        if (mState == null) return mIcon.mutate();
+        return mState.newDrawable(mResources).mutate();
+    }
+}
@@ -0,0 +1,163 @@
+package com.navify;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.Log;
+import android.view.View;
+import androidx.core.content.ContextCompat;
+import com.navify.Event.INavifyIconsReadyListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Background icon resolution for Navify's opt-in lazy icon mode.
+ * <p>
+ * Menu icons are resolved from their resource IDs on a background thread
+ * instead of during menu loading. Each drawable is mutated, so its state is not
+ * shared with other users of the resource, and drawn once into a scratch bitmap
+ * at the largest icon size, which lets vector drawables parse their paths and
+ * fill their raster cache off the main thread. All icons of a request are
+ * handed back to the main thread together through the owner view, so the
+ * caller swaps them in with a single invalidate. Until then the caller draws a
+ * placeholder for every pending slot.
+ */
+final class NavifyIconLoader {
+    /**
+     * Icon resource per slot still waiting for its drawable, 0 when none
+     */
+    private final int[] mPendingRes = new int[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Listeners waiting until no icon is pending
+     */
+    private final List<INavifyIconsReadyListener> mReadyListeners = new ArrayList<>();
+
+    /**
+     * Incremented per request; stale background results are dropped
+     */
+    private int mGeneration = 0;
+
+    /**
+     * Resolves the given icons in the background.
+     * <p>
+     * Must be called on the main thread. Replaces any request still running.
+     *
+     * @param mOwner      View used to post the result back to the main thread
+     * @param mContext    Context resolving the drawables (its theme applies)
+     * @param mIconRes    Icon resource per slot (0 for none)
+     * @param mCount      Number of slots
+     * @param mRenderSize Size in pixels the icons are pre-rendered at
+     * @param mOnLoaded   Run on the main thread with the drawables (null where resolving failed)
+     */
+    void Load(View mOwner, Context mContext, int[] mIconRes, int mCount, int mRenderSize, Consumer<Drawable[]> mOnLoaded) {
+        final int mRequest = ++mGeneration;
+        final int mItemCount = Math.min(mCount, Navify.NAVIFY_MAX_ITEMS_SIZE);
+        final int[] mResCopy = new int[Navify.NAVIFY_MAX_ITEMS_SIZE];
+        for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            mResCopy[mI] = mI < mItemCount ? mIconRes[mI] : 0;
+            mPendingRes[mI] = mResCopy[mI];
+        }
+        final int mSize = Math.max(1, mRenderSize);
+
+        NavifyWorker.Executor().execute(() -> {
+            boolean mTrace = NavifyTrace.Begin("Navify.loadIcons");
+            final Drawable[] mIcons = new Drawable[Navify.NAVIFY_MAX_ITEMS_SIZE];
+            try {
+                Bitmap mScratch = null;
+                Canvas mScratchCanvas = null;
+                for (int mI = 0; mI < mItemCount; mI++) {
+                    if (mResCopy[mI] == 0) continue;
+                    Drawable mIcon;
+                    try {
+                        mIcon = ContextCompat.getDrawable(mContext, mResCopy[mI]);
+                    } catch (Resources.NotFoundException mException) {
+                        Log.w("Navify", "menu item " + mI + " icon could not be loaded: " + mException.getMessage());
+                        continue;
+                    }
+                    if (mIcon == null) continue;
+                    mIcon = mIcon.mutate();
+
+                    // Draw once so the first frame does not pay for parsing and rasterizing
+                    if (mScratch == null) {
+                        mScratch = Bitmap.createBitmap(mSize, mSize, Bitmap.Config.ARGB_8888);
+                        mScratchCanvas = new Canvas(mScratch);
+                    } else {
+                        mScratch.eraseColor(0);
+                    }
+                    mIcon.setBounds(0, 0, mSize, mSize);
+                    mIcon.draw(mScratchCanvas);
+                    mIcons[mI] = mIcon;
+                }
+            } finally {
+                NavifyTrace.End(mTrace);
+            }
+
+            mOwner.post(() -> {
+                if (mRequest != mGeneration) return;
+                for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+                    mPendingRes[mI] = 0;
+                }
+                mOnLoaded.accept(mIcons);
+                NotifyReady();
+            });
+        });
+    }
+
+    /**
+     * Drops the running request; its result will be ignored.
+     * <p>
+     * Nothing is pending afterwards, so waiting listeners are notified.
+     */
+    void Cancel() {
+        mGeneration++;
+        for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            mPendingRes[mI] = 0;
+        }
+        NotifyReady();
+    }
+
+    /**
+     * Whether an item's icon is still being resolved.
+     */
+    boolean IsPending(int mIndex) {
+        return mPendingRes[mIndex] != 0;
+    }
+
+    /**
+     * Whether no icon is being resolved.
+     */
+    boolean IsReady() {
+        for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            if (mPendingRes[mI] != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Runs the listener once no icon is pending: immediately if already so,
+     * otherwise on the main thread right after the icons are installed.
+     */
+    void AwaitReady(INavifyIconsReadyListener mListener) {
+        if (IsReady()) {
+            mListener.onNavifyIconsReady();
+        } else {
+            mReadyListeners.add(mListener);
+        }
+    }
+
+    /**
+     * Notifies and forgets the waiting listeners.
+     */
+    private void NotifyReady() {
+        if (mReadyListeners.isEmpty()) return;
+        List<INavifyIconsReadyListener> mListeners = new ArrayList<>(mReadyListeners);
+        mReadyListeners.clear();
+        for (INavifyIconsReadyListener mListener : mListeners) {
+            mListener.onNavifyIconsReady();
+        }
+    }
+}
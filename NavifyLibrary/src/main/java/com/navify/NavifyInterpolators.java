@@ -0,0 +1,147 @@
+package com.navify;
+
+import android.animation.TimeInterpolator;
+import android.util.LruCache;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.AnticipateInterpolator;
+import android.view.animation.AnticipateOvershootInterpolator;
+import android.view.animation.BounceInterpolator;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.OvershootInterpolator;
+import com.navify.core.NavifyCurves;
+
+/**
+ * Process-wide registry of immutable, table-backed interpolators for Navify.
+ * <p>
+ * Each curve is sampled once into a fixed table and evaluated by linear
+ * interpolation between neighboring samples, so a frame costs one multiply and
+ * one lerp regardless of the curve. Built-in curves are created lazily on first
+ * use and shared by every Navify instance; custom cubic-bezier curves are kept
+ * in a small LRU keyed by their control points. Nothing here parses XML or
+ * needs a Context. Table evaluation and bezier sampling live in NavifyCurves
+ * (navify-core).
+ */
+final class NavifyInterpolators {
+    /**
+     * Max custom curves kept alive
+     */
+    private static final int NAVIFY_INTERPOLATOR_CUSTOM_CACHE = 8;
+
+    /**
+     * Built-in curves indexed by Navify's interpolator constant
+     */
+    private static final TimeInterpolator[] sBuiltIn = new TimeInterpolator[Navify.FAST_OUT_SLOW_IN + 1];
+
+    /**
+     * Custom cubic-bezier curves keyed by control points
+     */
+    private static final LruCache<String, TimeInterpolator> sCustom = new LruCache<>(NAVIFY_INTERPOLATOR_CUSTOM_CACHE);
+
+    private NavifyInterpolators() {
+    }
+
+    /**
+     * Returns the shared interpolator for a Navify interpolator constant.
+     * Unknown types fall back to OVERSHOOT.
+     *
+     * @param mType Interpolator constant (e.g. Navify.LINEAR)
+     */
+    static TimeInterpolator Get(int mType) {
+        if (mType < 0 || mType >= sBuiltIn.length) mType = Navify.OVERSHOOT;
+        synchronized (sBuiltIn) {
+            TimeInterpolator mInterpolator = sBuiltIn[mType];
+            if (mInterpolator == null) {
+                mInterpolator = Create(mType);
+                sBuiltIn[mType] = mInterpolator;
+            }
+            return mInterpolator;
+        }
+    }
+
+    /**
+     * Returns the shared interpolator for a cubic-bezier curve from (0,0) to (1,1).
+     *
+     * @param mX1 First control point X (0..1)
+     * @param mY1 First control point Y
+     * @param mX2 Second control point X (0..1)
+     * @param mY2 Second control point Y
+     */
+    static TimeInterpolator Bezier(float mX1, float mY1, float mX2, float mY2) {
+        String mKey = mX1 + "," + mY1 + "," + mX2 + "," + mY2;
+        synchronized (sCustom) {
+            TimeInterpolator mInterpolator = sCustom.get(mKey);
+            if (mInterpolator == null) {
+                mInterpolator = new Table(NavifyCurves.SampleBezier(mX1, mY1, mX2, mY2));
+                sCustom.put(mKey, mInterpolator);
+            }
+            return mInterpolator;
+        }
+    }
+
+    /**
+     * Whether the control points describe a valid timing curve (X must stay in 0..1).
+     */
+    static boolean IsValidBezier(float mX1, float mY1, float mX2, float mY2) {
+        return NavifyCurves.IsValidBezier(mX1, mY1, mX2, mY2);
+    }
+
+    /**
+     * Samples a built-in curve. The platform interpolators are used only here, once per type.
+     */
+    private static TimeInterpolator Create(int mType) {
+        switch (mType) {
+            case Navify.LINEAR:
+                return mInput -> Math.max(0f, Math.min(1f, mInput)); // constant speed
+            case Navify.NONE:
+                return mInput -> 1f; // instant, no animation
+            case Navify.ACCELERATE:
+                return new Table(Sample(new AccelerateInterpolator())); // starts slow, ends fast
+            case Navify.DECELERATE:
+                return new Table(Sample(new DecelerateInterpolator())); // starts fast, ends slow
+            case Navify.ACCELERATE_DECELERATE:
+                return new Table(Sample(new AccelerateDecelerateInterpolator())); // ease-in-out
+            case Navify.BOUNCE:
+                return new Table(Sample(new BounceInterpolator())); // bouncy finish
+            case Navify.ANTICIPATE:
+                return new Table(Sample(new AnticipateInterpolator())); // starts backward before forward
+            case Navify.ANTICIPATE_OVERSHOOT:
+                return new Table(Sample(new AnticipateOvershootInterpolator())); // both anticipate & overshoot
+            case Navify.FAST_OUT_SLOW_IN:
+                return new Table(NavifyCurves.SampleBezier(0.4f, 0f, 0.2f, 1f)); // Material motion curve
+            case Navify.OVERSHOOT:
+            default:
+                return new Table(Sample(new OvershootInterpolator())); // goes beyond target, then snaps
+        }
+    }
+
+    /**
+     * Samples an interpolator at evenly spaced inputs.
+     */
+    private static float[] Sample(TimeInterpolator mSource) {
+        float[] mSamples = new float[NavifyCurves.SAMPLES];
+        for (int mI = 0; mI < NavifyCurves.SAMPLES; mI++) {
+            mSamples[mI] = mSource.getInterpolation(mI / (float) (NavifyCurves.SAMPLES - 1));
+        }
+        return mSamples;
+    }
+
+    /**
+     * Immutable lookup-table interpolator.
+     */
+    private static final class Table implements TimeInterpolator {
+        /**
+         * Curve values at evenly spaced inputs
+         */
+        private final float[] mSamples;
+
+        Table(float[] mSamples) {
+            this.mSamples = mSamples;
+        }
+
+        @Override
+        public float getInterpolation(float mInput) {
+            return NavifyCurves.Evaluate(mSamples, mInput);
+        }
+    }
+}
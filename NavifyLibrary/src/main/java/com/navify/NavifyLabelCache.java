@@ -0,0 +1,173 @@
+package com.navify;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.text.MeasuredText;
+import android.os.Build;
+import android.view.View;
+import androidx.annotation.RequiresApi;
+import java.text.Bidi;
+
+/**
+ * Per-item label cache for Navify.
+ * <p>
+ * Holds the drawn (all-caps applied) titles, the widest label advance and,
+ * on API 29+, a pre-shaped MeasuredText per title and state, so frames draw
+ * labels without re-shaping or reconfiguring a shared paint. Shaping runs on a
+ * background thread with private paint copies whenever titles, font, size, bold
+ * or locale change; results are handed back to the main thread through the
+ * owner view. Until the first result arrives {@link #Draw} returns false and the
+ * caller draws the plain string.
+ */
+final class NavifyLabelCache {
+    /**
+     * Configured paint per state (index 0 unselected, 1 selected)
+     */
+    private final Paint[] mStatePaints = {new Paint(Paint.ANTI_ALIAS_FLAG), new Paint(Paint.ANTI_ALIAS_FLAG)};
+
+    /**
+     * Titles the installed results belong to
+     */
+    private String[] mTitles = new String[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Pre-shaped text per state and item (MeasuredText on API 29+, null otherwise)
+     */
+    private Object[][] mShapedRuns = new Object[2][Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Run direction per item (only meaningful with a shaped run)
+     */
+    private boolean[] mRtl = new boolean[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Widest advance over all items and states
+     */
+    private float mMaxAdvance;
+
+    /**
+     * Whether installed results match the latest request
+     */
+    private boolean mReady = false;
+
+    /**
+     * Incremented per request; stale background results are dropped
+     */
+    private int mGeneration = 0;
+
+    /**
+     * Requests a rebuild for the given titles and text style.
+     * <p>
+     * Must be called on the main thread. The base paint is copied immediately,
+     * so the caller may keep mutating it.
+     *
+     * @param mOwner          View used to post the result back to the main thread
+     * @param mDrawTitles     Titles as drawn per slot (null for empty slots)
+     * @param mBasePaint      Paint with typeface, bold and alignment set
+     * @param mSelectedSize   Selected text size in pixels
+     * @param mUnSelectedSize Unselected text size in pixels
+     * @param mOnReady        Run on the main thread once results are installed
+     */
+    void Rebuild(View mOwner, String[] mDrawTitles, Paint mBasePaint, float mSelectedSize, float mUnSelectedSize, Runnable mOnReady) {
+        final int mRequest = ++mGeneration;
+        mReady = false;
+
+        int mSelectedColor = mStatePaints[1].getColor(), mUnSelectedColor = mStatePaints[0].getColor();
+        mStatePaints[0].set(mBasePaint);
+        mStatePaints[0].setTextSize(mUnSelectedSize);
+        mStatePaints[0].setColor(mUnSelectedColor);
+        mStatePaints[1].set(mBasePaint);
+        mStatePaints[1].setTextSize(mSelectedSize);
+        mStatePaints[1].setColor(mSelectedColor);
+
+        // Worker only ever touches these copies
+        final String[] mTitlesCopy = mDrawTitles.clone();
+        final int mItemCount = Math.min(mTitlesCopy.length, Navify.NAVIFY_MAX_ITEMS_SIZE);
+        final Paint[] mWorkerPaints = {new Paint(mStatePaints[0]), new Paint(mStatePaints[1])};
+
+        NavifyWorker.Executor().execute(() -> {
+            final Object[][] mNewRuns = new Object[2][Navify.NAVIFY_MAX_ITEMS_SIZE];
+            final boolean[] mNewRtl = new boolean[Navify.NAVIFY_MAX_ITEMS_SIZE];
+            float mWidest = 0f;
+
+            for (int mI = 0; mI < mItemCount; mI++) {
+                String mTitle = mTitlesCopy[mI];
+                if (mTitle == null || mTitle.isEmpty()) continue;
+
+                // Pre-shaped runs need a single direction; mixed bidi titles draw as plain strings
+                Bidi mBidi = new Bidi(mTitle, Bidi.DIRECTION_DEFAULT_LEFT_TO_RIGHT);
+                boolean mSingleRun = !mBidi.isMixed();
+                mNewRtl[mI] = mBidi.isRightToLeft();
+
+                for (int mState = 0; mState < 2; mState++) {
+                    mWidest = Math.max(mWidest, mWorkerPaints[mState].measureText(mTitle));
+                    if (mSingleRun && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                        mNewRuns[mState][mI] = ShapedText.Shape(mTitle, mWorkerPaints[mState], mNewRtl[mI]);
+                    }
+                }
+            }
+
+            final float mNewMaxAdvance = mWidest;
+            mOwner.post(() -> {
+                if (mRequest != mGeneration) return;
+                mTitles = mTitlesCopy;
+                mShapedRuns = mNewRuns;
+                mRtl = mNewRtl;
+                mMaxAdvance = mNewMaxAdvance;
+                mReady = true;
+                if (mOnReady != null) mOnReady.run();
+            });
+        });
+    }
+
+    /**
+     * Updates the label colors without re-shaping.
+     */
+    void SetColors(int mSelectedColor, int mUnSelectedColor) {
+        mStatePaints[1].setColor(mSelectedColor);
+        mStatePaints[0].setColor(mUnSelectedColor);
+    }
+
+    /**
+     * Draws a cached label with its baseline center at (mX, mY).
+     *
+     * @return false if no result is available for this item yet
+     */
+    boolean Draw(Canvas mCanvas, int mIndex, boolean mSelected, float mX, float mY) {
+        if (!mReady) return false;
+        String mTitle = mTitles[mIndex];
+        if (mTitle == null || mTitle.isEmpty()) return true;
+
+        int mState = mSelected ? 1 : 0;
+        Paint mPaint = mStatePaints[mState];
+        mPaint.setAlpha(255);
+        Object mRun = mShapedRuns[mState][mIndex];
+        if (mRun != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            ShapedText.Draw(mCanvas, mRun, mTitle.length(), mX, mY, mRtl[mIndex], mPaint);
+        } else {
+            mCanvas.drawText(mTitle, mX, mY, mPaint);
+        }
+        return true;
+    }
+
+    /**
+     * Widest cached label advance (0 until results arrive).
+     */
+    float MaxAdvance() {
+        return mReady ? mMaxAdvance : 0f;
+    }
+
+    /**
+     * MeasuredText access, isolated so older platforms never load the class.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.Q)
+    private static final class ShapedText {
+        static Object Shape(String mTitle, Paint mPaint, boolean mRtl) {
+            return new MeasuredText.Builder(mTitle.toCharArray()).appendStyleRun(mPaint, mTitle.length(), mRtl).setComputeHyphenation(false).build();
+        }
+
+        static void Draw(Canvas mCanvas, Object mRun, int mLength, float mX, float mY, boolean mRtl, Paint mPaint) {
+            mCanvas.drawTextRun((MeasuredText) mRun, 0, mLength, 0, mLength, mX, mY, mRtl, mPaint);
+        }
+    }
+}
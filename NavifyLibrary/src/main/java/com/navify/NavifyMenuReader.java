@@ -0,0 +1,118 @@
+package com.navify;
+
+import android.content.Context;
+import android.content.res.XmlResourceParser;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.MenuRes;
+import androidx.core.content.ContextCompat;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ * Reads the items of a {@code <menu>} resource straight from its compiled XML.
+ * <p>
+ * Only id, icon and title are extracted, so loading a menu no longer builds a
+ * PopupMenu, MenuBuilder and MenuItemImpl objects. Items are returned in
+ * document order, including items inside {@code <group>}; items of nested
+ * sub-menus are skipped, matching the top level of an inflated Menu.
+ * orderInCategory and menuCategory are not applied.
+ */
+final class NavifyMenuReader {
+    /**
+     * Namespace of the android: attributes
+     */
+    private static final String NAVIFY_ANDROID_NS = "http://schemas.android.com/apk/res/android";
+
+    /**
+     * One top-level menu item
+     */
+    static final class Item {
+        /**
+         * android:id, 0 when missing
+         */
+        final int mId;
+
+        /**
+         * android:icon resource, 0 when missing
+         */
+        final int mIconRes;
+
+        /**
+         * android:icon, null when missing or not resolved
+         */
+        final Drawable mIcon;
+
+        /**
+         * android:title, null when missing
+         */
+        final String mTitle;
+
+        Item(int mId, int mIconRes, Drawable mIcon, String mTitle) {
+            this.mId = mId;
+            this.mIconRes = mIconRes;
+            this.mIcon = mIcon;
+            this.mTitle = mTitle;
+        }
+    }
+
+    private NavifyMenuReader() {
+    }
+
+    /**
+     * Reads every top-level item of a menu resource, valid or not.
+     *
+     * @param mContext         Context resolving the menu, icons and titles
+     * @param mMenuResourcesID Menu resource ID
+     * @param mResolveIcons    Whether to load the icon drawables (otherwise only their resource IDs are read)
+     * @return Items in document order
+     * @throws IllegalStateException if the XML cannot be parsed
+     */
+    static List<Item> Read(Context mContext, @MenuRes int mMenuResourcesID, boolean mResolveIcons) {
+        List<Item> mItems = new ArrayList<>();
+        try (XmlResourceParser mParser = mContext.getResources().getXml(mMenuResourcesID)) {
+            // Depth of nested <menu> tags; 1 is the root menu, deeper ones are sub-menus
+            int mMenuDepth = 0;
+            int mEvent = mParser.getEventType();
+            while (mEvent != XmlPullParser.END_DOCUMENT) {
+                if (mEvent == XmlPullParser.START_TAG) {
+                    String mTag = mParser.getName();
+                    if ("menu".equals(mTag)) {
+                        mMenuDepth++;
+                    } else if ("item".equals(mTag) && mMenuDepth == 1) {
+                        mItems.add(ReadItem(mContext, mParser, mResolveIcons));
+                    }
+                } else if (mEvent == XmlPullParser.END_TAG && "menu".equals(mParser.getName())) {
+                    mMenuDepth--;
+                }
+                mEvent = mParser.next();
+            }
+        } catch (XmlPullParserException | IOException mException) {
+            throw new IllegalStateException("Menu resource could not be read: " + mException.getMessage(), mException);
+        }
+        return mItems;
+    }
+
+    /**
+     * Reads id, icon and title of the {@code <item>} the parser is on.
+     */
+    private static Item ReadItem(Context mContext, XmlResourceParser mParser, boolean mResolveIcons) {
+        int mId = mParser.getAttributeResourceValue(NAVIFY_ANDROID_NS, "id", 0);
+
+        // Titles are either string resources or literal text
+        String mTitle;
+        int mTitleRes = mParser.getAttributeResourceValue(NAVIFY_ANDROID_NS, "title", 0);
+        if (mTitleRes != 0) {
+            CharSequence mText = mContext.getResources().getText(mTitleRes);
+            mTitle = mText != null ? mText.toString() : null;
+        } else {
+            mTitle = mParser.getAttributeValue(NAVIFY_ANDROID_NS, "title");
+        }
+
+        int mIconRes = mParser.getAttributeResourceValue(NAVIFY_ANDROID_NS, "icon", 0);
+        Drawable mIcon = mResolveIcons && mIconRes != 0 ? ContextCompat.getDrawable(mContext, mIconRes) : null;
+        return new Item(mId, mIconRes, mIcon, mTitle);
+    }
+}
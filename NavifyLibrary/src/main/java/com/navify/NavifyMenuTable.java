@@ -0,0 +1,120 @@
+package com.navify;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.util.SparseArray;
+import androidx.annotation.MenuRes;
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Menu compiled at build time into resource ID tables.
+ * <p>
+ * Tables are generated by the navifyCompileMenus Gradle task for every menu
+ * referenced by {@code app:mMenuResource} and registered once at startup.
+ * setMenu, setMenuResource and {@code app:mMenuResource} then take the item
+ * IDs, icons and titles from the registered table instead of parsing the
+ * menu XML. Titles given as string resources are still resolved at runtime,
+ * so they follow the current locale.
+ */
+public final class NavifyMenuTable {
+    /**
+     * Registered tables by menu resource ID
+     */
+    private static final SparseArray<NavifyMenuTable> sTables = new SparseArray<>();
+
+    /**
+     * Menu resource the table was compiled from
+     */
+    private final int mMenuRes;
+
+    /**
+     * Item IDs (0 when missing)
+     */
+    private final int[] mIds;
+
+    /**
+     * Item icon resources (0 when missing)
+     */
+    private final int[] mIconRes;
+
+    /**
+     * Item title string resources (0 when the title is literal or missing)
+     */
+    private final int[] mTitleRes;
+
+    /**
+     * Literal item titles (null when the title is a resource or missing)
+     */
+    private final String[] mTitles;
+
+    /**
+     * Creates a table; one entry per top-level menu item, in menu order.
+     *
+     * @param mMenuRes  Menu resource the table was compiled from
+     * @param mIds      Item IDs
+     * @param mIconRes  Icon resources
+     * @param mTitleRes Title string resources
+     * @param mTitles   Literal titles
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public NavifyMenuTable(@MenuRes int mMenuRes, @NonNull int[] mIds, @NonNull int[] mIconRes, @NonNull int[] mTitleRes, @NonNull String[] mTitles) {
+        if (mIds.length != mIconRes.length || mIds.length != mTitleRes.length || mIds.length != mTitles.length) {
+            throw new IllegalArgumentException("Menu table arrays must have one entry per item.");
+        }
+        this.mMenuRes = mMenuRes;
+        this.mIds = mIds;
+        this.mIconRes = mIconRes;
+        this.mTitleRes = mTitleRes;
+        this.mTitles = mTitles;
+    }
+
+    /**
+     * Registers a compiled menu; later loads of its menu resource use the table.
+     *
+     * @param mTable Table to register (replaces an earlier one for the same menu)
+     */
+    public static void register(@NonNull NavifyMenuTable mTable) {
+        synchronized (sTables) {
+            sTables.put(mTable.mMenuRes, mTable);
+        }
+    }
+
+    /**
+     * Gets the menu resource the table was compiled from.
+     */
+    public int getMenuResource() {
+        return mMenuRes;
+    }
+
+    /**
+     * Registered table of a menu resource, null if the menu was not compiled.
+     */
+    static NavifyMenuTable Find(int mMenuRes) {
+        synchronized (sTables) {
+            return sTables.get(mMenuRes);
+        }
+    }
+
+    /**
+     * Items of the table, shaped like NavifyMenuReader's result.
+     *
+     * @param mContext      Context resolving icons and titles
+     * @param mResolveIcons Whether to load the icon drawables
+     */
+    List<NavifyMenuReader.Item> Items(Context mContext, boolean mResolveIcons) {
+        List<NavifyMenuReader.Item> mItems = new ArrayList<>(mIds.length);
+        for (int mI = 0; mI < mIds.length; mI++) {
+            String mTitle = mTitles[mI];
+            if (mTitleRes[mI] != 0) {
+                CharSequence mText = mContext.getResources().getText(mTitleRes[mI]);
+                mTitle = mText != null ? mText.toString() : null;
+            }
+            Drawable mIcon = mResolveIcons && mIconRes[mI] != 0 ? ContextCompat.getDrawable(mContext, mIconRes[mI]) : null;
+            mItems.add(new NavifyMenuReader.Item(mIds[mI], mIconRes[mI], mIcon, mTitle));
+        }
+        return mItems;
+    }
+}
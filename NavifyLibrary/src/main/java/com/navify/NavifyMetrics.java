@@ -0,0 +1,226 @@
+package com.navify;
+
+import androidx.annotation.NonNull;
+import java.util.Arrays;
+
+/**
+ * Runtime cost measurements of one Navify instance.
+ * <p>
+ * Obtained from {@link Navify#getMetrics()} after {@link Navify#setMetricsEnabled(boolean)}.
+ * While metrics are disabled no instance exists and every measuring site is a
+ * single null check. Values are aggregated into fixed power-of-two histograms,
+ * so recording never allocates and a snapshot can be sampled and shipped to
+ * telemetry at any time. Recording and reading happen on the main thread.
+ * <p>
+ * Histogram units: the HISTOGRAM_*_TIME entries are in microseconds,
+ * HISTOGRAM_TAP_TO_SETTLE in milliseconds and the frame histograms in frames
+ * per settled transition.
+ */
+public final class NavifyMetrics {
+    /**
+     * Time spent in onMeasure (microseconds)
+     */
+    public static final int HISTOGRAM_MEASURE_TIME = 0;
+
+    /**
+     * Time spent in onDraw (microseconds)
+     */
+    public static final int HISTOGRAM_DRAW_TIME = 1;
+
+    /**
+     * Time spent drawing the bar and bump (microseconds)
+     */
+    public static final int HISTOGRAM_DRAW_BACKGROUND_BUMP_TIME = 2;
+
+    /**
+     * Time spent drawing icons, labels and badges (microseconds)
+     */
+    public static final int HISTOGRAM_DRAW_ITEMS_TIME = 3;
+
+    /**
+     * Frames rendered per settled selection transition
+     */
+    public static final int HISTOGRAM_TRANSITION_FRAMES = 4;
+
+    /**
+     * Frames dropped per settled selection transition
+     */
+    public static final int HISTOGRAM_TRANSITION_DROPPED_FRAMES = 5;
+
+    /**
+     * Latency from the selecting tap (or setter call) to the settled state (milliseconds)
+     */
+    public static final int HISTOGRAM_TAP_TO_SETTLE = 6;
+
+    /**
+     * Number of histograms
+     */
+    public static final int HISTOGRAM_COUNT = 7;
+
+    /**
+     * invalidate() calls, full or partial
+     */
+    public static final int COUNTER_INVALIDATE = 0;
+
+    /**
+     * requestLayout() calls
+     */
+    public static final int COUNTER_REQUEST_LAYOUT = 1;
+
+    /**
+     * Badge pop-in animations started
+     */
+    public static final int COUNTER_BADGE_ANIMATIONS = 2;
+
+    /**
+     * Selection transitions settled
+     */
+    public static final int COUNTER_TRANSITIONS = 3;
+
+    /**
+     * Number of counters
+     */
+    public static final int COUNTER_COUNT = 4;
+
+    /**
+     * Buckets per histogram: bucket 0 holds 0, bucket i holds [2^(i-1), 2^i - 1], the last one everything above
+     */
+    public static final int BUCKET_COUNT = 32;
+
+    /**
+     * Sample count per bucket and histogram
+     */
+    private final long[][] mBuckets = new long[HISTOGRAM_COUNT][BUCKET_COUNT];
+
+    /**
+     * Sample count per histogram
+     */
+    private final long[] mCounts = new long[HISTOGRAM_COUNT];
+
+    /**
+     * Sum of samples per histogram
+     */
+    private final long[] mSums = new long[HISTOGRAM_COUNT];
+
+    /**
+     * Largest sample per histogram
+     */
+    private final long[] mMax = new long[HISTOGRAM_COUNT];
+
+    /**
+     * Counter values
+     */
+    private final long[] mCounters = new long[COUNTER_COUNT];
+
+    NavifyMetrics() {
+    }
+
+    /**
+     * Records a duration measured from mStartNanos until now.
+     */
+    void RecordTime(int mHistogram, long mStartNanos) {
+        Record(mHistogram, (System.nanoTime() - mStartNanos) / 1_000L);
+    }
+
+    /**
+     * Records one sample.
+     */
+    void Record(int mHistogram, long mValue) {
+        if (mValue < 0L) mValue = 0L;
+        int mBucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(mValue));
+        mBuckets[mHistogram][mBucket]++;
+        mCounts[mHistogram]++;
+        mSums[mHistogram] += mValue;
+        if (mValue > mMax[mHistogram]) mMax[mHistogram] = mValue;
+    }
+
+    /**
+     * Increments a counter.
+     */
+    void Increment(int mCounter) {
+        mCounters[mCounter]++;
+    }
+
+    /**
+     * Gets a counter value (COUNTER_*).
+     */
+    public long getCounter(int mCounter) {
+        return mCounters[mCounter];
+    }
+
+    /**
+     * Gets the number of samples in a histogram (HISTOGRAM_*).
+     */
+    public long getCount(int mHistogram) {
+        return mCounts[mHistogram];
+    }
+
+    /**
+     * Gets the sum of all samples in a histogram.
+     */
+    public long getSum(int mHistogram) {
+        return mSums[mHistogram];
+    }
+
+    /**
+     * Gets the largest sample in a histogram.
+     */
+    public long getMax(int mHistogram) {
+        return mMax[mHistogram];
+    }
+
+    /**
+     * Gets the mean of a histogram, 0 without samples.
+     */
+    public double getMean(int mHistogram) {
+        return mCounts[mHistogram] == 0L ? 0d : mSums[mHistogram] / (double) mCounts[mHistogram];
+    }
+
+    /**
+     * Gets an upper-bound estimate of a percentile: the upper bound of the bucket it falls in.
+     *
+     * @param mHistogram  HISTOGRAM_*
+     * @param mPercentile Percentile in 0..100
+     */
+    public long getPercentile(int mHistogram, double mPercentile) {
+        long mCount = mCounts[mHistogram];
+        if (mCount == 0L) return 0L;
+        long mRank = (long) Math.ceil(Math.max(0d, Math.min(100d, mPercentile)) / 100d * mCount);
+        long mSeen = 0L;
+        for (int mBucket = 0; mBucket < BUCKET_COUNT; mBucket++) {
+            mSeen += mBuckets[mHistogram][mBucket];
+            if (mSeen >= Math.max(1L, mRank)) return Math.min(getBucketUpperBound(mBucket), mMax[mHistogram]);
+        }
+        return mMax[mHistogram];
+    }
+
+    /**
+     * Gets a copy of a histogram's bucket counts.
+     */
+    @NonNull
+    public long[] getBuckets(int mHistogram) {
+        return mBuckets[mHistogram].clone();
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket.
+     */
+    public static long getBucketUpperBound(int mBucket) {
+        if (mBucket <= 0) return 0L;
+        if (mBucket >= BUCKET_COUNT - 1) return Long.MAX_VALUE;
+        return (1L << mBucket) - 1L;
+    }
+
+    /**
+     * Clears every histogram and counter.
+     */
+    public void reset() {
+        for (int mHistogram = 0; mHistogram < HISTOGRAM_COUNT; mHistogram++) {
+            Arrays.fill(mBuckets[mHistogram], 0L);
+        }
+        Arrays.fill(mCounts, 0L);
+        Arrays.fill(mSums, 0L);
+        Arrays.fill(mMax, 0L);
+        Arrays.fill(mCounters, 0L);
+    }
+}
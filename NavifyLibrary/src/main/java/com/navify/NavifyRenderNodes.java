@@ -0,0 +1,268 @@
+package com.navify;
+
+import android.graphics.Canvas;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+import androidx.annotation.RequiresApi;
+
+/**
+ * Retained RenderNodes used by Navify on API 29+ hardware canvases.
+ * <p>
+ * The bar (straight bar + bump), the selection circle and every item icon,
+ * label and badge live in their own node. Display lists are recorded only when
+ * content changes (setters, size, selection state). Animation frames only
+ * move, scale or fade the nodes.
+ * <p>
+ * The bar is recorded as one template (bump at x = 0, straight bar far past both
+ * sides) and moved with translationX. Splitting the straight bar from the bump
+ * would leave a visible shadow seam where the two shapes meet.
+ */
+@RequiresApi(api = Build.VERSION_CODES.Q)
+final class NavifyRenderNodes {
+    /**
+     * Owner view that provides the drawing routines
+     */
+    private final Navify mNavify;
+
+    /**
+     * Bar template node (moves with the bump)
+     */
+    private final RenderNode mBarNode = new RenderNode("NavifyBar");
+
+    /**
+     * Selection circle node (moves with the bump)
+     */
+    private final RenderNode mCircleNode = new RenderNode("NavifyCircle");
+
+    /**
+     * Icon node per item, recorded centered at the origin
+     */
+    private final RenderNode[] mIconNodes = new RenderNode[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Label node per item, recorded with its baseline at the origin
+     */
+    private final RenderNode[] mLabelNodes = new RenderNode[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Badge node per item, recorded centered at the origin
+     */
+    private final RenderNode[] mBadgeNodes = new RenderNode[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Selection state each icon node was recorded with (tint differs per state)
+     */
+    private final boolean[] mIconRecordedSelected = new boolean[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Selection state each label node was recorded with (size/color differ per state)
+     */
+    private final boolean[] mLabelRecordedSelected = new boolean[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Whether bar and circle need recording
+     */
+    private boolean mShapesDirty = true;
+
+    /**
+     * Whether each icon node needs recording
+     */
+    private final boolean[] mIconDirty = new boolean[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Whether each label node needs recording
+     */
+    private final boolean[] mLabelDirty = new boolean[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Whether each badge node needs recording
+     */
+    private final boolean[] mBadgeDirty = new boolean[Navify.NAVIFY_MAX_ITEMS_SIZE];
+
+    /**
+     * Size of the owner view
+     */
+    private int mWidth, mHeight;
+
+    NavifyRenderNodes(Navify mNavify) {
+        this.mNavify = mNavify;
+        for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            mIconNodes[mI] = CreateItemNode("NavifyIcon" + mI);
+            mLabelNodes[mI] = CreateItemNode("NavifyLabel" + mI);
+            mBadgeNodes[mI] = CreateItemNode("NavifyBadge" + mI);
+        }
+        MarkAllDirty();
+        mBarNode.setClipToBounds(false);
+        mCircleNode.setClipToBounds(false);
+    }
+
+    /**
+     * Node for a single item element; positioned purely by translation.
+     */
+    private static RenderNode CreateItemNode(String mName) {
+        RenderNode mNode = new RenderNode(mName);
+        mNode.setClipToBounds(false);
+        mNode.setHasOverlappingRendering(false);
+        mNode.setPivotX(0f);
+        mNode.setPivotY(0f);
+        return mNode;
+    }
+
+    /**
+     * Updates node bounds for a new view size and re-records everything.
+     */
+    void Resize(int mWidth, int mHeight) {
+        this.mWidth = Math.max(1, mWidth);
+        this.mHeight = Math.max(1, mHeight);
+        mBarNode.setPosition(0, 0, this.mWidth, this.mHeight);
+        mCircleNode.setPosition(0, 0, this.mWidth, this.mHeight);
+        for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            mIconNodes[mI].setPosition(0, 0, this.mWidth, this.mHeight);
+            mLabelNodes[mI].setPosition(0, 0, this.mWidth, this.mHeight);
+            mBadgeNodes[mI].setPosition(0, 0, this.mWidth, this.mHeight);
+        }
+        MarkAllDirty();
+    }
+
+    /**
+     * Forces every node to be recorded again on the next frame.
+     */
+    void MarkAllDirty() {
+        mShapesDirty = true;
+        for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            mIconDirty[mI] = true;
+            mLabelDirty[mI] = true;
+            mBadgeDirty[mI] = true;
+        }
+    }
+
+    /**
+     * Drops all display lists (detach); they are recorded again when drawn.
+     */
+    void Release() {
+        mBarNode.discardDisplayList();
+        mCircleNode.discardDisplayList();
+        for (int mI = 0; mI < Navify.NAVIFY_MAX_ITEMS_SIZE; mI++) {
+            mIconNodes[mI].discardDisplayList();
+            mLabelNodes[mI].discardDisplayList();
+            mBadgeNodes[mI].discardDisplayList();
+        }
+        MarkAllDirty();
+    }
+
+    /**
+     * Draws the bar with the bump centered at mCenterX.
+     */
+    void DrawBar(Canvas mCanvas, float mCenterX) {
+        RecordShapesIfNeeded();
+        mBarNode.setTranslationX(mCenterX);
+        mCanvas.drawRenderNode(mBarNode);
+    }
+
+    /**
+     * Draws the selection circle centered at mCenterX.
+     */
+    void DrawCircle(Canvas mCanvas, float mCenterX) {
+        RecordShapesIfNeeded();
+        mCircleNode.setTranslationX(mCenterX);
+        mCanvas.drawRenderNode(mCircleNode);
+    }
+
+    /**
+     * Draws an item icon centered at (mCenterX, mCenterY) with the given size and alpha.
+     */
+    void DrawItemIcon(Canvas mCanvas, int mIndex, boolean mSelected, float mCenterX, float mCenterY, float mSize, float mAlpha) {
+        RenderNode mNode = mIconNodes[mIndex];
+        float mRecordSize = mNavify.RenderNodeIconSize();
+        if (mIconDirty[mIndex] || mIconRecordedSelected[mIndex] != mSelected) {
+            int mHalf = Math.round(mRecordSize / 2f);
+            RecordingCanvas mRecordingCanvas = mNode.beginRecording(mWidth, mHeight);
+            try {
+                mNavify.DrawItemIcon(mRecordingCanvas, mIndex, mSelected, -mHalf, -mHalf, mHalf, mHalf, 255);
+            } finally {
+                mNode.endRecording();
+            }
+            mIconRecordedSelected[mIndex] = mSelected;
+            mIconDirty[mIndex] = false;
+        }
+
+        float mScale = mRecordSize > 0f ? mSize / mRecordSize : 1f;
+        mNode.setTranslationX(mCenterX);
+        mNode.setTranslationY(mCenterY);
+        mNode.setScaleX(mScale);
+        mNode.setScaleY(mScale);
+        mNode.setAlpha(mAlpha);
+        mCanvas.drawRenderNode(mNode);
+    }
+
+    /**
+     * Draws an item label with its baseline center at (mX, mY).
+     */
+    void DrawItemLabel(Canvas mCanvas, int mIndex, boolean mSelected, float mX, float mY) {
+        RenderNode mNode = mLabelNodes[mIndex];
+        if (mLabelDirty[mIndex] || mLabelRecordedSelected[mIndex] != mSelected) {
+            RecordingCanvas mRecordingCanvas = mNode.beginRecording(mWidth, mHeight);
+            try {
+                mNavify.DrawItemLabel(mRecordingCanvas, mIndex, mSelected, 0f, 0f);
+            } finally {
+                mNode.endRecording();
+            }
+            mLabelRecordedSelected[mIndex] = mSelected;
+            mLabelDirty[mIndex] = false;
+        }
+
+        mNode.setTranslationX(mX);
+        mNode.setTranslationY(mY);
+        mCanvas.drawRenderNode(mNode);
+    }
+
+    /**
+     * Draws an item badge centered at (mX, mY).
+     * <p>
+     * The badge is recorded once at full radius; the pop-in only scales the node.
+     */
+    void DrawItemBadge(Canvas mCanvas, int mIndex, float mX, float mY, float mBadgeRadius) {
+        RenderNode mNode = mBadgeNodes[mIndex];
+        float mFullRadius = mNavify.BadgeFullRadius();
+        if (mBadgeDirty[mIndex]) {
+            RecordingCanvas mRecordingCanvas = mNode.beginRecording(mWidth, mHeight);
+            try {
+                mNavify.DrawItemBadge(mRecordingCanvas, mIndex, 0f, 0f, mFullRadius);
+            } finally {
+                mNode.endRecording();
+            }
+            mBadgeDirty[mIndex] = false;
+        }
+
+        float mScale = mFullRadius > 0f ? mBadgeRadius / mFullRadius : 1f;
+        mNode.setTranslationX(mX);
+        mNode.setTranslationY(mY);
+        mNode.setScaleX(mScale);
+        mNode.setScaleY(mScale);
+        mCanvas.drawRenderNode(mNode);
+    }
+
+    /**
+     * Records bar template and circle after size/appearance changes.
+     */
+    private void RecordShapesIfNeeded() {
+        if (!mShapesDirty) return;
+
+        // The bar template already runs far past both sides, so translation covers the whole view
+        RecordingCanvas mBarCanvas = mBarNode.beginRecording(mWidth, mHeight);
+        try {
+            mNavify.DrawBarShape(mBarCanvas, 0f);
+        } finally {
+            mBarNode.endRecording();
+        }
+
+        RecordingCanvas mCircleCanvas = mCircleNode.beginRecording(mWidth, mHeight);
+        try {
+            mNavify.DrawSelectionCircle(mCircleCanvas, 0f);
+        } finally {
+            mCircleNode.endRecording();
+        }
+        mShapesDirty = false;
+    }
+}
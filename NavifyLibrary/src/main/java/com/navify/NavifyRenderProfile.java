@@ -0,0 +1,183 @@
+package com.navify;
+
+import android.animation.ValueAnimator;
+import android.app.ActivityManager;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.util.Log;
+import androidx.annotation.RequiresApi;
+
+/**
+ * Detects the rendering profile Navify should use on this device right now.
+ * <p>
+ * FULL draws everything. REDUCED is picked on low-RAM devices, in battery saver
+ * and from moderate thermal throttling: no shadows, fewer animated properties.
+ * STATIC is picked when animators are disabled (animator duration scale 0) or
+ * from severe thermal throttling: selections change state instantly.
+ * <p>
+ * While attached it listens for battery saver, thermal status (API 29+) and
+ * animator duration scale (API 33+) changes and reports them on the main
+ * thread, so the profile follows the device live.
+ */
+final class NavifyRenderProfile {
+    /**
+     * Main thread handler; listeners may be called on other threads
+     */
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Application context while attached, null otherwise
+     */
+    private Context mContext;
+
+    /**
+     * Called on the main thread when a detection input changed
+     */
+    private Runnable mOnChanged;
+
+    /**
+     * Battery saver receiver, registered while attached
+     */
+    private BroadcastReceiver mPowerSaveReceiver;
+
+    /**
+     * Thermal listener (API 29+), registered while attached
+     */
+    private Object mThermalListener;
+
+    /**
+     * Duration scale listener (API 33+), registered while attached
+     */
+    private Object mDurationScaleListener;
+
+    /**
+     * Starts listening for power state changes.
+     *
+     * @param mContext   Any context of the owner view
+     * @param mOnChanged Run on the main thread when the profile may have changed
+     */
+    void Attach(Context mContext, Runnable mOnChanged) {
+        if (this.mContext != null) return;
+        this.mContext = mContext.getApplicationContext();
+        this.mOnChanged = mOnChanged;
+
+        try {
+            mPowerSaveReceiver = new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context mReceiverContext, Intent mIntent) {
+                    Notify();
+                }
+            };
+            this.mContext.registerReceiver(mPowerSaveReceiver, new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+        } catch (RuntimeException mException) {
+            mPowerSaveReceiver = null;
+            Log.w("Navify", "Battery saver listener unavailable: " + mException.getMessage());
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mThermalListener = Thermal.Register(this.mContext, this::Notify);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            mDurationScaleListener = DurationScale.Register(this::Notify);
+        }
+    }
+
+    /**
+     * Stops listening; safe to call when not attached.
+     */
+    void Detach() {
+        if (mContext == null) return;
+        if (mPowerSaveReceiver != null) {
+            try {
+                mContext.unregisterReceiver(mPowerSaveReceiver);
+            } catch (RuntimeException ignored) {
+                // Already unregistered
+            }
+            mPowerSaveReceiver = null;
+        }
+        if (mThermalListener != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Thermal.Unregister(mContext, mThermalListener);
+        }
+        if (mDurationScaleListener != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            DurationScale.Unregister(mDurationScaleListener);
+        }
+        mThermalListener = null;
+        mDurationScaleListener = null;
+        mOnChanged = null;
+        mContext = null;
+    }
+
+    /**
+     * Detects the profile for the current device state.
+     *
+     * @param mContext Any context
+     * @return Navify.RENDER_PROFILE_FULL, RENDER_PROFILE_REDUCED or RENDER_PROFILE_STATIC
+     */
+    static int Detect(Context mContext) {
+        if (!ValueAnimator.areAnimatorsEnabled()) return Navify.RENDER_PROFILE_STATIC;
+
+        PowerManager mPowerManager = (PowerManager) mContext.getSystemService(Context.POWER_SERVICE);
+        if (mPowerManager != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            int mThermalStatus = mPowerManager.getCurrentThermalStatus();
+            if (mThermalStatus >= PowerManager.THERMAL_STATUS_SEVERE) return Navify.RENDER_PROFILE_STATIC;
+            if (mThermalStatus >= PowerManager.THERMAL_STATUS_MODERATE) return Navify.RENDER_PROFILE_REDUCED;
+        }
+        if (mPowerManager != null && mPowerManager.isPowerSaveMode()) return Navify.RENDER_PROFILE_REDUCED;
+
+        ActivityManager mActivityManager = (ActivityManager) mContext.getSystemService(Context.ACTIVITY_SERVICE);
+        if (mActivityManager != null && mActivityManager.isLowRamDevice()) return Navify.RENDER_PROFILE_REDUCED;
+
+        return Navify.RENDER_PROFILE_FULL;
+    }
+
+    /**
+     * Forwards a change to the owner on the main thread.
+     */
+    private void Notify() {
+        mMainHandler.post(() -> {
+            Runnable mCallback = mOnChanged;
+            if (mCallback != null) mCallback.run();
+        });
+    }
+
+    /**
+     * Thermal status listener access, isolated so older platforms never load it.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.Q)
+    private static final class Thermal {
+        static Object Register(Context mContext, Runnable mOnChanged) {
+            PowerManager mPowerManager = (PowerManager) mContext.getSystemService(Context.POWER_SERVICE);
+            if (mPowerManager == null) return null;
+            PowerManager.OnThermalStatusChangedListener mListener = mStatus -> mOnChanged.run();
+            mPowerManager.addThermalStatusListener(mListener);
+            return mListener;
+        }
+
+        static void Unregister(Context mContext, Object mListener) {
+            PowerManager mPowerManager = (PowerManager) mContext.getSystemService(Context.POWER_SERVICE);
+            if (mPowerManager == null) return;
+            mPowerManager.removeThermalStatusListener((PowerManager.OnThermalStatusChangedListener) mListener);
+        }
+    }
+
+    /**
+     * Animator duration scale listener access, isolated so older platforms never load it.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.TIRAMISU)
+    private static final class DurationScale {
+        static Object Register(Runnable mOnChanged) {
+            ValueAnimator.DurationScaleChangeListener mListener = mScale -> mOnChanged.run();
+            return ValueAnimator.registerDurationScaleChangeListener(mListener) ? mListener : null;
+        }
+
+        static void Unregister(Object mListener) {
+            ValueAnimator.unregisterDurationScaleChangeListener((ValueAnimator.DurationScaleChangeListener) mListener);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.navify;
+
+import android.graphics.Bitmap;
+import android.graphics.BlurMaskFilter;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+/**
+ * Pre-rasterized shadows for the Navify bar and selection circle.
+ * <p>
+ * The straight bar edge, the bump silhouette and the circle are blurred once
+ * into ALPHA_8 bitmaps. Frames only blit them, so the blur is no longer
+ * recomputed on every onDraw. Bitmaps are rebuilt only when the key
+ * (size, elevation, color, density) passed to {@link #Update} changes.
+ */
+final class NavifyShadowCache {
+    /**
+     * Blurred straight top edge of the bar
+     */
+    private Bitmap mBarShadowBitmap;
+
+    /**
+     * Blurred bump silhouette, centered horizontally in the bitmap
+     */
+    private Bitmap mBumpShadowBitmap;
+
+    /**
+     * Blurred selection circle
+     */
+    private Bitmap mCircleShadowBitmap;
+
+    /**
+     * Paint used to blit the alpha bitmaps with the shadow color
+     */
+    private final Paint mBlitPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    /**
+     * Padding around the bar/bump shadow in pixels
+     */
+    private int mBarPadding;
+
+    /**
+     * Padding around the circle shadow in pixels
+     */
+    private int mCirclePadding;
+
+    /**
+     * Bar top Y the bar bitmaps were rendered for
+     */
+    private float mBarTopY;
+
+    /**
+     * Bump radius the bump bitmap was rendered for
+     */
+    private float mBumpRadius;
+
+    /**
+     * Circle radius the circle bitmap was rendered for
+     */
+    private float mCircleRadius;
+
+    /**
+     * Cache key: view width
+     */
+    private int mKeyWidth = -1;
+
+    /**
+     * Cache key: bar elevation
+     */
+    private float mKeyBarElevation = -1f;
+
+    /**
+     * Cache key: circle elevation
+     */
+    private float mKeyCircleElevation = -1f;
+
+    /**
+     * Cache key: shadow color
+     */
+    private int mKeyColor;
+
+    /**
+     * Cache key: screen density
+     */
+    private float mKeyDensity = -1f;
+
+    /**
+     * Rebuilds the shadow bitmaps if any part of the key changed.
+     *
+     * @param mWidth           View width
+     * @param mBarTopY         Top Y of the straight bar
+     * @param mBumpRadius      Total bump radius (circle radius + bump extra)
+     * @param mCircleRadius    Selection circle radius
+     * @param mBarElevation    Blur radius of the bar shadow
+     * @param mCircleElevation Blur radius of the circle shadow
+     * @param mColor           Shadow color
+     * @param mDensity         Screen density
+     * @return true if the bitmaps were rebuilt
+     */
+    boolean Update(int mWidth, float mBarTopY, float mBumpRadius, float mCircleRadius, float mBarElevation, float mCircleElevation, int mColor, float mDensity) {
+        if (mWidth <= 0 || mCircleRadius <= 0f) return false;
+
+        boolean mSameKey = mKeyWidth == mWidth && this.mBarTopY == mBarTopY && this.mBumpRadius == mBumpRadius && this.mCircleRadius == mCircleRadius && mKeyBarElevation == mBarElevation && mKeyCircleElevation == mCircleElevation && mKeyColor == mColor && mKeyDensity == mDensity;
+        if (mSameKey) return false;
+
+        Release();
+        mKeyWidth = mWidth;
+        this.mBarTopY = mBarTopY;
+        this.mBumpRadius = mBumpRadius;
+        this.mCircleRadius = mCircleRadius;
+        mKeyBarElevation = mBarElevation;
+        mKeyCircleElevation = mCircleElevation;
+        mKeyColor = mColor;
+        mKeyDensity = mDensity;
+        mBlitPaint.setColor(mColor);
+
+        if (mBarElevation > 0f) {
+            mBarPadding = BlurPadding(mBarElevation);
+            mBarShadowBitmap = RenderBarShadow(mWidth, mBarElevation);
+            mBumpShadowBitmap = RenderBumpShadow(mBarElevation);
+        }
+        if (mCircleElevation > 0f) {
+            mCirclePadding = BlurPadding(mCircleElevation);
+            mCircleShadowBitmap = RenderCircleShadow(mCircleElevation);
+        }
+        return true;
+    }
+
+    /**
+     * Draws the bar shadow with the bump centered at the given X.
+     *
+     * @param mCanvas  Canvas to draw on
+     * @param mCenterX Current bump center X
+     */
+    void DrawBar(Canvas mCanvas, float mCenterX) {
+        if (mBarShadowBitmap == null || mBumpShadowBitmap == null) return;
+
+        float mBumpLeft = mCenterX - mBumpShadowBitmap.getWidth() / 2f;
+        float mBumpRight = mBumpLeft + mBumpShadowBitmap.getWidth();
+        float mBarTop = mBarTopY - mBarPadding;
+        float mBarBottom = mBarTop + mBarShadowBitmap.getHeight();
+
+        // Straight edge left and right of the bump; the bump bitmap already holds the edge below it
+        int mSaveCount = mCanvas.save();
+        mCanvas.clipRect(0f, mBarTop, mBumpLeft, mBarBottom);
+        mCanvas.drawBitmap(mBarShadowBitmap, 0f, mBarTop, mBlitPaint);
+        mCanvas.restoreToCount(mSaveCount);
+
+        mSaveCount = mCanvas.save();
+        mCanvas.clipRect(mBumpRight, mBarTop, mKeyWidth, mBarBottom);
+        mCanvas.drawBitmap(mBarShadowBitmap, 0f, mBarTop, mBlitPaint);
+        mCanvas.restoreToCount(mSaveCount);
+
+        mCanvas.drawBitmap(mBumpShadowBitmap, mBumpLeft, mBarTopY - mBumpRadius - mBarPadding, mBlitPaint);
+    }
+
+    /**
+     * Draws the circle shadow centered at the given point.
+     *
+     * @param mCanvas  Canvas to draw on
+     * @param mCenterX Circle center X
+     * @param mCenterY Circle center Y
+     */
+    void DrawCircle(Canvas mCanvas, float mCenterX, float mCenterY) {
+        if (mCircleShadowBitmap == null) return;
+        float mOffset = mCircleRadius + mCirclePadding;
+        mCanvas.drawBitmap(mCircleShadowBitmap, mCenterX - mOffset, mCenterY - mOffset, mBlitPaint);
+    }
+
+    /**
+     * Frees all bitmaps and invalidates the key so the next {@link #Update} rebuilds.
+     */
+    void Release() {
+        if (mBarShadowBitmap != null) mBarShadowBitmap.recycle();
+        if (mBumpShadowBitmap != null) mBumpShadowBitmap.recycle();
+        if (mCircleShadowBitmap != null) mCircleShadowBitmap.recycle();
+        mBarShadowBitmap = null;
+        mBumpShadowBitmap = null;
+        mCircleShadowBitmap = null;
+        mKeyWidth = -1;
+    }
+
+    /**
+     * Straight edge strip: rows [barTop - padding, barTop + padding], full width.
+     */
+    private Bitmap RenderBarShadow(int mWidth, float mElevation) {
+        Bitmap mBitmap = Bitmap.createBitmap(mWidth, mBarPadding * 2, Bitmap.Config.ALPHA_8);
+        Canvas mCanvas = new Canvas(mBitmap);
+        // Rect runs past both sides and the bottom so only the top edge fades
+        mCanvas.drawRect(-mBarPadding * 2f, mBarPadding, mWidth + mBarPadding * 2f, mBarPadding * 4f, CreateBlurPaint(mElevation));
+        return mBitmap;
+    }
+
+    /**
+     * Bump silhouette merged with the straight edge below it, so it blends into the strip.
+     */
+    private Bitmap RenderBumpShadow(float mElevation) {
+        float mHalfSpan = mBumpRadius * 1.7f + mBarPadding;
+        int mWidth = (int) Math.ceil(mHalfSpan * 2f);
+        int mHeight = (int) Math.ceil(mBumpRadius) + mBarPadding * 2;
+        Bitmap mBitmap = Bitmap.createBitmap(mWidth, mHeight, Bitmap.Config.ALPHA_8);
+        Canvas mCanvas = new Canvas(mBitmap);
+
+        float mLocalBarTop = mBumpRadius + mBarPadding;
+        Path mPath = new Path();
+        mPath.moveTo(-mBarPadding * 2f, mLocalBarTop);
+        Navify.AppendBumpCurve(mPath, mWidth / 2f, mLocalBarTop, mBumpRadius);
+        mPath.lineTo(mWidth + mBarPadding * 2f, mLocalBarTop);
+        mPath.lineTo(mWidth + mBarPadding * 2f, mHeight + mBarPadding * 2f);
+        mPath.lineTo(-mBarPadding * 2f, mHeight + mBarPadding * 2f);
+        mPath.close();
+        mCanvas.drawPath(mPath, CreateBlurPaint(mElevation));
+        return mBitmap;
+    }
+
+    /**
+     * Circle with padding for the blur on every side.
+     */
+    private Bitmap RenderCircleShadow(float mElevation) {
+        int mSize = (int) Math.ceil((mCircleRadius + mCirclePadding) * 2f);
+        Bitmap mBitmap = Bitmap.createBitmap(mSize, mSize, Bitmap.Config.ALPHA_8);
+        Canvas mCanvas = new Canvas(mBitmap);
+        mCanvas.drawCircle(mCircleRadius + mCirclePadding, mCircleRadius + mCirclePadding, mCircleRadius, CreateBlurPaint(mElevation));
+        return mBitmap;
+    }
+
+    /**
+     * Opaque paint blurred like setShadowLayer with the given radius.
+     */
+    private static Paint CreateBlurPaint(float mElevation) {
+        Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mPaint.setStyle(Paint.Style.FILL);
+        mPaint.setColor(0xFF000000);
+        mPaint.setMaskFilter(new BlurMaskFilter(mElevation, BlurMaskFilter.Blur.NORMAL));
+        return mPaint;
+    }
+
+    /**
+     * Room the blur needs around a shape (roughly three sigma).
+     */
+    private static int BlurPadding(float mElevation) {
+        return (int) Math.ceil(mElevation * 2f) + 1;
+    }
+}
@@ -0,0 +1,68 @@
+package com.navify;
+
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Optional android.os.Trace sections for Navify.
+ * <p>
+ * Sections appear in Perfetto / systrace captures under "Navify.*". While
+ * tracing is disabled (the default) every call site costs one static field
+ * read. Begin returns whether a section was opened and End only closes it in
+ * that case, so toggling at runtime never unbalances the section stack. Async
+ * slices (API 29+) span whole selection transitions across frames.
+ */
+final class NavifyTrace {
+    /**
+     * Whether sections are emitted; switched by Navify.setTraceEnabled
+     */
+    static volatile boolean sEnabled = false;
+
+    private NavifyTrace() {
+    }
+
+    /**
+     * Opens a synchronous section on the current thread.
+     *
+     * @param mName Section name
+     * @return true if a section was opened (pass to {@link #End})
+     */
+    static boolean Begin(String mName) {
+        if (!sEnabled) return false;
+        Trace.beginSection(mName);
+        return true;
+    }
+
+    /**
+     * Closes the section opened by the matching {@link #Begin}.
+     *
+     * @param mStarted Value returned by Begin
+     */
+    static void End(boolean mStarted) {
+        if (mStarted) Trace.endSection();
+    }
+
+    /**
+     * Opens an async slice that may end on a later frame (API 29+).
+     *
+     * @param mName   Slice name
+     * @param mCookie Identifies the slice among concurrent ones with the same name
+     * @return true if a slice was opened (pass to {@link #EndAsync})
+     */
+    static boolean BeginAsync(String mName, int mCookie) {
+        if (!sEnabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) return false;
+        Trace.beginAsyncSection(mName, mCookie);
+        return true;
+    }
+
+    /**
+     * Closes an async slice opened by {@link #BeginAsync}.
+     *
+     * @param mStarted Value returned by BeginAsync
+     * @param mName    Slice name
+     * @param mCookie  Cookie passed to BeginAsync
+     */
+    static void EndAsync(boolean mStarted, String mName, int mCookie) {
+        if (mStarted && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) Trace.endAsyncSection(mName, mCookie);
+    }
+}
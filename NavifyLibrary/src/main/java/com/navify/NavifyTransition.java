@@ -0,0 +1,197 @@
+package com.navify;
+
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.view.Choreographer;
+import com.navify.core.NavifyTimeline;
+
+/**
+ * Single reusable selection transition for Navify, driven by Choreographer.
+ * <p>
+ * Once per vsync the timeline (navify-core) is advanced and the circle X and
+ * one item progress value are handed to
+ * {@link Navify#ApplyTransitionFrame(float, float)}, which derives icon sizes,
+ * icon alpha and label alpha/offset from the progress and invalidates once.
+ * Starting a transition allocates nothing; the instance and its frame
+ * callback are reused for every selection. Honors the system animator
+ * duration scale.
+ * <p>
+ * Two modes are supported:
+ * <ul>
+ * <li>Timed: progress follows an interpolator over a fixed duration.</li>
+ * <li>Spring: the circle X and the item progress are damped springs. A retarget
+ * while running keeps the circle's position and velocity, so rapid switching
+ * never restarts the circle's motion.</li>
+ * </ul>
+ */
+final class NavifyTransition implements Choreographer.FrameCallback {
+    /**
+     * Owner view receiving frames
+     */
+    private final Navify mNavify;
+
+    /**
+     * Platform-free timeline: progress, spring state and frame stats
+     */
+    private final NavifyTimeline mTimeline = new NavifyTimeline();
+
+    /**
+     * Main thread choreographer, resolved on first start
+     */
+    private Choreographer mChoreographer;
+
+    /**
+     * Curve applied to the linear progress (timed mode)
+     */
+    private TimeInterpolator mInterpolator;
+
+    /**
+     * Whether a transition is in flight
+     */
+    private boolean mRunning = false;
+
+    /**
+     * Whether frames are driven by the caller instead of Choreographer
+     */
+    private boolean mManualFrames = false;
+
+    NavifyTransition(Navify mNavify) {
+        this.mNavify = mNavify;
+    }
+
+    /**
+     * Starts (or retargets) a timed transition. Must be called on the main thread.
+     * <p>
+     * A retarget restarts the timeline from the given start X.
+     *
+     * @param mStartX       Circle X at the start
+     * @param mEndX         Circle X at the end
+     * @param mDurationMs   Duration in milliseconds
+     * @param mInterpolator Curve applied to the progress
+     */
+    void Start(float mStartX, float mEndX, long mDurationMs, TimeInterpolator mInterpolator) {
+        Prepare();
+        this.mInterpolator = mInterpolator;
+        mTimeline.StartTimed(mStartX, mEndX, mDurationMs, ValueAnimator.getDurationScale());
+        Post();
+    }
+
+    /**
+     * Starts a spring transition, or retargets the running one.
+     * <p>
+     * If a spring transition is already running, the circle keeps its current
+     * position and velocity and only its target changes; the item progress
+     * restarts from 0 because it belongs to the newly animated items.
+     *
+     * @param mStartX       Circle X to start from when not already running
+     * @param mEndX         Circle target X
+     * @param mStiffness    Spring stiffness (higher is faster)
+     * @param mDampingRatio Damping ratio (1 is critically damped, lower bounces)
+     */
+    void StartSpring(float mStartX, float mEndX, float mStiffness, float mDampingRatio) {
+        Prepare();
+        mTimeline.StartSpring(mStartX, mEndX, mStiffness, mDampingRatio, ValueAnimator.getDurationScale(), mRunning);
+        Post();
+    }
+
+    /**
+     * Stops the transition without delivering the final frame.
+     */
+    void Cancel() {
+        if (!mRunning) return;
+        mRunning = false;
+        if (mChoreographer != null) {
+            mChoreographer.removeFrameCallback(this);
+        }
+    }
+
+    /**
+     * Whether a transition is in flight.
+     */
+    boolean IsRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Sets the expected frame interval used to estimate dropped frames.
+     */
+    void SetFrameBudget(long mFrameBudgetNanos) {
+        mTimeline.SetFrameBudget(mFrameBudgetNanos);
+    }
+
+    /**
+     * Lets the caller drive frames through {@link #doFrame} with its own clock
+     * (tests and benchmarks). Switch only while no transition is running.
+     */
+    void SetManualFrames(boolean mManualFrames) {
+        this.mManualFrames = mManualFrames;
+    }
+
+    /**
+     * Clears the frame stats, for selections settled without running a transition.
+     */
+    void ResetFrameStats() {
+        mTimeline.ResetFrameStats();
+    }
+
+    /**
+     * Frames rendered by the current (or last) transition.
+     */
+    int Frames() {
+        return mTimeline.Frames();
+    }
+
+    /**
+     * Frames dropped by the current (or last) transition, estimated from vsync gaps.
+     */
+    int DroppedFrames() {
+        return mTimeline.DroppedFrames();
+    }
+
+    @Override
+    public void doFrame(long mFrameTimeNanos) {
+        if (!mRunning) return;
+
+        // Selections coalesced since the last frame retarget this transition before it advances
+        mNavify.ApplyPendingSelection();
+        if (!mRunning) return;
+
+        boolean mDone = mTimeline.Advance(mFrameTimeNanos);
+        if (mTimeline.IsSpring()) {
+            mNavify.ApplyTransitionFrame(mTimeline.CircleX(), mTimeline.Progress());
+        } else {
+            float mLinear = mTimeline.Progress();
+            float mFraction = mInterpolator != null ? mInterpolator.getInterpolation(mLinear) : mLinear;
+            mNavify.ApplyTransitionFrame(mTimeline.CircleXAt(mFraction), mFraction);
+        }
+
+        if (mDone) {
+            mRunning = false;
+            mNavify.FinishTransition();
+        } else if (!mManualFrames) {
+            mChoreographer.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Resolves the choreographer.
+     */
+    private void Prepare() {
+        if (mChoreographer == null) {
+            mChoreographer = Choreographer.getInstance();
+        }
+    }
+
+    /**
+     * Marks the transition running and schedules the next frame.
+     * <p>
+     * A running transition already has a frame scheduled (or is inside doFrame, which
+     * reschedules), so a restart or retarget never posts a second callback.
+     */
+    private void Post() {
+        if (mRunning) return;
+        mRunning = true;
+        mTimeline.ResetFrameStats();
+        if (!mManualFrames) mChoreographer.postFrameCallback(this);
+    }
+}
@@ -0,0 +1,35 @@
+package com.navify;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background thread shared by all Navify instances.
+ * <p>
+ * Label shaping and lazy icon resolution both run here. Their jobs are short
+ * and handed back to the main thread through the owner view, so one daemon
+ * thread serves every bar; jobs run in submission order.
+ */
+final class NavifyWorker {
+    /**
+     * Lazily created worker
+     */
+    private static ExecutorService sExecutor;
+
+    private NavifyWorker() {
+    }
+
+    /**
+     * Lazily created daemon worker.
+     */
+    static synchronized ExecutorService Executor() {
+        if (sExecutor == null) {
+            sExecutor = Executors.newSingleThreadExecutor(mRunnable -> {
+                Thread mThread = new Thread(mRunnable, "NavifyWorker");
+                mThread.setDaemon(true);
+                return mThread;
+            });
+        }
+        return sExecutor;
+    }
+}
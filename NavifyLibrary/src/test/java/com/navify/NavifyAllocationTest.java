@@ -0,0 +1,193 @@
+package com.navify;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.Drawable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * Frames must not allocate, settled or mid-transition.
+ * <p>
+ * Each frame advances the transition on the manual clock and draws the bar
+ * into an offscreen software canvas; the bytes this thread allocated over
+ * many such frames must be zero. The same frames run first with their bytes
+ * discarded, so lazily built caches (label layouts, badge text, shaders),
+ * the allocation counter and the JIT settle before measuring.
+ * <p>
+ * Robolectric's stand-ins for View.draw, View.invalidate, View.requestLayout
+ * and Drawable.invalidateSelf allocate on every call, so frames call onDraw
+ * directly, transitions use icons that invalidate without the stand-in, and
+ * the frame that settles a selection (which requests a layout) runs unmeasured.
+ * Robolectric also links its call sites lazily, which can allocate once in an
+ * otherwise clean round, so each case keeps its smallest of a few rounds; a
+ * real per-frame allocation shows in every round.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, qualifiers = "w411dp-h891dp-xxhdpi")
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class NavifyAllocationTest {
+    /**
+     * Items per bar
+     */
+    private static final int NAVIFY_ALLOC_ITEMS = 5;
+
+    /**
+     * Frames drawn before measuring
+     */
+    private static final int NAVIFY_ALLOC_WARMUP_FRAMES = 2_000;
+
+    /**
+     * Frames drawn per measurement
+     */
+    private static final int NAVIFY_ALLOC_FRAMES = 500;
+
+    /**
+     * Measured rounds per case at most, stopping at the first clean one
+     */
+    private static final int NAVIFY_ALLOC_ROUNDS = 3;
+
+    /**
+     * Allocation counter, looked up once because the lookup itself allocates
+     */
+    private static final ThreadMXBean NAVIFY_ALLOC_THREADS = ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void settledFrames_doNotAllocate() {
+        for (int mLabelMode : new int[]{Navify.NAVIFY_SELECTED, Navify.NAVIFY_LABELED, Navify.NAVIFY_UNLABELED}) {
+            Navify mNavify = NavifyTestHarness.Inflate(NAVIFY_ALLOC_ITEMS, mLabelMode, true, false, false);
+            Canvas mCanvas = NewCanvas(mNavify);
+            RunSettledFrames(mNavify, mCanvas, NAVIFY_ALLOC_WARMUP_FRAMES);
+
+            long mAllocated = Long.MAX_VALUE;
+            for (int mRound = 0; mRound < NAVIFY_ALLOC_ROUNDS && mAllocated != 0L; mRound++) {
+                mAllocated = Math.min(mAllocated, RunSettledFrames(mNavify, mCanvas, NAVIFY_ALLOC_FRAMES));
+            }
+            assertEquals("Bytes allocated by " + NAVIFY_ALLOC_FRAMES + " settled frames, label mode " + mLabelMode, 0L, mAllocated);
+        }
+    }
+
+    @Test
+    public void transitionFrames_doNotAllocate() {
+        for (int mInterpolator : new int[]{Navify.FAST_OUT_SLOW_IN, Navify.SPRING}) {
+            for (boolean mRTL : new boolean[]{false, true}) {
+                Drawable[] mIcons = new Drawable[NAVIFY_ALLOC_ITEMS];
+                for (int mI = 0; mI < NAVIFY_ALLOC_ITEMS; mI++) mIcons[mI] = new PlainIcon();
+                Navify mNavify = NavifyTestHarness.Inflate(NAVIFY_ALLOC_ITEMS, Navify.NAVIFY_SELECTED, true, mRTL, false, null, mIcons);
+                mNavify.setItemCircleAnimationInterpolator(mInterpolator);
+                Canvas mCanvas = NewCanvas(mNavify);
+                long[] mClock = {0L};
+                RunTransitionFrames(mNavify, mCanvas, mClock, NAVIFY_ALLOC_WARMUP_FRAMES);
+
+                long mAllocated = Long.MAX_VALUE;
+                for (int mRound = 0; mRound < NAVIFY_ALLOC_ROUNDS && mAllocated != 0L; mRound++) {
+                    mAllocated = Math.min(mAllocated, RunTransitionFrames(mNavify, mCanvas, mClock, NAVIFY_ALLOC_FRAMES));
+                }
+                assertEquals("Bytes allocated by " + NAVIFY_ALLOC_FRAMES + " transition frames, interpolator " + mInterpolator + (mRTL ? ", RTL" : ""), 0L, mAllocated);
+            }
+        }
+    }
+
+    /**
+     * Draws settled frames.
+     *
+     * @return Bytes allocated by the frames
+     */
+    private static long RunSettledFrames(Navify mNavify, Canvas mCanvas, int mFrames) {
+        long mStart = AllocatedBytes();
+        for (int mFrame = 0; mFrame < mFrames; mFrame++) {
+            mNavify.onDraw(mCanvas);
+        }
+        return AllocatedBytes() - mStart;
+    }
+
+    /**
+     * Draws transition frames, starting a new selection whenever one settles.
+     * <p>
+     * Only running frames are measured; starting a selection and the frame
+     * that settles it run outside the measurement.
+     *
+     * @return Bytes allocated by the running frames
+     */
+    private static long RunTransitionFrames(Navify mNavify, Canvas mCanvas, long[] mClock, int mFrames) {
+        long mAllocated = 0L;
+        boolean mRunning = false;
+        for (int mFrame = 0; mFrame < mFrames; mFrame++) {
+            if (!mRunning) {
+                mNavify.setItemSelectedIndex((mNavify.getItemSelectedIndex() + 2) % NAVIFY_ALLOC_ITEMS);
+            }
+            mClock[0] += NavifyTestHarness.FRAME_NANOS;
+            long mStart = AllocatedBytes();
+            mRunning = mNavify.DriveTransitionFrame(mClock[0]);
+            if (!mRunning) continue;
+            mNavify.onDraw(mCanvas);
+            mAllocated += AllocatedBytes() - mStart;
+        }
+        return mAllocated;
+    }
+
+    /**
+     * Offscreen canvas the size of the bar.
+     */
+    private static Canvas NewCanvas(Navify mNavify) {
+        return new Canvas(Bitmap.createBitmap(mNavify.getWidth(), mNavify.getHeight(), Bitmap.Config.ARGB_8888));
+    }
+
+    /**
+     * Bytes allocated by this thread so far; skips the test when the JVM cannot tell.
+     */
+    private static long AllocatedBytes() {
+        assumeTrue("Thread allocation counting unavailable", NAVIFY_ALLOC_THREADS instanceof com.sun.management.ThreadMXBean);
+        return ((com.sun.management.ThreadMXBean) NAVIFY_ALLOC_THREADS).getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Square icon that invalidates its callback directly instead of through
+     * Robolectric's Drawable stand-in, so moving it stays allocation free.
+     */
+    private static final class PlainIcon extends Drawable {
+        private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+        @Override
+        public void draw(Canvas mCanvas) {
+            mCanvas.drawRect(getBounds(), mPaint);
+        }
+
+        @Override
+        public void invalidateSelf() {
+            Callback mCallback = getCallback();
+            if (mCallback != null) mCallback.invalidateDrawable(this);
+        }
+
+        @Override
+        public void setTint(int mTint) {
+            mPaint.setColor((mTint & 0x00FFFFFF) | (mPaint.getAlpha() << 24));
+        }
+
+        @Override
+        public void setAlpha(int mAlpha) {
+            mPaint.setAlpha(mAlpha);
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter mColorFilter) {
+            mPaint.setColorFilter(mColorFilter);
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.navify;
+
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import com.navify.core.NavifyBumpGeometry;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+import org.robolectric.util.ReflectionHelpers;
+
+/**
+ * Bar background cost: per-frame path rebuild versus the translated template.
+ * <p>
+ * The rebuild variant is the bar drawing Navify used before the templates:
+ * every frame resets one path, walks moveTo / lineTo / two cubicTo / lineTo
+ * and close for the bump at the frame's center, then fills it. The template
+ * variant is {@link Navify#DrawBarShape}, which only translates the canvas
+ * over the path built once. Both fill with the view's own background paint
+ * and geometry, under the REDUCED profile so no shadow is drawn by either.
+ * <p>
+ * Run with {@code ./gradlew :NavifyLibrary:navifyRenderBenchmark} next to the
+ * render benchmark. Results go to bar-path.json beside the render results; the
+ * run fails if the template is slower than the rebuild beyond the threshold.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, qualifiers = "w411dp-h891dp-xxhdpi")
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class NavifyBarPathBenchmark {
+    /**
+     * Frames run before measuring each variant
+     */
+    private static final int NAVIFY_BAR_WARMUP_FRAMES = 2_000;
+
+    /**
+     * Frames per measured batch
+     */
+    private static final int NAVIFY_BAR_BATCH_FRAMES = 200;
+
+    /**
+     * Measured batches per variant (odd)
+     */
+    private static final int NAVIFY_BAR_BATCHES = 25;
+
+    /**
+     * Bump center step per frame, in view widths
+     */
+    private static final float NAVIFY_BAR_CENTER_STEP = 0.013f;
+
+    /**
+     * Thread clocks, looked up once because the lookup itself allocates
+     */
+    private static final ThreadMXBean NAVIFY_BAR_THREADS = ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void barPathBenchmark() throws IOException, JSONException {
+        Navify mNavify = NavifyTestHarness.Inflate(5, Navify.NAVIFY_SELECTED, false, false, false);
+        mNavify.setRenderProfile(Navify.RENDER_PROFILE_REDUCED);
+        NavifyTestHarness.Settle();
+        Canvas mCanvas = new Canvas(Bitmap.createBitmap(mNavify.getWidth(), mNavify.getHeight(), Bitmap.Config.ARGB_8888));
+        LegacyBar mLegacy = new LegacyBar(mNavify);
+
+        JSONObject mResults = new JSONObject();
+        mResults.put("rebuild", Measure(mNavify.getWidth(), mCenterX -> mLegacy.Draw(mCanvas, mCenterX)));
+        mResults.put("template", Measure(mNavify.getWidth(), mCenterX -> mNavify.DrawBarShape(mCanvas, mCenterX)));
+
+        File mResultsFile = new File(new File(System.getProperty("navify.benchmark.results", "build/reports/navify-benchmark/render.json")).getAbsoluteFile().getParentFile(), "bar-path.json");
+        File mParent = mResultsFile.getParentFile();
+        if (!mParent.isDirectory() && !mParent.mkdirs()) throw new IOException("Cannot create " + mParent);
+        Files.write(mResultsFile.toPath(), mResults.toString(2).getBytes(StandardCharsets.UTF_8));
+
+        double mThreshold = Double.parseDouble(System.getProperty("navify.benchmark.threshold", "0.25"));
+        long mRebuild = mResults.getJSONObject("rebuild").getLong("frameNanosMedian");
+        long mTemplate = mResults.getJSONObject("template").getLong("frameNanosMedian");
+        assertTrue("Template bar " + mTemplate + " ns/frame vs rebuild " + mRebuild + " ns/frame", mTemplate <= mRebuild * (1d + mThreshold));
+    }
+
+    /**
+     * One way of drawing the bar with the bump at a given center.
+     */
+    private interface BarDraw {
+        void Draw(float mCenterX);
+    }
+
+    /**
+     * Runs a variant with the bump sweeping across the view.
+     *
+     * @return Median and best batch time per frame, and bytes allocated per frame
+     */
+    private static JSONObject Measure(int mWidth, BarDraw mDraw) throws JSONException {
+        float mCenterX = 0f;
+        float mStep = mWidth * NAVIFY_BAR_CENTER_STEP;
+        for (int mFrame = 0; mFrame < NAVIFY_BAR_WARMUP_FRAMES; mFrame++) {
+            mCenterX = mCenterX + mStep > mWidth ? 0f : mCenterX + mStep;
+            mDraw.Draw(mCenterX);
+        }
+
+        long[] mBatchNanos = new long[NAVIFY_BAR_BATCHES];
+        long mAllocated = 0L;
+        for (int mBatch = 0; mBatch < NAVIFY_BAR_BATCHES; mBatch++) {
+            long mAllocStart = AllocatedBytes();
+            long mStart = CpuNanos();
+            for (int mFrame = 0; mFrame < NAVIFY_BAR_BATCH_FRAMES; mFrame++) {
+                mCenterX = mCenterX + mStep > mWidth ? 0f : mCenterX + mStep;
+                mDraw.Draw(mCenterX);
+            }
+            mBatchNanos[mBatch] = (CpuNanos() - mStart) / NAVIFY_BAR_BATCH_FRAMES;
+            mAllocated += AllocatedBytes() - mAllocStart;
+        }
+        Arrays.sort(mBatchNanos);
+
+        JSONObject mResult = new JSONObject();
+        mResult.put("frameNanosMedian", mBatchNanos[NAVIFY_BAR_BATCHES / 2]);
+        mResult.put("frameNanosBest", mBatchNanos[0]);
+        mResult.put("allocBytesPerFrame", mAllocated / ((long) NAVIFY_BAR_BATCHES * NAVIFY_BAR_BATCH_FRAMES));
+        return mResult;
+    }
+
+    /**
+     * The per-frame path rebuild Navify drew the bar with before the templates.
+     */
+    private static final class LegacyBar {
+        private final Path mPath = new Path();
+        private final float[] mPoints = new float[NavifyBumpGeometry.POINTS_SIZE];
+        private final Paint mPaint;
+        private final float mBarTopY, mBumpTotalRadius;
+        private final int mWidth, mHeight;
+
+        LegacyBar(Navify mNavify) {
+            mPaint = ReflectionHelpers.getField(mNavify, "mBackgroundPaint");
+            mBarTopY = ReflectionHelpers.<Float>getField(mNavify, "mBarTopY");
+            mBumpTotalRadius = ReflectionHelpers.<Float>getField(mNavify, "mCircleRadius") + ReflectionHelpers.<Float>getField(mNavify, "mBumpExtraPx");
+            mWidth = mNavify.getWidth();
+            mHeight = mNavify.getHeight();
+        }
+
+        void Draw(Canvas mCanvas, float mCenterX) {
+            mPath.reset();
+            mPath.moveTo(0f, mBarTopY);
+            NavifyBumpGeometry.Compute(mPoints, mCenterX, mBarTopY, mBumpTotalRadius);
+            mPath.lineTo(mPoints[0], mPoints[1]);
+            mPath.cubicTo(mPoints[2], mPoints[3], mPoints[4], mPoints[5], mPoints[6], mPoints[7]);
+            mPath.cubicTo(mPoints[8], mPoints[9], mPoints[10], mPoints[11], mPoints[12], mPoints[13]);
+            mPath.lineTo(mWidth, mBarTopY);
+            mPath.lineTo(mWidth, mHeight);
+            mPath.lineTo(0f, mHeight);
+            mPath.close();
+            mCanvas.drawPath(mPath, mPaint);
+        }
+    }
+
+    /**
+     * CPU time of this thread, wall time when the JVM cannot measure it.
+     */
+    private static long CpuNanos() {
+        return NAVIFY_BAR_THREADS.isCurrentThreadCpuTimeSupported() ? NAVIFY_BAR_THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    /**
+     * Bytes allocated by this thread so far, 0 when the JVM cannot tell.
+     */
+    private static long AllocatedBytes() {
+        if (NAVIFY_BAR_THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) NAVIFY_BAR_THREADS).getCurrentThreadAllocatedBytes();
+        }
+        return 0L;
+    }
+}
@@ -0,0 +1,179 @@
+package com.navify;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * Golden-image tests guarding Navify's rendering.
+ * <p>
+ * Each case renders a bar offscreen under Robolectric native graphics and
+ * compares it pixel by pixel with a checked-in PNG in src/test/golden. A pixel
+ * differs when any channel is off by more than the channel tolerance; a case
+ * fails when more pixels differ than allowed. Failures write the actual image
+ * and a diff mask to build/reports/navify-golden.
+ * <p>
+ * The matrix covers item counts, label modes, RTL, badges, bold labels and
+ * mid-transition frames at fixed progress values, seeked on the manual
+ * transition clock so they are reproducible.
+ * <p>
+ * Record or refresh goldens with {@code ./gradlew :NavifyLibrary:testReleaseUnitTest -PnavifyGoldenRecord}.
+ * A case without a golden fails outside record mode.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(sdk = 34, qualifiers = "w411dp-h891dp-xxhdpi")
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class NavifyGoldenImageTest {
+    /**
+     * Progress value of cases rendered in the settled state
+     */
+    private static final float NAVIFY_GOLDEN_SETTLED = -1f;
+
+    /**
+     * Label modes and their case names
+     */
+    private static final int[] NAVIFY_GOLDEN_LABEL_MODES = {Navify.NAVIFY_SELECTED, Navify.NAVIFY_LABELED, Navify.NAVIFY_UNLABELED};
+    private static final String[] NAVIFY_GOLDEN_LABEL_NAMES = {"selected", "labeled", "unlabeled"};
+
+    private final String mName;
+    private final int mItemCount;
+    private final int mLabelMode;
+    private final boolean mBadges;
+    private final boolean mRTL;
+    private final boolean mBold;
+    private final float mProgress;
+
+    public NavifyGoldenImageTest(String mName, int mItemCount, int mLabelMode, boolean mBadges, boolean mRTL, boolean mBold, float mProgress) {
+        this.mName = mName;
+        this.mItemCount = mItemCount;
+        this.mLabelMode = mLabelMode;
+        this.mBadges = mBadges;
+        this.mRTL = mRTL;
+        this.mBold = mBold;
+        this.mProgress = mProgress;
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0}")
+    public static Collection<Object[]> Cases() {
+        List<Object[]> mCases = new ArrayList<>();
+
+        // Settled bars: item counts x label modes x direction
+        for (int mItems : new int[]{1, 3, 5}) {
+            for (int mLabel = 0; mLabel < NAVIFY_GOLDEN_LABEL_MODES.length; mLabel++) {
+                for (boolean mRTL : new boolean[]{false, true}) {
+                    AddCase(mCases, mItems, mLabel, false, mRTL, false, NAVIFY_GOLDEN_SETTLED);
+                }
+            }
+        }
+
+        // Badges and bold labels
+        for (boolean mRTL : new boolean[]{false, true}) {
+            AddCase(mCases, 5, 1, true, mRTL, false, NAVIFY_GOLDEN_SETTLED);
+            AddCase(mCases, 5, 1, false, mRTL, true, NAVIFY_GOLDEN_SETTLED);
+            AddCase(mCases, 5, 1, true, mRTL, true, NAVIFY_GOLDEN_SETTLED);
+        }
+
+        // Mid-transition frames from the first to the last item
+        for (int mItems : new int[]{3, 5}) {
+            for (int mLabel = 0; mLabel < NAVIFY_GOLDEN_LABEL_MODES.length; mLabel++) {
+                for (float mProgress : new float[]{0.25f, 0.5f, 0.75f}) {
+                    AddCase(mCases, mItems, mLabel, mItems == 5, false, false, mProgress);
+                }
+            }
+        }
+        AddCase(mCases, 5, 0, true, true, false, 0.5f);
+        return mCases;
+    }
+
+    @Test
+    public void matchesGolden() throws IOException {
+        Navify mNavify = NavifyTestHarness.Inflate(mItemCount, mLabelMode, mBadges, mRTL, mBold);
+        if (mProgress != NAVIFY_GOLDEN_SETTLED) {
+            NavifyTestHarness.SeekTransition(mNavify, mItemCount - 1, mProgress, NavifyTestHarness.FRAME_NANOS);
+        }
+        Bitmap mActual = NavifyTestHarness.Render(mNavify);
+
+        File mGolden = new File(System.getProperty("navify.golden.dir", "src/test/golden"), mName + ".png");
+        if (Boolean.getBoolean("navify.golden.record")) {
+            WritePng(mActual, mGolden);
+            return;
+        }
+        assertTrue("No golden for " + mName + " (record with -PnavifyGoldenRecord)", mGolden.isFile());
+
+        Bitmap mExpected = BitmapFactory.decodeFile(mGolden.getAbsolutePath());
+        assertEquals(mName + " width", mExpected.getWidth(), mActual.getWidth());
+        assertEquals(mName + " height", mExpected.getHeight(), mActual.getHeight());
+
+        int mTolerance = Integer.getInteger("navify.golden.channelTolerance", 2);
+        int mMaxDiffPixels = Integer.getInteger("navify.golden.maxDiffPixels", 0);
+        int mWidth = mActual.getWidth(), mHeight = mActual.getHeight();
+        int[] mActualPixels = new int[mWidth * mHeight];
+        int[] mExpectedPixels = new int[mWidth * mHeight];
+        mActual.getPixels(mActualPixels, 0, mWidth, 0, 0, mWidth, mHeight);
+        mExpected.getPixels(mExpectedPixels, 0, mWidth, 0, 0, mWidth, mHeight);
+
+        int[] mDiffPixels = new int[mWidth * mHeight];
+        int mDiffCount = 0;
+        for (int mI = 0; mI < mActualPixels.length; mI++) {
+            boolean mDiffers = ChannelDistance(mActualPixels[mI], mExpectedPixels[mI]) > mTolerance;
+            mDiffPixels[mI] = mDiffers ? Color.RED : Color.TRANSPARENT;
+            if (mDiffers) mDiffCount++;
+        }
+
+        if (mDiffCount > mMaxDiffPixels) {
+            File mReports = new File(System.getProperty("navify.golden.reports", "build/reports/navify-golden"));
+            WritePng(mActual, new File(mReports, mName + "-actual.png"));
+            WritePng(Bitmap.createBitmap(mDiffPixels, mWidth, mHeight, Bitmap.Config.ARGB_8888), new File(mReports, mName + "-diff.png"));
+        }
+        assertTrue(mName + ": " + mDiffCount + " pixels differ by more than " + mTolerance + " (allowed " + mMaxDiffPixels + ")", mDiffCount <= mMaxDiffPixels);
+    }
+
+    /**
+     * Adds one case named after its configuration.
+     */
+    private static void AddCase(List<Object[]> mCases, int mItems, int mLabel, boolean mBadges, boolean mRTL, boolean mBold, float mProgress) {
+        String mName = mItems + "items-" + NAVIFY_GOLDEN_LABEL_NAMES[mLabel] + (mBadges ? "-badges" : "") + (mRTL ? "-rtl" : "") + (mBold ? "-bold" : "") + (mProgress == NAVIFY_GOLDEN_SETTLED ? "" : "-t" + Math.round(mProgress * 100));
+        mCases.add(new Object[]{mName, mItems, NAVIFY_GOLDEN_LABEL_MODES[mLabel], mBadges, mRTL, mBold, mProgress});
+    }
+
+    /**
+     * Largest per-channel difference of two ARGB colors.
+     */
+    private static int ChannelDistance(int mA, int mB) {
+        int mAlpha = Math.abs(Color.alpha(mA) - Color.alpha(mB));
+        int mRed = Math.abs(Color.red(mA) - Color.red(mB));
+        int mGreen = Math.abs(Color.green(mA) - Color.green(mB));
+        int mBlue = Math.abs(Color.blue(mA) - Color.blue(mB));
+        return Math.max(Math.max(mAlpha, mRed), Math.max(mGreen, mBlue));
+    }
+
+    /**
+     * Writes a bitmap as PNG, creating parent directories.
+     */
+    private static void WritePng(Bitmap mBitmap, File mFile) throws IOException {
+        File mParent = mFile.getAbsoluteFile().getParentFile();
+        if (mParent != null && !mParent.isDirectory() && !mParent.mkdirs()) {
+            throw new IOException("Cannot create " + mParent);
+        }
+        try (OutputStream mOut = new FileOutputStream(mFile)) {
+            if (!mBitmap.compress(Bitmap.CompressFormat.PNG, 100, mOut)) {
+                throw new IOException("Cannot encode " + mFile);
+            }
+        }
+    }
+}
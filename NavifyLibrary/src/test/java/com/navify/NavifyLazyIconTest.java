@@ -0,0 +1,213 @@
+package com.navify;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Looper;
+import android.view.ViewGroup;
+import com.navify.core.NavifyItemLayout;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+import org.robolectric.util.ReflectionHelpers;
+
+/**
+ * Lazy menu icons: placeholders while loading, one invalidate on arrival,
+ * and awaitIconsReady firing exactly once.
+ * <p>
+ * The menu comes from a registered NavifyMenuTable, so no menu XML is needed.
+ * Each test holds the shared worker with a gate while it sets the menu, which
+ * keeps the icons pending however long the test takes to lay the bar out.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, qualifiers = "w411dp-h891dp-xxhdpi")
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class NavifyLazyIconTest {
+    /**
+     * Menu resource ID the test table is registered under; no such menu XML exists
+     */
+    private static final int NAVIFY_LAZY_MENU = 0x7F0F_0001;
+
+    /**
+     * Items in the test menu
+     */
+    private static final int NAVIFY_LAZY_ITEMS = 4;
+
+    /**
+     * Holds the shared worker until released
+     */
+    private CountDownLatch mGate;
+
+    @Before
+    public void setUp() {
+        NavifyMenuTable.register(new NavifyMenuTable(NAVIFY_LAZY_MENU,
+                new int[]{1, 2, 3, 4},
+                new int[]{R.drawable.ic_preview_home, R.drawable.ic_preview_search, R.drawable.ic_preview_add, R.drawable.ic_preview_favorite},
+                new int[NAVIFY_LAZY_ITEMS],
+                new String[]{"Home", "Search", "Add", "Favorite"}));
+    }
+
+    @After
+    public void tearDown() {
+        ReleaseWorker();
+    }
+
+    @Test
+    public void placeholdersWhileLoading_iconsSwapInWithOneInvalidate() throws Exception {
+        CountingNavify mNavify = Attach();
+        HoldWorker();
+        mNavify.setMenu(NAVIFY_LAZY_MENU);
+        NavifyTestHarness.Settle();
+
+        // A dot in the state tint stands in for every pending icon
+        Bitmap mPending = NavifyTestHarness.Render(mNavify);
+        NavifyItemLayout mLayout = ReflectionHelpers.getField(mNavify, "mItemLayout");
+        for (int mI = 0; mI < NAVIFY_LAZY_ITEMS; mI++) {
+            boolean mSelected = mI == mNavify.getItemSelectedIndex();
+            int mColor = mSelected ? mNavify.getItemSelectedIconColor() : mNavify.getItemUnSelectedIconColor();
+            assertEquals("Placeholder of item " + mI, mColor, mPending.getPixel((int) mLayout.CenterX(mI), (int) mLayout.IconCenterY(mI, mSelected)));
+        }
+
+        int[] mReady = {0};
+        mNavify.awaitIconsReady(() -> mReady[0]++);
+        assertEquals("Ready while loading", 0, mReady[0]);
+
+        // The worker's results are posted in order; run main thread tasks until the icons are in
+        ReleaseWorker();
+        DrainWorker();
+        int mInvalidatesBefore;
+        do {
+            mInvalidatesBefore = mNavify.mInvalidates;
+            shadowOf(Looper.getMainLooper()).runOneTask();
+        } while (mReady[0] == 0);
+        assertEquals("Invalidates when the icons arrive", 1, mNavify.mInvalidates - mInvalidatesBefore);
+
+        NavifyTestHarness.Settle();
+        assertEquals("Ready calls", 1, mReady[0]);
+        assertFalse("Icons still drawn as placeholders", mPending.sameAs(NavifyTestHarness.Render(mNavify)));
+
+        // Nothing pending: a new listener runs right away, once
+        int[] mLate = {0};
+        mNavify.awaitIconsReady(() -> mLate[0]++);
+        NavifyTestHarness.Settle();
+        assertEquals("Late ready calls", 1, mLate[0]);
+    }
+
+    @Test
+    public void awaitIconsReady_firesOnceWhenClearCancelsTheLoad() throws Exception {
+        CountingNavify mNavify = Attach();
+        HoldWorker();
+        mNavify.setMenu(NAVIFY_LAZY_MENU);
+        NavifyTestHarness.Settle();
+
+        int[] mReady = {0};
+        mNavify.awaitIconsReady(() -> mReady[0]++);
+        mNavify.ClearReloadItems();
+        assertEquals("Ready calls after clearing", 1, mReady[0]);
+
+        // The dropped load must neither notify again nor install its icons
+        ReleaseWorker();
+        DrainWorker();
+        NavifyTestHarness.Settle();
+        assertEquals("Ready calls after the dropped load finished", 1, mReady[0]);
+        Object[] mIcons = ReflectionHelpers.getField(mNavify, "mNavifyItemIcon");
+        for (int mI = 0; mI < NAVIFY_LAZY_ITEMS; mI++) {
+            assertEquals("Icon of cleared item " + mI, null, mIcons[mI]);
+        }
+    }
+
+    @Test
+    public void setMenu_replacesAMenuWhetherOrNotItsIconsArrived() throws Exception {
+        CountingNavify mNavify = Attach();
+        HoldWorker();
+        mNavify.setMenu(NAVIFY_LAZY_MENU);
+        mNavify.setMenu(NAVIFY_LAZY_MENU);
+        ReleaseWorker();
+        DrainWorker();
+        NavifyTestHarness.Settle();
+        mNavify.setMenu(NAVIFY_LAZY_MENU);
+        NavifyTestHarness.Settle();
+
+        // Manual items refuse a menu no matter what is loading
+        CountingNavify mManual = Attach();
+        mManual.setAddItem(mManual.getContext().getDrawable(R.drawable.ic_preview_home), "Home");
+        assertThrows(IllegalStateException.class, () -> mManual.setMenu(NAVIFY_LAZY_MENU));
+    }
+
+    /**
+     * Attaches an empty lazy-icon bar to a fresh Activity and settles it.
+     */
+    private static CountingNavify Attach() {
+        Activity mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+        CountingNavify mNavify = new CountingNavify(mActivity);
+        mNavify.setItemIconLazy(true);
+        mNavify.setAdaptiveQuality(false);
+        mNavify.setItemBadgeAnimation(false);
+        mNavify.SetManualTransitionFrames(true);
+        mActivity.setContentView(mNavify, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        NavifyTestHarness.Settle();
+        return mNavify;
+    }
+
+    /**
+     * Queues a job that blocks the shared worker until {@link #ReleaseWorker}.
+     */
+    private void HoldWorker() {
+        CountDownLatch mHeld = new CountDownLatch(1);
+        mGate = mHeld;
+        NavifyWorker.Executor().execute(() -> {
+            try {
+                mHeld.await();
+            } catch (InterruptedException mException) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Lets the held worker continue.
+     */
+    private void ReleaseWorker() {
+        if (mGate != null) mGate.countDown();
+    }
+
+    /**
+     * Waits until every job queued on the worker so far has run and posted its result.
+     */
+    private static void DrainWorker() throws Exception {
+        NavifyWorker.Executor().submit(() -> {
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Navify counting full invalidations.
+     */
+    private static final class CountingNavify extends Navify {
+        /**
+         * Calls of invalidate()
+         */
+        int mInvalidates;
+
+        CountingNavify(Context mContext) {
+            super(mContext);
+        }
+
+        @Override
+        public void invalidate() {
+            mInvalidates++;
+            super.invalidate();
+        }
+    }
+}
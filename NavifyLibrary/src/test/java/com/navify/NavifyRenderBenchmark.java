@@ -0,0 +1,256 @@
+package com.navify;
+
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Typeface;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * Per-frame rendering benchmark for Navify under Robolectric native graphics.
+ * <p>
+ * Every scenario (label mode x badges x RTL x label font) inflates a five item bar,
+ * then runs selection transitions on a manual frame clock: each frame advances
+ * the transition by one 60 Hz vsync and draws the view into an offscreen
+ * software canvas. The draw time of every frame (thread CPU time, so other
+ * processes and the background label shaping do not count) and the bytes
+ * allocated per frame (transition tick + draw) are recorded. The matrix runs
+ * several rounds and every scenario keeps its median round, so a run that
+ * happens to be fast or slow does not become the baseline.
+ * <p>
+ * Run with {@code ./gradlew :NavifyLibrary:navifyRenderBenchmark}; the regular
+ * test task skips this class. Results are written as JSON and every scenario
+ * is compared with the checked-in baseline; the run fails if the baseline is
+ * missing or the allocations per frame grew beyond the threshold.
+ * <p>
+ * Draw times depend on the machine, so they are only reported: scenarios whose
+ * median draw time moved beyond the threshold are printed, never failed on.
+ * Allocations per frame do not depend on the machine and are the gate.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, qualifiers = "w411dp-h891dp-xxhdpi")
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class NavifyRenderBenchmark {
+    /**
+     * Items per bar
+     */
+    private static final int NAVIFY_BENCH_ITEMS = 5;
+
+    /**
+     * Transitions run before measuring
+     */
+    private static final int NAVIFY_BENCH_WARMUP_TRANSITIONS = 5;
+
+    /**
+     * Transitions measured per scenario
+     */
+    private static final int NAVIFY_BENCH_TRANSITIONS = 20;
+
+    /**
+     * Rounds over the whole matrix (odd); each scenario keeps its median round
+     */
+    private static final int NAVIFY_BENCH_ROUNDS = 3;
+
+    /**
+     * Allocation growth below this many bytes per frame is never a regression
+     */
+    private static final long NAVIFY_BENCH_ALLOC_SLACK = 64L;
+
+    /**
+     * Label modes and their scenario names
+     */
+    private static final int[] NAVIFY_BENCH_LABEL_MODES = {Navify.NAVIFY_SELECTED, Navify.NAVIFY_LABELED, Navify.NAVIFY_UNLABELED};
+    private static final String[] NAVIFY_BENCH_LABEL_NAMES = {"selected", "labeled", "unlabeled"};
+
+    /**
+     * Label fonts and their scenario suffixes: default, fake bold, a serif and a monospace family
+     * (families are created per scenario, inside the Robolectric sandbox)
+     */
+    private static final boolean[] NAVIFY_BENCH_FONT_BOLD = {false, true, false, false};
+    private static final String[] NAVIFY_BENCH_FONT_FAMILIES = {null, null, "serif", "monospace"};
+    private static final String[] NAVIFY_BENCH_FONT_NAMES = {"", "-bold", "-serif", "-mono"};
+
+    @Test
+    public void renderBenchmark() throws IOException, JSONException {
+        Map<String, List<JSONObject>> mRounds = new LinkedHashMap<>();
+        for (int mRound = 0; mRound < NAVIFY_BENCH_ROUNDS; mRound++) {
+            for (int mLabel = 0; mLabel < NAVIFY_BENCH_LABEL_MODES.length; mLabel++) {
+                for (boolean mBadges : new boolean[]{false, true}) {
+                    for (boolean mRTL : new boolean[]{false, true}) {
+                        for (int mFont = 0; mFont < NAVIFY_BENCH_FONT_NAMES.length; mFont++) {
+                            String mName = NAVIFY_BENCH_LABEL_NAMES[mLabel] + (mBadges ? "-badges" : "") + (mRTL ? "-rtl" : "") + NAVIFY_BENCH_FONT_NAMES[mFont];
+                            JSONObject mResult = RunScenario(NAVIFY_BENCH_LABEL_MODES[mLabel], mBadges, mRTL, NAVIFY_BENCH_FONT_BOLD[mFont], NAVIFY_BENCH_FONT_FAMILIES[mFont]);
+                            mRounds.computeIfAbsent(mName, mKey -> new ArrayList<>()).add(mResult);
+                        }
+                    }
+                }
+            }
+        }
+        JSONObject mResults = new JSONObject();
+        for (Map.Entry<String, List<JSONObject>> mEntry : mRounds.entrySet()) {
+            List<JSONObject> mScenarioRounds = mEntry.getValue();
+            mScenarioRounds.sort(Comparator.comparingLong(mRoundResult -> mRoundResult.optLong("drawNanosMedian")));
+            mResults.put(mEntry.getKey(), mScenarioRounds.get(mScenarioRounds.size() / 2));
+        }
+
+        File mResultsFile = new File(System.getProperty("navify.benchmark.results", "build/reports/navify-benchmark/render.json"));
+        Write(mResultsFile, mResults);
+
+        File mBaselineFile = new File(System.getProperty("navify.benchmark.baseline", "benchmark/render-baseline.json"));
+        if (Boolean.getBoolean("navify.benchmark.updateBaseline")) {
+            Write(mBaselineFile, mResults);
+            return;
+        }
+        assertTrue("No render baseline at " + mBaselineFile.getAbsolutePath() + " (record with -PnavifyBenchmarkUpdateBaseline)", mBaselineFile.isFile());
+
+        double mThreshold = Double.parseDouble(System.getProperty("navify.benchmark.threshold", "0.25"));
+        JSONObject mBaseline = new JSONObject(new String(Files.readAllBytes(mBaselineFile.toPath()), StandardCharsets.UTF_8));
+        List<String> mDrawChanges = CompareDrawTimes(mBaseline, mResults, mThreshold);
+        if (!mDrawChanges.isEmpty()) {
+            System.out.println("Draw time changes beyond " + Math.round(mThreshold * 100) + "% (machine dependent, not a failure):\n" + String.join("\n", mDrawChanges));
+        }
+        List<String> mRegressions = CompareAllocations(mBaseline, mResults, mThreshold);
+        assertTrue("Allocation regressions beyond " + Math.round(mThreshold * 100) + "%:\n" + String.join("\n", mRegressions), mRegressions.isEmpty());
+    }
+
+    /**
+     * Inflates one configuration and measures its transitions.
+     */
+    private JSONObject RunScenario(int mLabelMode, boolean mBadges, boolean mRTL, boolean mBold, String mFontFamily) throws JSONException {
+        Typeface mTypeface = (mFontFamily != null) ? Typeface.create(mFontFamily, Typeface.NORMAL) : null;
+        Navify mNavify = NavifyTestHarness.Inflate(NAVIFY_BENCH_ITEMS, mLabelMode, mBadges, mRTL, mBold, mTypeface);
+
+        Bitmap mBitmap = Bitmap.createBitmap(mNavify.getWidth(), mNavify.getHeight(), Bitmap.Config.ARGB_8888);
+        Canvas mCanvas = new Canvas(mBitmap);
+        System.gc();
+
+        long[] mDrawNanos = new long[256];
+        int mFrames = 0;
+        long mAllocatedBytes = 0L;
+        long mClock = 0L;
+        for (int mTransition = 0; mTransition < NAVIFY_BENCH_WARMUP_TRANSITIONS + NAVIFY_BENCH_TRANSITIONS; mTransition++) {
+            boolean mMeasure = mTransition >= NAVIFY_BENCH_WARMUP_TRANSITIONS;
+            mNavify.setItemSelectedIndex((mNavify.getItemSelectedIndex() + 2) % NAVIFY_BENCH_ITEMS);
+
+            boolean mRunning = true;
+            while (mRunning) {
+                mClock += NavifyTestHarness.FRAME_NANOS;
+                long mAllocStart = AllocatedBytes();
+                mRunning = mNavify.DriveTransitionFrame(mClock);
+                long mDrawStart = CpuNanos();
+                mNavify.draw(mCanvas);
+                long mDrawEnd = CpuNanos();
+                long mAllocEnd = AllocatedBytes();
+                if (!mMeasure) continue;
+
+                if (mFrames == mDrawNanos.length) mDrawNanos = Arrays.copyOf(mDrawNanos, mFrames * 2);
+                mDrawNanos[mFrames++] = mDrawEnd - mDrawStart;
+                mAllocatedBytes += mAllocEnd - mAllocStart;
+            }
+            NavifyTestHarness.Settle();
+        }
+        mBitmap.recycle();
+
+        long[] mSorted = Arrays.copyOf(mDrawNanos, mFrames);
+        Arrays.sort(mSorted);
+        JSONObject mResult = new JSONObject();
+        mResult.put("frames", mFrames);
+        mResult.put("drawNanosMedian", mSorted[mFrames / 2]);
+        mResult.put("drawNanosP90", mSorted[Math.min(mFrames - 1, (int) Math.ceil(mFrames * 0.9) - 1)]);
+        mResult.put("allocBytesPerFrame", mAllocatedBytes / Math.max(1, mFrames));
+        return mResult;
+    }
+
+    /**
+     * Compares median draw times with a baseline, in either direction.
+     *
+     * @return One line per scenario that moved beyond the threshold
+     */
+    private static List<String> CompareDrawTimes(JSONObject mBaseline, JSONObject mResults, double mThreshold) throws JSONException {
+        List<String> mChanges = new ArrayList<>();
+        Iterator<String> mNames = mBaseline.keys();
+        while (mNames.hasNext()) {
+            String mName = mNames.next();
+            if (!mResults.has(mName)) continue;
+            long mDrawBefore = mBaseline.getJSONObject(mName).getLong("drawNanosMedian");
+            long mDrawNow = mResults.getJSONObject(mName).getLong("drawNanosMedian");
+            if (mDrawNow > mDrawBefore * (1d + mThreshold) || mDrawNow * (1d + mThreshold) < mDrawBefore) {
+                mChanges.add(mName + ": median draw " + mDrawBefore + " ns -> " + mDrawNow + " ns");
+            }
+        }
+        return mChanges;
+    }
+
+    /**
+     * Compares allocations per frame with a baseline.
+     *
+     * @return One line per regressed scenario
+     */
+    private static List<String> CompareAllocations(JSONObject mBaseline, JSONObject mResults, double mThreshold) throws JSONException {
+        List<String> mRegressions = new ArrayList<>();
+        Iterator<String> mNames = mBaseline.keys();
+        while (mNames.hasNext()) {
+            String mName = mNames.next();
+            if (!mResults.has(mName)) continue;
+            JSONObject mBefore = mBaseline.getJSONObject(mName);
+            JSONObject mNow = mResults.getJSONObject(mName);
+
+            long mAllocBefore = mBefore.getLong("allocBytesPerFrame");
+            long mAllocNow = mNow.getLong("allocBytesPerFrame");
+            if (mAllocNow > Math.max(mAllocBefore * (1d + mThreshold), mAllocBefore + NAVIFY_BENCH_ALLOC_SLACK)) {
+                mRegressions.add(mName + ": allocations " + mAllocBefore + " -> " + mAllocNow + " bytes/frame");
+            }
+        }
+        return mRegressions;
+    }
+
+    /**
+     * CPU time of this thread, wall time when the JVM cannot measure it.
+     */
+    private static long CpuNanos() {
+        ThreadMXBean mThreads = ManagementFactory.getThreadMXBean();
+        return mThreads.isCurrentThreadCpuTimeSupported() ? mThreads.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    /**
+     * Bytes allocated by this thread so far, 0 when the JVM cannot tell.
+     */
+    private static long AllocatedBytes() {
+        ThreadMXBean mThreads = ManagementFactory.getThreadMXBean();
+        if (mThreads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) mThreads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0L;
+    }
+
+    /**
+     * Writes JSON, creating parent directories.
+     */
+    private static void Write(File mFile, JSONObject mJson) throws IOException, JSONException {
+        File mParent = mFile.getAbsoluteFile().getParentFile();
+        if (mParent != null && !mParent.isDirectory() && !mParent.mkdirs()) {
+            throw new IOException("Cannot create " + mParent);
+        }
+        Files.write(mFile.toPath(), mJson.toString(2).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.navify;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * Selection coalescing under a burst of taps and programmatic selections.
+ * <p>
+ * Requests arrive between transition frames, several per frame and many per
+ * transition; intermediate targets must never settle, so the listener fires
+ * once, for the last requested item.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, qualifiers = "w411dp-h891dp-xxhdpi")
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class NavifySelectionStressTest {
+    /**
+     * Items per bar
+     */
+    private static final int NAVIFY_STRESS_ITEMS = 5;
+
+    /**
+     * Requests per burst
+     */
+    private static final int NAVIFY_STRESS_REQUESTS = 200;
+
+    @Test
+    public void burst_settlesOnceOnLastRequest() {
+        for (int mInterpolator : new int[]{Navify.FAST_OUT_SLOW_IN, Navify.SPRING}) {
+            for (long mSeed = 1L; mSeed <= 5L; mSeed++) {
+                RunBurst(mInterpolator, mSeed);
+            }
+        }
+    }
+
+    /**
+     * Fires one seeded burst and drives the transition until it settles.
+     */
+    private static void RunBurst(int mInterpolator, long mSeed) {
+        Navify mNavify = NavifyTestHarness.Inflate(NAVIFY_STRESS_ITEMS, Navify.NAVIFY_SELECTED, false, false, false);
+        mNavify.setItemCircleAnimationInterpolator(mInterpolator);
+        List<Integer> mSettled = new ArrayList<>();
+        mNavify.setNavifyNormalSelectedItemListener(mSettled::add);
+
+        Random mRandom = new Random(mSeed);
+        String mCase = "interpolator " + mInterpolator + ", seed " + mSeed;
+        long mClock = 0L;
+        int mLast = mNavify.getItemSelectedIndex();
+        int mLastTapped = -1;
+        for (int mRequest = 0; mRequest < NAVIFY_STRESS_REQUESTS; mRequest++) {
+            // Every target but the current one, so each request really moves the selection
+            int mTarget = (mLast + 1 + mRandom.nextInt(NAVIFY_STRESS_ITEMS - 1)) % NAVIFY_STRESS_ITEMS;
+            // Tapping the previously tapped item again would be a double tap, not a selection
+            if (mRandom.nextBoolean() && mTarget != mLastTapped) {
+                Tap(mNavify, mTarget);
+                mLastTapped = mTarget;
+            } else {
+                mNavify.setItemSelectedIndex(mTarget);
+            }
+            mLast = mTarget;
+
+            // Zero, one or two frames between requests
+            for (int mFrame = mRandom.nextInt(3); mFrame > 0; mFrame--) {
+                mClock += NavifyTestHarness.FRAME_NANOS;
+                mNavify.DriveTransitionFrame(mClock);
+            }
+            assertEquals(mCase + ": settled during the burst", 0, mSettled.size());
+        }
+
+        while (mNavify.DriveTransitionFrame(mClock += NavifyTestHarness.FRAME_NANOS)) {
+            assertEquals(mCase + ": settled before the last frame", 0, mSettled.size());
+        }
+        NavifyTestHarness.Settle();
+
+        assertEquals(mCase + ": listener calls", 1, mSettled.size());
+        assertEquals(mCase + ": settled index", mLast, (int) mSettled.get(0));
+        assertEquals(mCase + ": selected index", mLast, mNavify.getItemSelectedIndex());
+        assertFalse(mCase + ": transition still running", mNavify.DriveTransitionFrame(mClock + NavifyTestHarness.FRAME_NANOS));
+    }
+
+    /**
+     * Taps the center of an item.
+     */
+    private static void Tap(Navify mNavify, int mIndex) {
+        float mX = (mIndex + 0.5f) * mNavify.getWidth() / NAVIFY_STRESS_ITEMS;
+        float mY = mNavify.getHeight() - 1f;
+        long mNow = SystemClock.uptimeMillis();
+        MotionEvent mDown = MotionEvent.obtain(mNow, mNow, MotionEvent.ACTION_DOWN, mX, mY, 0);
+        MotionEvent mUp = MotionEvent.obtain(mNow, mNow, MotionEvent.ACTION_UP, mX, mY, 0);
+        mNavify.onTouchEvent(mDown);
+        mNavify.onTouchEvent(mUp);
+        mDown.recycle();
+        mUp.recycle();
+    }
+}
@@ -0,0 +1,147 @@
+package com.navify;
+
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.os.Looper;
+import android.view.ViewGroup;
+import org.robolectric.Robolectric;
+
+/**
+ * Shared setup for the Robolectric render benchmark and golden-image tests.
+ * <p>
+ * Bars are attached to a real Activity so attach-time work (label shaping,
+ * badge cache) runs as in an app, and use a manual transition clock so every
+ * frame is reproducible. Badge pop-in animations are disabled because they
+ * run on the platform animator clock.
+ */
+final class NavifyTestHarness {
+    /**
+     * Vsync interval of the manual clock
+     */
+    static final long FRAME_NANOS = 16_666_667L;
+
+    /**
+     * Menu icons
+     */
+    private static final int[] NAVIFY_HARNESS_ICONS = {R.drawable.ic_preview_home, R.drawable.ic_preview_search, R.drawable.ic_preview_add, R.drawable.ic_preview_favorite, R.drawable.ic_preview_whatshot};
+
+    /**
+     * Menu titles
+     */
+    private static final String[] NAVIFY_HARNESS_TITLES = {"Home", "Search", "Add", "Favorite", "Trending"};
+
+    private NavifyTestHarness() {
+    }
+
+    /**
+     * Inflates a bar in a fresh Activity and waits until it is laid out and settled.
+     *
+     * @param mItemCount Items (1-5)
+     * @param mLabelMode Navify.NAVIFY_SELECTED, NAVIFY_LABELED or NAVIFY_UNLABELED
+     * @param mBadges    Whether items 1 and 3 carry badges (when present)
+     * @param mRTL       Force right-to-left
+     * @param mBold      Bold labels
+     */
+    static Navify Inflate(int mItemCount, int mLabelMode, boolean mBadges, boolean mRTL, boolean mBold) {
+        return Inflate(mItemCount, mLabelMode, mBadges, mRTL, mBold, null);
+    }
+
+    /**
+     * Inflates a bar with a label typeface in a fresh Activity and waits until it is laid out and settled.
+     *
+     * @param mItemCount Items (1-5)
+     * @param mLabelMode Navify.NAVIFY_SELECTED, NAVIFY_LABELED or NAVIFY_UNLABELED
+     * @param mBadges    Whether items 1 and 3 carry badges (when present)
+     * @param mRTL       Force right-to-left
+     * @param mBold      Bold labels
+     * @param mTypeface  Label typeface, null for the default
+     */
+    static Navify Inflate(int mItemCount, int mLabelMode, boolean mBadges, boolean mRTL, boolean mBold, Typeface mTypeface) {
+        return Inflate(mItemCount, mLabelMode, mBadges, mRTL, mBold, mTypeface, null);
+    }
+
+    /**
+     * Inflates a bar with a label typeface and given icons in a fresh Activity and waits until it is laid out and settled.
+     *
+     * @param mItemCount Items (1-5)
+     * @param mLabelMode Navify.NAVIFY_SELECTED, NAVIFY_LABELED or NAVIFY_UNLABELED
+     * @param mBadges    Whether items 1 and 3 carry badges (when present)
+     * @param mRTL       Force right-to-left
+     * @param mBold      Bold labels
+     * @param mTypeface  Label typeface, null for the default
+     * @param mIcons     Item icons, null for the menu icons
+     */
+    static Navify Inflate(int mItemCount, int mLabelMode, boolean mBadges, boolean mRTL, boolean mBold, Typeface mTypeface, Drawable[] mIcons) {
+        Activity mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+        Navify mNavify = new Navify(mActivity);
+        mNavify.setRenderProfile(Navify.RENDER_PROFILE_FULL);
+        mNavify.setAdaptiveQuality(false);
+        mNavify.setItemBadgeAnimation(false);
+        mNavify.setItemLabelVisibilityMode(mLabelMode);
+        mNavify.setForceRTL(mRTL);
+        mNavify.setItemTextBold(mBold);
+        if (mTypeface != null) mNavify.setItemTextChooseFont(mTypeface);
+        mNavify.setItemBadge(mBadges);
+        for (int mI = 0; mI < mItemCount; mI++) {
+            mNavify.setAddItem(mIcons != null ? mIcons[mI] : mActivity.getDrawable(NAVIFY_HARNESS_ICONS[mI]), NAVIFY_HARNESS_TITLES[mI]);
+        }
+        if (mBadges) {
+            mNavify.setAddBadge(1, 3);
+            mNavify.setAddBadge(3, 120);
+        }
+        mNavify.SetManualTransitionFrames(true);
+        mActivity.setContentView(mNavify, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        Settle();
+        return mNavify;
+    }
+
+    /**
+     * Starts a transition to mTarget and renders its frame at a fixed linear progress.
+     * <p>
+     * The first frame starts the timeline; the second lands exactly on the progress.
+     *
+     * @param mNavify   Inflated bar
+     * @param mTarget   Item to select
+     * @param mProgress Linear progress 0..1 (the curve is applied by the transition)
+     * @param mClock    Clock of the first frame
+     */
+    static void SeekTransition(Navify mNavify, int mTarget, float mProgress, long mClock) {
+        mNavify.setItemSelectedIndex(mTarget);
+        mNavify.DriveTransitionFrame(mClock);
+        long mDurationNanos = mNavify.getItemCircleAnimationDuration() * 1_000_000L;
+        mNavify.DriveTransitionFrame(mClock + (long) (mDurationNanos * (double) mProgress));
+    }
+
+    /**
+     * Draws the bar into a new offscreen bitmap on a white background.
+     */
+    static Bitmap Render(Navify mNavify) {
+        Bitmap mBitmap = Bitmap.createBitmap(mNavify.getWidth(), mNavify.getHeight(), Bitmap.Config.ARGB_8888);
+        Canvas mCanvas = new Canvas(mBitmap);
+        mCanvas.drawColor(Color.WHITE);
+        mNavify.draw(mCanvas);
+        return mBitmap;
+    }
+
+    /**
+     * Runs pending main thread work and lets background label shaping finish.
+     */
+    static void Settle() {
+        for (int mPass = 0; mPass < 10; mPass++) {
+            shadowOf(Looper.getMainLooper()).idle();
+            try {
+                Thread.sleep(5L);
+            } catch (InterruptedException mException) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+}
@@ -1,5 +1,8 @@
 plugins {
     alias(libs.plugins.android.application)
+    // Compiles the menus referenced by app:mMenuResource into NavifyCompiledMenus, so Navify
+    // loads them from resource ID tables instead of parsing menu XML at startup
+    id("com.navify.menus")
 }
 
 android {
@@ -42,4 +45,4 @@ dependencies {
     androidTestImplementation(libs.espresso.core)
     implementation(project(":NavifyLibrary"))
 
-}
\ No newline at end of file
+}
@@ -9,7 +9,9 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // Menus compiled at build time; Navify loads them without parsing XML
+        NavifyCompiledMenus.register();
         setContentView(R.layout.activity_main);
 
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.navify.benchmark;
+
+import com.navify.core.NavifyBumpGeometry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Bump control-point computation, with the center moving like a transition.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NavifyBumpBenchmark {
+    /**
+     * Destination reused across invocations, as the renderer does
+     */
+    private final float[] mPoints = new float[NavifyBumpGeometry.POINTS_SIZE];
+
+    /**
+     * Bump center, advanced every invocation
+     */
+    private float mCenterX = 108f;
+
+    @Benchmark
+    public float[] bumpPoints() {
+        mCenterX = mCenterX >= 972f ? 108f : mCenterX + 13.5f;
+        NavifyBumpGeometry.Compute(mPoints, mCenterX, 72f, 85f);
+        return mPoints;
+    }
+}
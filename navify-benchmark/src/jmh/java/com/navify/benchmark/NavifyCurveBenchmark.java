@@ -0,0 +1,72 @@
+package com.navify.benchmark;
+
+import com.navify.core.NavifyCurves;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Interpolator evaluation and custom curve creation.
+ * <p>
+ * Every Navify curve except LINEAR and NONE is a sampled table, so table
+ * evaluation cost is the same for all of them; one sweep covers the 60 frames
+ * of a 1 s transition at 60 Hz.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NavifyCurveBenchmark {
+    /**
+     * Frames per sweep
+     */
+    private static final int NAVIFY_BENCH_FRAMES = 60;
+
+    /**
+     * FAST_OUT_SLOW_IN table
+     */
+    private float[] mTable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mTable = NavifyCurves.SampleBezier(0.4f, 0f, 0.2f, 1f);
+    }
+
+    /**
+     * One transition worth of table lookups.
+     */
+    @Benchmark
+    public float evaluateTable() {
+        float mSum = 0f;
+        for (int mFrame = 0; mFrame <= NAVIFY_BENCH_FRAMES; mFrame++) {
+            mSum += NavifyCurves.Evaluate(mTable, mFrame / (float) NAVIFY_BENCH_FRAMES);
+        }
+        return mSum;
+    }
+
+    /**
+     * One transition worth of LINEAR evaluation (the clamp baseline).
+     */
+    @Benchmark
+    public float evaluateLinear() {
+        float mSum = 0f;
+        for (int mFrame = 0; mFrame <= NAVIFY_BENCH_FRAMES; mFrame++) {
+            mSum += Math.max(0f, Math.min(1f, mFrame / (float) NAVIFY_BENCH_FRAMES));
+        }
+        return mSum;
+    }
+
+    /**
+     * Building a custom cubic-bezier table (once per new curve, then cached).
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public float[] sampleBezier() {
+        return NavifyCurves.SampleBezier(0.3f, 0.1f, 0.1f, 1f);
+    }
+}
@@ -0,0 +1,190 @@
+package com.navify.benchmark;
+
+import com.navify.core.NavifyItemLayout;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Layout, badge anchor and hit-test math Navify runs per frame and per touch.
+ * <p>
+ * Navify caps items at 5; the 6 and 8 item runs show how the math scales if
+ * the cap is lifted. Geometry values are the defaults at xxhdpi on a 1080 px
+ * wide bar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NavifyLayoutBenchmark {
+    /**
+     * Layout capacity, above Navify's limit so lifted caps can be measured
+     */
+    private static final int NAVIFY_BENCH_CAPACITY = 8;
+
+    /**
+     * Bar width in pixels
+     */
+    private static final int NAVIFY_BENCH_WIDTH = 1080;
+
+    /**
+     * Touch positions replayed by the hit-test benchmark (power of two)
+     */
+    private static final int NAVIFY_BENCH_TOUCHES = 64;
+
+    /**
+     * Bar geometry in pixels
+     */
+    private static final float NAVIFY_BENCH_BAR_TOP = 72f, NAVIFY_BENCH_BAR_HEIGHT = 165f, NAVIFY_BENCH_CIRCLE_CENTER_Y = 72f;
+
+    /**
+     * Label font metrics in pixels
+     */
+    private static final float NAVIFY_BENCH_ASCENT = -31f, NAVIFY_BENCH_DESCENT = 8f;
+
+    /**
+     * Icon sizes, gaps and badge radius in pixels
+     */
+    private static final float NAVIFY_BENCH_SELECTED_ICON = 66f, NAVIFY_BENCH_UNSELECTED_ICON = 60f, NAVIFY_BENCH_GAP = 6f, NAVIFY_BENCH_BADGE_RADIUS = 22f;
+
+    /**
+     * Laid out items
+     */
+    @Param({"1", "2", "3", "4", "5", "6", "8"})
+    public int mItemCount;
+
+    /**
+     * Right-to-left layout
+     */
+    @Param({"false", "true"})
+    public boolean mRTL;
+
+    /**
+     * NavifyItemLayout.LABEL_SELECTED, LABEL_LABELED, LABEL_UNLABELED
+     */
+    @Param({"0", "1", "2"})
+    public int mLabelVisibilityMode;
+
+    /**
+     * Layout under test
+     */
+    private NavifyItemLayout mLayout;
+
+    /**
+     * Touch X positions, some outside the bar
+     */
+    private final float[] mTouchX = new float[NAVIFY_BENCH_TOUCHES];
+
+    /**
+     * Next touch to replay
+     */
+    private int mTouchCursor;
+
+    /**
+     * Animated icon size of the item being selected (mid-transition)
+     */
+    private float mAnimatedIconSize;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mLayout = new NavifyItemLayout(NAVIFY_BENCH_CAPACITY);
+        Rebuild();
+        Random mRandom = new Random(42L);
+        for (int mI = 0; mI < NAVIFY_BENCH_TOUCHES; mI++) {
+            mTouchX[mI] = mRandom.nextFloat() * NAVIFY_BENCH_WIDTH * 1.1f - NAVIFY_BENCH_WIDTH * 0.05f;
+        }
+        mAnimatedIconSize = (NAVIFY_BENCH_SELECTED_ICON + NAVIFY_BENCH_UNSELECTED_ICON) / 2f;
+    }
+
+    /**
+     * Full table rebuild, as after a size, menu or setter change.
+     */
+    @Benchmark
+    public float rebuildLayout() {
+        Rebuild();
+        return mLayout.SectionWidth();
+    }
+
+    /**
+     * Center X of every item with Navify's out-of-range fallback (ComputeCenterXForIndex).
+     */
+    @Benchmark
+    public float centerXForIndex() {
+        float mSum = 0f;
+        for (int mI = -1; mI <= mItemCount; mI++) {
+            mSum += (mI < 0 || mI >= mItemCount) ? NAVIFY_BENCH_WIDTH / 2f : mLayout.CenterX(mI);
+        }
+        return mSum;
+    }
+
+    /**
+     * Logical to display column mapping of every item.
+     */
+    @Benchmark
+    public int rtlIndex() {
+        int mSum = 0;
+        for (int mI = 0; mI < mItemCount; mI++) {
+            mSum += mLayout.RTLIndex(mI);
+        }
+        return mSum;
+    }
+
+    /**
+     * One touch resolved to an item with the range check of onTouchEvent.
+     */
+    @Benchmark
+    public int hitTest() {
+        float mX = mTouchX[mTouchCursor++ & (NAVIFY_BENCH_TOUCHES - 1)];
+        int mIndex = mLayout.IndexAt(mX);
+        return (mIndex >= 0 && mIndex < mItemCount) ? mIndex : -1;
+    }
+
+    /**
+     * Badge anchor of every item.
+     */
+    @Benchmark
+    public void badgeAnchor(Blackhole mBlackhole) {
+        for (int mI = 0; mI < mItemCount; mI++) {
+            boolean mSelected = mI == 0;
+            float mIconSize = mSelected ? mAnimatedIconSize : NAVIFY_BENCH_UNSELECTED_ICON;
+            mBlackhole.consume(mLayout.BadgeX(mI, mIconSize, NAVIFY_BENCH_BADGE_RADIUS));
+            mBlackhole.consume(mLayout.BadgeY(mI, mSelected, mIconSize, NAVIFY_BENCH_BADGE_RADIUS));
+        }
+    }
+
+    /**
+     * All item geometry of one transition frame, as read by DrawItems.
+     */
+    @Benchmark
+    public void itemFrame(Blackhole mBlackhole) {
+        for (int mI = 0; mI < mItemCount; mI++) {
+            boolean mSelected = mI == 0;
+            float mIconSize = mSelected ? mAnimatedIconSize : NAVIFY_BENCH_UNSELECTED_ICON;
+            mBlackhole.consume(mLayout.CenterX(mI));
+            mBlackhole.consume(mLayout.IconTop(mI, mSelected, mIconSize));
+            if (mLayout.ShowLabel(mI, mSelected)) {
+                mBlackhole.consume(mLayout.LabelBaseline(mI, mSelected, mIconSize));
+            }
+            mBlackhole.consume(mLayout.BadgeX(mI, mIconSize, NAVIFY_BENCH_BADGE_RADIUS));
+            mBlackhole.consume(mLayout.BadgeY(mI, mSelected, mIconSize, NAVIFY_BENCH_BADGE_RADIUS));
+        }
+    }
+
+    /**
+     * Rebuilds the table the way Navify's EnsureItemLayout does.
+     */
+    private void Rebuild() {
+        mLayout.SetColumns(mItemCount, NAVIFY_BENCH_WIDTH, mRTL);
+        mLayout.SetBadgeSide(true);
+        mLayout.SetStateGeometry(NavifyItemLayout.STATE_SELECTED, mLabelVisibilityMode, NAVIFY_BENCH_BAR_TOP, NAVIFY_BENCH_BAR_HEIGHT, NAVIFY_BENCH_CIRCLE_CENTER_Y, NAVIFY_BENCH_ASCENT, NAVIFY_BENCH_DESCENT, NAVIFY_BENCH_GAP, 0f);
+        mLayout.SetStateGeometry(NavifyItemLayout.STATE_UNSELECTED, mLabelVisibilityMode, NAVIFY_BENCH_BAR_TOP, NAVIFY_BENCH_BAR_HEIGHT, NAVIFY_BENCH_CIRCLE_CENTER_Y, NAVIFY_BENCH_ASCENT, NAVIFY_BENCH_DESCENT, NAVIFY_BENCH_GAP, 0f);
+    }
+}
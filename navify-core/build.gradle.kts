@@ -0,0 +1,27 @@
+plugins {
+    `java-library`
+    id("maven-publish")
+}
+
+// Platform-free Navify logic: no Android dependencies, runs on any JVM
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+    withSourcesJar()
+    withJavadocJar()
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+publishing {
+    publications {
+        create<MavenPublication>("release") {
+            from(components["java"])
+            groupId = "com.github.b3ddodev"
+            artifactId = "navify-core"
+            version = "1.0.2-0103-rls"
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.navify.core;
+
+/**
+ * Badge count clamping and formatting for Navify.
+ * <p>
+ * Counts are clamped to 0..max; the max itself is shown as "max+" (the count
+ * may have been clamped to it) and zero as no text.
+ */
+public final class NavifyBadgeFormat {
+    /**
+     * Text of a badge explicitly shown at zero
+     */
+    public static final String ZERO_TEXT = "0";
+
+    private NavifyBadgeFormat() {
+    }
+
+    /**
+     * Clamps a count to 0..max.
+     */
+    public static int Clamp(int mCount, int mMaxCount) {
+        return Math.max(0, Math.min(mCount, mMaxCount));
+    }
+
+    /**
+     * Formats a count for display.
+     *
+     * @param mCount    Badge count
+     * @param mMaxCount Largest count shown; shown as "max+"
+     * @return "" for 0, "max+" at or above max, the count otherwise
+     */
+    public static String Format(int mCount, int mMaxCount) {
+        mCount = Clamp(mCount, mMaxCount);
+        if (mCount == 0) return "";
+        return mCount == mMaxCount ? (mMaxCount + "+") : String.valueOf(mCount);
+    }
+}
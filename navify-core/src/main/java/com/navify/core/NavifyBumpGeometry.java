@@ -0,0 +1,75 @@
+package com.navify.core;
+
+/**
+ * Geometry of the bump Navify's bar raises under the selection circle.
+ * <p>
+ * The bump is a line to its left foot followed by two cubic curves meeting at
+ * its top center. Points are written into a caller-owned array so computing
+ * them never allocates; the renderer replays them into a Path.
+ */
+public final class NavifyBumpGeometry {
+    /**
+     * Floats written by {@link #Compute}: left foot (x, y), then two cubics of three (x, y) points each
+     */
+    public static final int POINTS_SIZE = 14;
+
+    /**
+     * Half the bump width, in bump radii
+     */
+    private static final float NAVIFY_BUMP_HALF_SPAN = 1.7f;
+
+    /**
+     * Control point pull, in bump radii
+     */
+    private static final float NAVIFY_BUMP_CONTROL = 0.95f;
+
+    private NavifyBumpGeometry() {
+    }
+
+    /**
+     * Half the horizontal span of the bump.
+     *
+     * @param mBumpTotalRadius Circle radius plus bump extra
+     */
+    public static float HalfSpan(float mBumpTotalRadius) {
+        return mBumpTotalRadius * NAVIFY_BUMP_HALF_SPAN;
+    }
+
+    /**
+     * Computes the bump points.
+     * <p>
+     * Layout of mOut: [0..1] left foot (lineTo), [2..7] first cubic (upward
+     * arc: control 1, control 2, top center), [8..13] second cubic (downward
+     * arc: control 1, control 2, right foot).
+     *
+     * @param mOut             Destination, at least POINTS_SIZE long
+     * @param mCenterX         Center X of the bump
+     * @param mBarTopY         Top Y of the straight bar
+     * @param mBumpTotalRadius Circle radius plus bump extra
+     */
+    public static void Compute(float[] mOut, float mCenterX, float mBarTopY, float mBumpTotalRadius) {
+        // Left and right X boundaries of the bump
+        float mBumpLeftX = mCenterX - HalfSpan(mBumpTotalRadius);
+        float mBumpRightX = mCenterX + HalfSpan(mBumpTotalRadius);
+        float mPull = mBumpTotalRadius * NAVIFY_BUMP_CONTROL;
+
+        mOut[0] = mBumpLeftX;
+        mOut[1] = mBarTopY;
+
+        // First half of the bump (upward arc)
+        mOut[2] = mBumpLeftX + mPull;
+        mOut[3] = mBarTopY;
+        mOut[4] = mCenterX - mBumpTotalRadius;
+        mOut[5] = mBarTopY - mPull;
+        mOut[6] = mCenterX;
+        mOut[7] = mBarTopY - mBumpTotalRadius;
+
+        // Second half of the bump (downward arc)
+        mOut[8] = mCenterX + mBumpTotalRadius;
+        mOut[9] = mBarTopY - mPull;
+        mOut[10] = mBumpRightX - mPull;
+        mOut[11] = mBarTopY;
+        mOut[12] = mBumpRightX;
+        mOut[13] = mBarTopY;
+    }
+}
@@ -0,0 +1,78 @@
+package com.navify.core;
+
+/**
+ * Timing curve math for Navify's table-backed interpolators.
+ * <p>
+ * A curve is sampled once into a fixed table and evaluated by linear
+ * interpolation between neighboring samples, so a frame costs one multiply and
+ * one lerp regardless of the curve. Cubic-bezier timing curves are sampled
+ * here directly; the platform's built-in curves are sampled by the library.
+ */
+public final class NavifyCurves {
+    /**
+     * Samples per table (power of two plus one so 0 and 1 are exact)
+     */
+    public static final int SAMPLES = 513;
+
+    private NavifyCurves() {
+    }
+
+    /**
+     * Evaluates a sampled curve, clamping the input to 0..1.
+     *
+     * @param mSamples Curve values at evenly spaced inputs
+     * @param mInput   Linear progress
+     */
+    public static float Evaluate(float[] mSamples, float mInput) {
+        if (mInput <= 0f) return mSamples[0];
+        int mLast = mSamples.length - 1;
+        if (mInput >= 1f) return mSamples[mLast];
+        float mPosition = mInput * mLast;
+        int mIndex = (int) mPosition;
+        float mFraction = mPosition - mIndex;
+        return mSamples[mIndex] + (mSamples[mIndex + 1] - mSamples[mIndex]) * mFraction;
+    }
+
+    /**
+     * Samples a cubic-bezier timing curve from (0,0) to (1,1) at evenly spaced X values.
+     * <p>
+     * X(t) is monotonic for control X in 0..1, so t is found by bisection.
+     *
+     * @param mX1 First control point X (0..1)
+     * @param mY1 First control point Y
+     * @param mX2 Second control point X (0..1)
+     * @param mY2 Second control point Y
+     * @return SAMPLES curve values
+     */
+    public static float[] SampleBezier(float mX1, float mY1, float mX2, float mY2) {
+        float[] mSamples = new float[SAMPLES];
+        for (int mI = 0; mI < SAMPLES; mI++) {
+            double mX = mI / (double) (SAMPLES - 1);
+            double mLow = 0d, mHigh = 1d, mT = mX;
+            for (int mStep = 0; mStep < 32; mStep++) {
+                mT = (mLow + mHigh) / 2d;
+                if (CubicBezier(mT, mX1, mX2) < mX) mLow = mT;
+                else mHigh = mT;
+            }
+            mSamples[mI] = (float) CubicBezier(mT, mY1, mY2);
+        }
+        mSamples[0] = 0f;
+        mSamples[SAMPLES - 1] = 1f;
+        return mSamples;
+    }
+
+    /**
+     * Whether the control points describe a valid timing curve (X must stay in 0..1).
+     */
+    public static boolean IsValidBezier(float mX1, float mY1, float mX2, float mY2) {
+        return mX1 >= 0f && mX1 <= 1f && mX2 >= 0f && mX2 <= 1f && !Float.isNaN(mY1) && !Float.isNaN(mY2) && !Float.isInfinite(mY1) && !Float.isInfinite(mY2);
+    }
+
+    /**
+     * One coordinate of a cubic bezier with end points 0 and 1.
+     */
+    private static double CubicBezier(double mT, double mP1, double mP2) {
+        double mU = 1d - mT;
+        return 3d * mU * mU * mT * mP1 + 3d * mU * mT * mT * mP2 + mT * mT * mT;
+    }
+}
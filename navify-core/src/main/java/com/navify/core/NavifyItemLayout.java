@@ -0,0 +1,270 @@
+package com.navify.core;
+
+/**
+ * Precomputed per-item layout for Navify.
+ * <p>
+ * Holds the item centers (RTL already applied), and for each item and each
+ * state (selected / unselected) the icon center Y, the label baseline offset
+ * and whether the label is shown. Rebuilt only when size, item set or a
+ * layout-affecting setter changes; frames read from it and derive the
+ * animated icon rect from the current icon size.
+ * <p>
+ * Icon top, label baseline and badge anchor are all linear in the icon size,
+ * so interpolating the size between the two state sizes interpolates the whole
+ * geometry between the two precomputed states.
+ */
+public final class NavifyItemLayout {
+    /**
+     * State index for unselected geometry
+     */
+    public static final int STATE_UNSELECTED = 0;
+
+    /**
+     * State index for selected geometry
+     */
+    public static final int STATE_SELECTED = 1;
+
+    /**
+     * Label visibility: label only under the selected item (same value as Navify.NAVIFY_SELECTED)
+     */
+    public static final int LABEL_SELECTED = 0;
+
+    /**
+     * Label visibility: labels under every item (same value as Navify.NAVIFY_LABELED)
+     */
+    public static final int LABEL_LABELED = 1;
+
+    /**
+     * Label visibility: no labels (same value as Navify.NAVIFY_UNLABELED)
+     */
+    public static final int LABEL_UNLABELED = 2;
+
+    /**
+     * Max item count the table holds
+     */
+    private final int mCapacity;
+
+    /**
+     * Number of laid out items
+     */
+    private int mCount;
+
+    /**
+     * View width the table was built for
+     */
+    private int mWidth = -1;
+
+    /**
+     * Whether the table was built right-to-left
+     */
+    private boolean mRTL;
+
+    /**
+     * Width of one item section
+     */
+    private float mSectionWidth;
+
+    /**
+     * Center X of each item
+     */
+    private final float[] mCenterX;
+
+    /**
+     * Icon center Y per state and item (independent of the animated icon size)
+     */
+    private final float[][] mIconCenterY;
+
+    /**
+     * Distance from the icon bottom to the label baseline per state and item
+     */
+    private final float[][] mLabelOffsetY;
+
+    /**
+     * Whether the label is drawn per state and item
+     */
+    private final boolean[][] mShowLabel;
+
+    /**
+     * Badge side: +1 after the icon (END), -1 before it (START)
+     */
+    private float mBadgeSide = 1f;
+
+    /**
+     * @param mCapacity Max item count (Navify's item limit)
+     */
+    public NavifyItemLayout(int mCapacity) {
+        if (mCapacity < 0) throw new IllegalArgumentException("Capacity must be >= 0");
+        this.mCapacity = mCapacity;
+        mCenterX = new float[mCapacity];
+        mIconCenterY = new float[2][mCapacity];
+        mLabelOffsetY = new float[2][mCapacity];
+        mShowLabel = new boolean[2][mCapacity];
+    }
+
+    /**
+     * Lays out item columns across the width.
+     *
+     * @param mCount Item count (clamped to the capacity)
+     * @param mWidth View width
+     * @param mRTL   Whether items run right-to-left
+     */
+    public void SetColumns(int mCount, int mWidth, boolean mRTL) {
+        this.mCount = Math.max(0, Math.min(mCount, mCapacity));
+        this.mWidth = mWidth;
+        this.mRTL = mRTL;
+        mSectionWidth = this.mCount > 0 ? mWidth / (float) this.mCount : 0f;
+        for (int mI = 0; mI < this.mCount; mI++) {
+            mCenterX[mI] = mSectionWidth * RTLIndex(mI) + mSectionWidth / 2f;
+        }
+    }
+
+    /**
+     * Fills the geometry of one state for every laid out item.
+     * <p>
+     * Call after {@link #SetColumns}.
+     *
+     * @param mState        STATE_SELECTED or STATE_UNSELECTED
+     * @param mShowLabel    Whether labels are drawn in this state
+     * @param mIconCenterY  Icon center Y in this state
+     * @param mLabelOffsetY Icon bottom to label baseline in this state
+     */
+    public void SetState(int mState, boolean mShowLabel, float mIconCenterY, float mLabelOffsetY) {
+        for (int mI = 0; mI < mCount; mI++) {
+            this.mShowLabel[mState][mI] = mShowLabel;
+            this.mIconCenterY[mState][mI] = mIconCenterY;
+            this.mLabelOffsetY[mState][mI] = mLabelOffsetY;
+        }
+    }
+
+    /**
+     * Fills one state from the bar geometry and the label font metrics.
+     * <p>
+     * The icon block (icon + gap + label + extra space) is centered in the bar
+     * for unselected items; selected icons sit in the selection circle.
+     *
+     * @param mState               STATE_SELECTED or STATE_UNSELECTED
+     * @param mLabelVisibilityMode LABEL_SELECTED, LABEL_LABELED or LABEL_UNLABELED
+     * @param mBarTopY             Top Y of the straight bar
+     * @param mBarHeight           Height of the straight bar
+     * @param mCircleCenterY       Center Y of the selection circle
+     * @param mTextAscent          Label font ascent in this state (negative)
+     * @param mTextDescent         Label font descent in this state
+     * @param mItemGap             Gap between icon and label
+     * @param mSelectedExtraSpace  Extra gap below selected icons
+     */
+    public void SetStateGeometry(int mState, int mLabelVisibilityMode, float mBarTopY, float mBarHeight, float mCircleCenterY, float mTextAscent, float mTextDescent, float mItemGap, float mSelectedExtraSpace) {
+        boolean mSelected = mState == STATE_SELECTED;
+        boolean mShowText = ShowsLabel(mLabelVisibilityMode, mSelected);
+
+        float mTextHeight = mShowText ? (mTextDescent - mTextAscent) : 0f;
+        float mExtraSelGap = mSelected ? mSelectedExtraSpace : 0f;
+
+        // Icon center is independent of the animated icon size
+        float mIconCenterY = mSelected ? mCircleCenterY : mBarTopY + (mBarHeight - ((mShowText ? mItemGap : 0f) + mTextHeight + mExtraSelGap)) / 2f;
+        float mLabelOffsetY = mItemGap + mExtraSelGap - mTextAscent;
+
+        SetState(mState, mShowText, mIconCenterY, mLabelOffsetY);
+    }
+
+    /**
+     * Whether a label visibility mode draws the label of an item in the given state.
+     */
+    public static boolean ShowsLabel(int mLabelVisibilityMode, boolean mSelected) {
+        return mLabelVisibilityMode == LABEL_LABELED || (mLabelVisibilityMode == LABEL_SELECTED && mSelected);
+    }
+
+    /**
+     * Sets on which side of the icon badges are anchored.
+     *
+     * @param mEnd True for END, false for START
+     */
+    public void SetBadgeSide(boolean mEnd) {
+        mBadgeSide = mEnd ? 1f : -1f;
+    }
+
+    /**
+     * Whether the table no longer matches the given columns.
+     */
+    public boolean IsStale(int mCount, int mWidth, boolean mRTL) {
+        return this.mCount != mCount || this.mWidth != mWidth || this.mRTL != mRTL;
+    }
+
+    /**
+     * Max item count the table holds.
+     */
+    public int Capacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Width of one item section.
+     */
+    public float SectionWidth() {
+        return mSectionWidth;
+    }
+
+    /**
+     * Maps a logical item index to its display column and back (the mapping is its own inverse).
+     */
+    public int RTLIndex(int mIndex) {
+        return mRTL ? mCount - 1 - mIndex : mIndex;
+    }
+
+    /**
+     * Center X of an item.
+     */
+    public float CenterX(int mIndex) {
+        return mCenterX[mIndex];
+    }
+
+    /**
+     * Logical item index under the given X (may be out of range outside the view).
+     */
+    public int IndexAt(float mX) {
+        if (mSectionWidth <= 0f) return -1;
+        return RTLIndex((int) (mX / mSectionWidth));
+    }
+
+    /**
+     * Whether the label of an item is drawn in the given state.
+     */
+    public boolean ShowLabel(int mIndex, boolean mSelected) {
+        return mShowLabel[mSelected ? STATE_SELECTED : STATE_UNSELECTED][mIndex];
+    }
+
+    /**
+     * Icon top for the given state and current (possibly animated) icon size.
+     */
+    public float IconTop(int mIndex, boolean mSelected, float mIconSize) {
+        return mIconCenterY[mSelected ? STATE_SELECTED : STATE_UNSELECTED][mIndex] - mIconSize / 2f;
+    }
+
+    /**
+     * Icon center Y for the given state.
+     */
+    public float IconCenterY(int mIndex, boolean mSelected) {
+        return mIconCenterY[mSelected ? STATE_SELECTED : STATE_UNSELECTED][mIndex];
+    }
+
+    /**
+     * Label baseline Y for the given state and current icon size.
+     */
+    public float LabelBaseline(int mIndex, boolean mSelected, float mIconSize) {
+        int mState = mSelected ? STATE_SELECTED : STATE_UNSELECTED;
+        return mIconCenterY[mState][mIndex] + mIconSize / 2f + mLabelOffsetY[mState][mIndex];
+    }
+
+    /**
+     * Badge center X for the current icon size and badge radius.
+     */
+    public float BadgeX(int mIndex, float mIconSize, float mBadgeRadius) {
+        return mCenterX[mIndex] + mBadgeSide * (mIconSize / 2f + mBadgeRadius * 0.3f);
+    }
+
+    /**
+     * Badge center Y for the given state, current icon size and badge radius.
+     */
+    public float BadgeY(int mIndex, boolean mSelected, float mIconSize, float mBadgeRadius) {
+        return IconTop(mIndex, mSelected, mIconSize) - mBadgeRadius * 0.3f;
+    }
+}
@@ -0,0 +1,379 @@
+package com.navify.core;
+
+/**
+ * Item model of Navify: titles, animated per-item state and badges.
+ * <p>
+ * Each item carries its current icon size, icon alpha, label alpha and label
+ * offset. Settled items hold the values of their state (selected or
+ * unselected); during a selection transition the animated items are
+ * interpolated from the values captured when they joined the transition
+ * toward their end state, all from one progress value. Icons are platform
+ * objects and stay with the renderer, indexed the same way.
+ */
+public final class NavifyItemModel {
+    /**
+     * Max item count
+     */
+    private final int mCapacity;
+
+    /**
+     * Number of items
+     */
+    private int mCount = 0;
+
+    /**
+     * Icon size of selected and unselected items
+     */
+    private float mSelectedIconSize, mUnSelectedIconSize;
+
+    /**
+     * Label offset of unselected items (selected labels sit at 0)
+     */
+    private float mTextDistance;
+
+    /**
+     * Item titles
+     */
+    private final String[] mTitle;
+
+    /**
+     * Current icon size, icon alpha, label alpha and label offset per item
+     */
+    private final float[] mIconSize, mIconAlpha, mTextAlpha, mTextOffset;
+
+    /**
+     * Values captured when an item joined the running transition
+     */
+    private final float[] mStartIconSize, mStartIconAlpha, mStartTextAlpha, mStartTextOffset;
+
+    /**
+     * Bit per item taking part in the running transition
+     */
+    private int mAnimatedMask = 0;
+
+    /**
+     * Whether a badge is shown per item
+     */
+    private final boolean[] mBadgeEnabled;
+
+    /**
+     * Badge text per item
+     */
+    private final String[] mBadgeText;
+
+    /**
+     * Badge pop-in scale per item (1 when not animating)
+     */
+    private final float[] mBadgeScale;
+
+    /**
+     * @param mCapacity Max item count (at most 31, items are tracked in a bit mask)
+     */
+    public NavifyItemModel(int mCapacity) {
+        if (mCapacity < 0 || mCapacity > 31) throw new IllegalArgumentException("Capacity must be within 0..31");
+        this.mCapacity = mCapacity;
+        mTitle = new String[mCapacity];
+        mIconSize = new float[mCapacity];
+        mIconAlpha = new float[mCapacity];
+        mTextAlpha = new float[mCapacity];
+        mTextOffset = new float[mCapacity];
+        mStartIconSize = new float[mCapacity];
+        mStartIconAlpha = new float[mCapacity];
+        mStartTextAlpha = new float[mCapacity];
+        mStartTextOffset = new float[mCapacity];
+        mBadgeEnabled = new boolean[mCapacity];
+        mBadgeText = new String[mCapacity];
+        mBadgeScale = new float[mCapacity];
+        for (int mI = 0; mI < mCapacity; mI++) {
+            mIconAlpha[mI] = 1f;
+            mBadgeScale[mI] = 1f;
+        }
+    }
+
+    /**
+     * Sets the values of the two settled states.
+     * <p>
+     * Existing items keep their current values until they are settled again.
+     *
+     * @param mSelectedIconSize   Icon size of the selected item
+     * @param mUnSelectedIconSize Icon size of unselected items
+     * @param mTextDistance       Label offset of unselected items
+     */
+    public void SetStateValues(float mSelectedIconSize, float mUnSelectedIconSize, float mTextDistance) {
+        this.mSelectedIconSize = mSelectedIconSize;
+        this.mUnSelectedIconSize = mUnSelectedIconSize;
+        this.mTextDistance = mTextDistance;
+    }
+
+    /**
+     * Max item count.
+     */
+    public int Capacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Number of items.
+     */
+    public int Count() {
+        return mCount;
+    }
+
+    /**
+     * Sets the number of items; slots from the count on are cleared.
+     */
+    public void SetCount(int mCount) {
+        this.mCount = Math.max(0, Math.min(mCount, mCapacity));
+        for (int mI = this.mCount; mI < mCapacity; mI++) {
+            mTitle[mI] = null;
+            SetSettled(mI, false);
+        }
+    }
+
+    /**
+     * Title of an item.
+     */
+    public String Title(int mIndex) {
+        return mTitle[mIndex];
+    }
+
+    /**
+     * Sets the title of an item.
+     */
+    public void SetTitle(int mIndex, String mTitle) {
+        this.mTitle[mIndex] = mTitle;
+    }
+
+    /**
+     * Current (possibly animated) icon size.
+     */
+    public float IconSize(int mIndex) {
+        return mIconSize[mIndex];
+    }
+
+    /**
+     * Current icon alpha (0..1).
+     */
+    public float IconAlpha(int mIndex) {
+        return mIconAlpha[mIndex];
+    }
+
+    /**
+     * Current label alpha (0..1).
+     */
+    public float TextAlpha(int mIndex) {
+        return mTextAlpha[mIndex];
+    }
+
+    /**
+     * Current label offset below its resting position.
+     */
+    public float TextOffset(int mIndex) {
+        return mTextOffset[mIndex];
+    }
+
+    /**
+     * Puts an item in its settled selected or unselected state (icon alpha untouched).
+     */
+    public void SetSettled(int mIndex, boolean mSelected) {
+        mIconSize[mIndex] = mSelected ? mSelectedIconSize : mUnSelectedIconSize;
+        mTextAlpha[mIndex] = mSelected ? 1f : 0f;
+        mTextOffset[mIndex] = mSelected ? 0f : mTextDistance;
+    }
+
+    /**
+     * Settles every item: mSelected selected, the others unselected, all icons opaque.
+     */
+    public void SettleAll(int mSelected) {
+        for (int mI = 0; mI < mCapacity; mI++) {
+            SetSettled(mI, mI < mCount && mI == mSelected);
+            mIconAlpha[mI] = 1f;
+        }
+    }
+
+    /**
+     * Hides every label at its unselected offset (before a programmatic selection).
+     */
+    public void HideLabels() {
+        for (int mI = 0; mI < mCapacity; mI++) {
+            mTextAlpha[mI] = 0f;
+            mTextOffset[mI] = mTextDistance;
+        }
+    }
+
+    /**
+     * Sets every icon fully opaque.
+     */
+    public void ResetIconAlphas() {
+        for (int mI = 0; mI < mCapacity; mI++) {
+            mIconAlpha[mI] = 1f;
+        }
+    }
+
+    /**
+     * Prepares the items for a transition from mPrevious to mNext.
+     * <p>
+     * Uninvolved items are settled unselected, the previous item starts from
+     * the selected state and the new one starts with its icon hidden. Both
+     * join the transition.
+     */
+    public void BeginSelection(int mPrevious, int mNext) {
+        for (int mI = 0; mI < mCount; mI++) {
+            mIconAlpha[mI] = 1f;
+            if (mI != mPrevious && mI != mNext) SetSettled(mI, false);
+        }
+        mIconAlpha[mNext] = 0f;
+        SetSettled(mPrevious, true);
+
+        mAnimatedMask = 0;
+        BeginItem(mPrevious);
+        BeginItem(mNext);
+    }
+
+    /**
+     * Retargets the running transition to mTarget.
+     * <p>
+     * Every animated item continues from its current values; a newly involved
+     * target starts with its icon hidden, like any new selection.
+     */
+    public void Retarget(int mTarget) {
+        if (!IsAnimated(mTarget)) mIconAlpha[mTarget] = 0f;
+        for (int mI = 0; mI < mCount; mI++) {
+            if (IsAnimated(mI)) BeginItem(mI);
+        }
+        BeginItem(mTarget);
+    }
+
+    /**
+     * Captures an item's current values as its transition start and marks it animated.
+     */
+    public void BeginItem(int mIndex) {
+        mStartIconSize[mIndex] = mIconSize[mIndex];
+        mStartIconAlpha[mIndex] = mIconAlpha[mIndex];
+        mStartTextAlpha[mIndex] = mTextAlpha[mIndex];
+        mStartTextOffset[mIndex] = mTextOffset[mIndex];
+        mAnimatedMask |= 1 << mIndex;
+    }
+
+    /**
+     * Whether an item takes part in the running transition.
+     */
+    public boolean IsAnimated(int mIndex) {
+        return (mAnimatedMask & (1 << mIndex)) != 0;
+    }
+
+    /**
+     * Bit per animated item.
+     */
+    public int AnimatedMask() {
+        return mAnimatedMask;
+    }
+
+    /**
+     * Applies one transition frame to every animated item.
+     * <p>
+     * The target moves toward the selected state, every other animated item
+     * toward the unselected state.
+     *
+     * @param mTarget   Item being selected
+     * @param mFraction Item progress (may overshoot 0..1)
+     * @param mReduced  Reduced motion: labels only fade, icons only resize
+     */
+    public void ApplyFraction(int mTarget, float mFraction, boolean mReduced) {
+        for (int mI = 0; mI < mCount; mI++) {
+            if (!IsAnimated(mI)) continue;
+            boolean mSelected = mI == mTarget;
+
+            // Grow and fade in the new item; shrink, fade out and slide down the others
+            float mEndSize = mSelected ? mSelectedIconSize : mUnSelectedIconSize;
+            float mEndTextAlpha = mSelected ? 1f : 0f;
+            float mEndTextOffset = mSelected ? 0f : mTextDistance;
+            mIconSize[mI] = mStartIconSize[mI] + (mEndSize - mStartIconSize[mI]) * mFraction;
+            mTextAlpha[mI] = mStartTextAlpha[mI] + (mEndTextAlpha - mStartTextAlpha[mI]) * mFraction;
+            if (mReduced) {
+                mTextOffset[mI] = mEndTextOffset;
+                mIconAlpha[mI] = 1f;
+                continue;
+            }
+            mTextOffset[mI] = mStartTextOffset[mI] + (mEndTextOffset - mStartTextOffset[mI]) * mFraction;
+            mIconAlpha[mI] = Math.max(0f, Math.min(1f, mStartIconAlpha[mI] + (1f - mStartIconAlpha[mI]) * mFraction));
+        }
+    }
+
+    /**
+     * Settles the animated items on mSelected and ends the transition.
+     *
+     * @param mSelected Item the transition settles on, -1 to only clear the animated set
+     */
+    public void FinishSelection(int mSelected) {
+        int mMask = mAnimatedMask;
+        mAnimatedMask = 0;
+        if (mSelected < 0 || mSelected >= mCount) return;
+        for (int mI = 0; mI < mCount; mI++) {
+            if ((mMask & (1 << mI)) == 0 || mI == mSelected) continue;
+            SetSettled(mI, false);
+            mIconAlpha[mI] = 1f;
+        }
+        SetSettled(mSelected, true);
+        mIconAlpha[mSelected] = 1f;
+    }
+
+    /**
+     * Whether a badge is shown on an item.
+     */
+    public boolean BadgeEnabled(int mIndex) {
+        return mBadgeEnabled[mIndex];
+    }
+
+    /**
+     * Badge text of an item (null or empty when none).
+     */
+    public String BadgeText(int mIndex) {
+        return mBadgeText[mIndex];
+    }
+
+    /**
+     * Whether an item has a badge to draw.
+     */
+    public boolean HasVisibleBadge(int mIndex) {
+        return mBadgeEnabled[mIndex] && mBadgeText[mIndex] != null;
+    }
+
+    /**
+     * Badge pop-in scale of an item.
+     */
+    public float BadgeScale(int mIndex) {
+        return mBadgeScale[mIndex];
+    }
+
+    /**
+     * Sets an item's badge.
+     */
+    public void SetBadge(int mIndex, boolean mEnabled, String mText) {
+        mBadgeEnabled[mIndex] = mEnabled;
+        mBadgeText[mIndex] = mText;
+    }
+
+    /**
+     * Shows or hides an item's badge, keeping its text.
+     */
+    public void SetBadgeEnabled(int mIndex, boolean mEnabled) {
+        mBadgeEnabled[mIndex] = mEnabled;
+    }
+
+    /**
+     * Sets an item's badge pop-in scale.
+     */
+    public void SetBadgeScale(int mIndex, float mScale) {
+        mBadgeScale[mIndex] = mScale;
+    }
+
+    /**
+     * Removes an item's badge.
+     */
+    public void ClearBadge(int mIndex) {
+        mBadgeEnabled[mIndex] = false;
+        mBadgeText[mIndex] = "";
+        mBadgeScale[mIndex] = 1f;
+    }
+}
@@ -0,0 +1,173 @@
+package com.navify.core;
+
+/**
+ * Selection state machine for Navify.
+ * <p>
+ * IDLE: one item is selected and settled. A request moves to TRANSITIONING
+ * toward the requested item. Requests made while TRANSITIONING are coalesced:
+ * the selected index changes at once, but only the latest request is applied,
+ * on the next frame, by retargeting the running transition. Settling returns
+ * to IDLE on the pending item if one is left, else on the target, so
+ * intermediate selections never settle.
+ */
+public final class NavifySelection {
+    /**
+     * No transition in flight
+     */
+    public static final int STATE_IDLE = 0;
+
+    /**
+     * A transition toward the target is in flight
+     */
+    public static final int STATE_TRANSITIONING = 1;
+
+    /**
+     * Request was out of range and ignored
+     */
+    public static final int REQUEST_IGNORED = 0;
+
+    /**
+     * Request starts a new transition from the previous selection
+     */
+    public static final int REQUEST_START = 1;
+
+    /**
+     * Request was queued to retarget the running transition
+     */
+    public static final int REQUEST_COALESCED = 2;
+
+    /**
+     * Current state
+     */
+    private int mState = STATE_IDLE;
+
+    /**
+     * Selected item as reported to the app (already the latest request while transitioning)
+     */
+    private int mSelected = 0;
+
+    /**
+     * Selection before the latest started transition
+     */
+    private int mPrevious = 0;
+
+    /**
+     * Item the running transition moves toward, -1 when idle
+     */
+    private int mTarget = -1;
+
+    /**
+     * Latest selection requested during the running transition, -1 if none
+     */
+    private int mPending = -1;
+
+    /**
+     * Current state (STATE_*).
+     */
+    public int State() {
+        return mState;
+    }
+
+    /**
+     * Whether a transition is in flight.
+     */
+    public boolean IsTransitioning() {
+        return mState == STATE_TRANSITIONING;
+    }
+
+    /**
+     * Selected item.
+     */
+    public int Selected() {
+        return mSelected;
+    }
+
+    /**
+     * Selection before the latest started transition.
+     */
+    public int Previous() {
+        return mPrevious;
+    }
+
+    /**
+     * Item the running transition moves toward, -1 when idle.
+     */
+    public int Target() {
+        return mTarget;
+    }
+
+    /**
+     * Sets the selection without a transition (initial state, menu changes).
+     */
+    public void SetSelected(int mIndex) {
+        mSelected = mIndex;
+    }
+
+    /**
+     * Clamps the selection into 0..count-1, falling back to the first item.
+     */
+    public void Clamp(int mCount) {
+        if (mSelected < 0 || mSelected >= mCount) mSelected = 0;
+    }
+
+    /**
+     * Requests a new selection.
+     *
+     * @param mIndex Requested item
+     * @param mCount Item count
+     * @return REQUEST_IGNORED, REQUEST_START (Previous() holds the old selection) or REQUEST_COALESCED
+     */
+    public int Request(int mIndex, int mCount) {
+        if (mIndex < 0 || mIndex >= mCount) return REQUEST_IGNORED;
+        if (mState == STATE_TRANSITIONING) {
+            mPending = mIndex;
+            mSelected = mIndex;
+            return REQUEST_COALESCED;
+        }
+        mPrevious = mSelected;
+        mSelected = mIndex;
+        return REQUEST_START;
+    }
+
+    /**
+     * Marks the transition toward mIndex as running (start or retarget).
+     */
+    public void Begin(int mIndex) {
+        mTarget = mIndex;
+        mState = STATE_TRANSITIONING;
+    }
+
+    /**
+     * Takes the coalesced request to apply on this frame.
+     *
+     * @param mCount Item count
+     * @return The item to retarget to, or -1 when nothing (new) is pending
+     */
+    public int TakePending(int mCount) {
+        int mIndex = mPending;
+        if (mIndex < 0) return -1;
+        mPending = -1;
+        if (mIndex == mTarget || mIndex >= mCount) return -1;
+        return mIndex;
+    }
+
+    /**
+     * Ends the transition and returns to IDLE.
+     *
+     * @return The item to settle on (pending request first, else the target), -1 if none
+     */
+    public int Settle() {
+        int mIndex = mPending >= 0 ? mPending : mTarget;
+        Reset();
+        return mIndex;
+    }
+
+    /**
+     * Drops the transition without settling (items cleared).
+     */
+    public void Reset() {
+        mPending = -1;
+        mTarget = -1;
+        mState = STATE_IDLE;
+    }
+}
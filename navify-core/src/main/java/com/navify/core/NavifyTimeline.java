@@ -0,0 +1,278 @@
+package com.navify.core;
+
+/**
+ * Timeline of one Navify selection transition, advanced by frame times.
+ * <p>
+ * Two modes are supported:
+ * <ul>
+ * <li>Timed: linear progress over a fixed duration; the caller applies its
+ * curve and places the circle with {@link #CircleXAt(float)}.</li>
+ * <li>Spring: the circle X and the item progress are damped springs,
+ * integrated with fixed semi-implicit Euler steps. A retarget that carries
+ * keeps the circle's position and velocity.</li>
+ * </ul>
+ * Also counts frames and estimates dropped frames from frame time gaps.
+ * Nothing is allocated after construction.
+ */
+public final class NavifyTimeline {
+    /**
+     * Spring integration step in seconds
+     */
+    private static final float NAVIFY_SPRING_STEP = 0.001f;
+
+    /**
+     * Longest frame gap integrated at once (avoids jumps after a stall)
+     */
+    private static final float NAVIFY_SPRING_MAX_FRAME = 1f / 30f;
+
+    /**
+     * Circle is at rest when closer than this to its target (pixels)
+     */
+    private static final float NAVIFY_SPRING_REST_DISTANCE = 0.5f;
+
+    /**
+     * Circle is at rest when slower than this (pixels per second)
+     */
+    private static final float NAVIFY_SPRING_REST_VELOCITY = 10f;
+
+    /**
+     * Item progress is at rest when closer than this to 1
+     */
+    private static final float NAVIFY_SPRING_REST_PROGRESS = 0.002f;
+
+    /**
+     * Scaled duration in nanoseconds (timed mode)
+     */
+    private long mDurationNanos;
+
+    /**
+     * Frame time of the first frame, -1 until it arrives (timed mode)
+     */
+    private long mStartNanos = -1L;
+
+    /**
+     * Circle X at the start and end of the transition
+     */
+    private float mStartX, mEndX;
+
+    /**
+     * Whether the timeline is spring driven
+     */
+    private boolean mSpring = false;
+
+    /**
+     * Spring stiffness (mass 1) and damping ratio
+     */
+    private float mStiffness, mDampingRatio;
+
+    /**
+     * Spring state: circle X and velocity (px/s)
+     */
+    private float mCircleX, mCircleVelocity;
+
+    /**
+     * Item progress (linear in timed mode) and its spring velocity (1/s)
+     */
+    private float mProgress, mProgressVelocity;
+
+    /**
+     * Time of the previous spring frame, -1 until the first one arrives
+     */
+    private long mLastFrameNanos = -1L;
+
+    /**
+     * Animator duration scale captured at start
+     */
+    private float mDurationScale = 1f;
+
+    /**
+     * Frames advanced and estimated frames dropped since the stats were reset
+     */
+    private int mFrames, mDroppedFrames;
+
+    /**
+     * Time of the previous frame for drop estimation, -1 before the first
+     */
+    private long mPrevFrameNanos = -1L;
+
+    /**
+     * Expected frame interval used to estimate dropped frames
+     */
+    private long mFrameBudgetNanos = 16_666_667L;
+
+    /**
+     * Starts (or restarts) a timed timeline; a restart begins from the given start X.
+     *
+     * @param mStartX        Circle X at the start
+     * @param mEndX          Circle X at the end
+     * @param mDurationMs    Duration in milliseconds
+     * @param mDurationScale Animator duration scale
+     */
+    public void StartTimed(float mStartX, float mEndX, long mDurationMs, float mDurationScale) {
+        this.mStartX = mStartX;
+        this.mEndX = mEndX;
+        this.mDurationScale = mDurationScale;
+        mSpring = false;
+        mDurationNanos = (long) (Math.max(0L, mDurationMs) * mDurationScale * 1_000_000L);
+        mStartNanos = -1L;
+        mProgress = 0f;
+    }
+
+    /**
+     * Starts a spring timeline, or retargets a running one.
+     * <p>
+     * When carrying, the circle keeps its current position and velocity and
+     * only its target changes. The item progress always restarts from 0
+     * because it belongs to the newly animated items.
+     *
+     * @param mStartX        Circle X to start from when not carrying
+     * @param mEndX          Circle target X
+     * @param mStiffness     Spring stiffness (higher is faster)
+     * @param mDampingRatio  Damping ratio (1 is critically damped, lower bounces)
+     * @param mDurationScale Animator duration scale (0 settles at once)
+     * @param mCarry         Keep the circle's motion (a spring timeline is running)
+     */
+    public void StartSpring(float mStartX, float mEndX, float mStiffness, float mDampingRatio, float mDurationScale, boolean mCarry) {
+        if (!mCarry || !mSpring) {
+            mCircleX = mStartX;
+            mCircleVelocity = 0f;
+            mLastFrameNanos = -1L;
+        }
+        this.mStartX = mStartX;
+        this.mEndX = mEndX;
+        this.mStiffness = mStiffness;
+        this.mDampingRatio = mDampingRatio;
+        this.mDurationScale = mDurationScale;
+        mSpring = true;
+        mProgress = 0f;
+        mProgressVelocity = 0f;
+    }
+
+    /**
+     * Resets frame counting for a new transition.
+     */
+    public void ResetFrameStats() {
+        mFrames = 0;
+        mDroppedFrames = 0;
+        mPrevFrameNanos = -1L;
+    }
+
+    /**
+     * Sets the expected frame interval used to estimate dropped frames.
+     */
+    public void SetFrameBudget(long mFrameBudgetNanos) {
+        this.mFrameBudgetNanos = Math.max(1L, mFrameBudgetNanos);
+    }
+
+    /**
+     * Advances to the given frame time.
+     *
+     * @return true once the end was reached (final values in place)
+     */
+    public boolean Advance(long mFrameTimeNanos) {
+        mFrames++;
+        if (mPrevFrameNanos >= 0L) {
+            long mGap = mFrameTimeNanos - mPrevFrameNanos;
+            if (mGap * 2L > mFrameBudgetNanos * 3L) {
+                mDroppedFrames += (int) Math.max(1L, Math.round(mGap / (double) mFrameBudgetNanos) - 1L);
+            }
+        }
+        mPrevFrameNanos = mFrameTimeNanos;
+        return mSpring ? AdvanceSpring(mFrameTimeNanos) : AdvanceTimed(mFrameTimeNanos);
+    }
+
+    /**
+     * Whether the timeline is spring driven.
+     */
+    public boolean IsSpring() {
+        return mSpring;
+    }
+
+    /**
+     * Item progress: linear 0..1 in timed mode, the spring value (may overshoot) in spring mode.
+     */
+    public float Progress() {
+        return mProgress;
+    }
+
+    /**
+     * Circle X in spring mode.
+     */
+    public float CircleX() {
+        return mCircleX;
+    }
+
+    /**
+     * Circle X in timed mode for a curved fraction.
+     */
+    public float CircleXAt(float mFraction) {
+        return mStartX + (mEndX - mStartX) * mFraction;
+    }
+
+    /**
+     * Frames advanced since the stats were reset.
+     */
+    public int Frames() {
+        return mFrames;
+    }
+
+    /**
+     * Frames dropped since the stats were reset, estimated from frame time gaps.
+     */
+    public int DroppedFrames() {
+        return mDroppedFrames;
+    }
+
+    /**
+     * Advances the timed mode.
+     */
+    private boolean AdvanceTimed(long mFrameTimeNanos) {
+        if (mStartNanos < 0L) {
+            mStartNanos = mFrameTimeNanos;
+        }
+        mProgress = mDurationNanos <= 0L ? 1f : Math.min(1f, (mFrameTimeNanos - mStartNanos) / (float) mDurationNanos);
+        return mProgress >= 1f;
+    }
+
+    /**
+     * Advances the spring mode with fixed semi-implicit Euler steps.
+     */
+    private boolean AdvanceSpring(long mFrameTimeNanos) {
+        if (mDurationScale <= 0f) {
+            SettleSpring();
+            return true;
+        }
+
+        float mElapsed = mLastFrameNanos < 0L ? 0f : (mFrameTimeNanos - mLastFrameNanos) / 1_000_000_000f;
+        mLastFrameNanos = mFrameTimeNanos;
+        mElapsed = Math.min(Math.max(0f, mElapsed), NAVIFY_SPRING_MAX_FRAME) / mDurationScale;
+
+        float mDamping = 2f * mDampingRatio * (float) Math.sqrt(mStiffness);
+        while (mElapsed > 0f) {
+            float mStep = Math.min(NAVIFY_SPRING_STEP, mElapsed);
+            mElapsed -= mStep;
+            mCircleVelocity += (-mStiffness * (mCircleX - mEndX) - mDamping * mCircleVelocity) * mStep;
+            mCircleX += mCircleVelocity * mStep;
+            mProgressVelocity += (-mStiffness * (mProgress - 1f) - mDamping * mProgressVelocity) * mStep;
+            mProgress += mProgressVelocity * mStep;
+        }
+
+        boolean mCircleRest = Math.abs(mCircleX - mEndX) < NAVIFY_SPRING_REST_DISTANCE && Math.abs(mCircleVelocity) < NAVIFY_SPRING_REST_VELOCITY;
+        boolean mProgressRest = Math.abs(1f - mProgress) < NAVIFY_SPRING_REST_PROGRESS && Math.abs(mProgressVelocity) < NAVIFY_SPRING_REST_PROGRESS * 10f;
+        if (mCircleRest && mProgressRest) {
+            SettleSpring();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Puts both springs at rest on their targets.
+     */
+    private void SettleSpring() {
+        mCircleX = mEndX;
+        mCircleVelocity = 0f;
+        mProgress = 1f;
+        mProgressVelocity = 0f;
+    }
+}
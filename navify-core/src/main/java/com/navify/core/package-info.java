@@ -0,0 +1,9 @@
+/**
+ * Platform-free core of Navify: item layout, item model, selection state,
+ * transition timeline, timing curves, bump geometry and badge formatting.
+ * <p>
+ * Nothing here depends on Android, so the classes can be benchmarked and
+ * tested on a plain JVM. The package is internal to Navify and not a stable
+ * API.
+ */
+package com.navify.core;
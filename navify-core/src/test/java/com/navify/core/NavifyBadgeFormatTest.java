@@ -0,0 +1,36 @@
+package com.navify.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Badge count clamping and text.
+ */
+public class NavifyBadgeFormatTest {
+    @Test
+    public void clamp_keepsCountWithinZeroAndMax() {
+        assertEquals(0, NavifyBadgeFormat.Clamp(-4, 99));
+        assertEquals(42, NavifyBadgeFormat.Clamp(42, 99));
+        assertEquals(99, NavifyBadgeFormat.Clamp(250, 99));
+    }
+
+    @Test
+    public void format_zeroAndNegativeHaveNoText() {
+        assertEquals("", NavifyBadgeFormat.Format(0, 99));
+        assertEquals("", NavifyBadgeFormat.Format(-1, 99));
+    }
+
+    @Test
+    public void format_belowMaxIsTheCount() {
+        assertEquals("1", NavifyBadgeFormat.Format(1, 99));
+        assertEquals("98", NavifyBadgeFormat.Format(98, 99));
+    }
+
+    @Test
+    public void format_maxAndAboveShowPlus() {
+        assertEquals("99+", NavifyBadgeFormat.Format(99, 99));
+        assertEquals("99+", NavifyBadgeFormat.Format(120, 99));
+        assertEquals("9+", NavifyBadgeFormat.Format(Integer.MAX_VALUE, 9));
+    }
+}
@@ -0,0 +1,70 @@
+package com.navify.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Sampled curves: evaluation, clamping and cubic-bezier sampling.
+ */
+public class NavifyCurvesTest {
+    @Test
+    public void evaluate_interpolatesBetweenSamples() {
+        float[] mSamples = {0f, 0.5f, 1f};
+        assertEquals(0.25f, NavifyCurves.Evaluate(mSamples, 0.25f), 1e-6f);
+        assertEquals(0.5f, NavifyCurves.Evaluate(mSamples, 0.5f), 1e-6f);
+    }
+
+    @Test
+    public void evaluate_clampsInput() {
+        float[] mSamples = {0.1f, 0.4f, 0.9f};
+        assertEquals(0.1f, NavifyCurves.Evaluate(mSamples, -1f), 0f);
+        assertEquals(0.9f, NavifyCurves.Evaluate(mSamples, 1f), 0f);
+        assertEquals(0.9f, NavifyCurves.Evaluate(mSamples, 3f), 0f);
+    }
+
+    @Test
+    public void sampleBezier_linearCurveIsIdentity() {
+        float[] mSamples = NavifyCurves.SampleBezier(0.25f, 0.25f, 0.75f, 0.75f);
+        assertEquals(NavifyCurves.SAMPLES, mSamples.length);
+        for (float mX = 0f; mX <= 1f; mX += 0.05f) {
+            assertEquals(mX, NavifyCurves.Evaluate(mSamples, mX), 1e-4f);
+        }
+    }
+
+    @Test
+    public void sampleBezier_endsAreExact() {
+        float[] mSamples = NavifyCurves.SampleBezier(0.4f, 0f, 0.2f, 1f);
+        assertEquals(0f, mSamples[0], 0f);
+        assertEquals(1f, mSamples[NavifyCurves.SAMPLES - 1], 0f);
+    }
+
+    @Test
+    public void sampleBezier_easeIsMonotonicAndSymmetric() {
+        // Standard ease-in-out: symmetric around (0.5, 0.5)
+        float[] mSamples = NavifyCurves.SampleBezier(0.42f, 0f, 0.58f, 1f);
+        for (int mI = 1; mI < mSamples.length; mI++) {
+            assertTrue(mSamples[mI] >= mSamples[mI - 1]);
+        }
+        assertEquals(0.5f, NavifyCurves.Evaluate(mSamples, 0.5f), 1e-3f);
+        assertEquals(1f - NavifyCurves.Evaluate(mSamples, 0.2f), NavifyCurves.Evaluate(mSamples, 0.8f), 1e-3f);
+        assertTrue(NavifyCurves.Evaluate(mSamples, 0.2f) < 0.2f);
+    }
+
+    @Test
+    public void sampleBezier_allowsOvershoot() {
+        float[] mSamples = NavifyCurves.SampleBezier(0.3f, 1.6f, 0.6f, 1.2f);
+        float mMax = 0f;
+        for (float mSample : mSamples) mMax = Math.max(mMax, mSample);
+        assertTrue(mMax > 1f);
+    }
+
+    @Test
+    public void isValidBezier_requiresXInRangeAndFiniteY() {
+        assertTrue(NavifyCurves.IsValidBezier(0f, -2f, 1f, 3f));
+        assertFalse(NavifyCurves.IsValidBezier(-0.1f, 0f, 0.5f, 1f));
+        assertFalse(NavifyCurves.IsValidBezier(0.1f, 0f, 1.5f, 1f));
+        assertFalse(NavifyCurves.IsValidBezier(0.1f, Float.NaN, 0.5f, 1f));
+        assertFalse(NavifyCurves.IsValidBezier(0.1f, 0f, 0.5f, Float.POSITIVE_INFINITY));
+    }
+}
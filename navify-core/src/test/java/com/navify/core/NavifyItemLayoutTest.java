@@ -0,0 +1,130 @@
+package com.navify.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Item layout: columns, RTL mapping, hit testing, state geometry and badge anchors.
+ */
+public class NavifyItemLayoutTest {
+    @Test
+    public void setColumns_centersItemsInEqualSections() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(5);
+        mLayout.SetColumns(4, 400, false);
+        assertEquals(100f, mLayout.SectionWidth(), 0f);
+        assertEquals(50f, mLayout.CenterX(0), 0f);
+        assertEquals(350f, mLayout.CenterX(3), 0f);
+    }
+
+    @Test
+    public void setColumns_rtlMirrorsCenters() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(5);
+        mLayout.SetColumns(4, 400, true);
+        assertEquals(350f, mLayout.CenterX(0), 0f);
+        assertEquals(50f, mLayout.CenterX(3), 0f);
+        assertEquals(3, mLayout.RTLIndex(0));
+        assertEquals(0, mLayout.RTLIndex(mLayout.RTLIndex(0)));
+    }
+
+    @Test
+    public void setColumns_clampsToCapacity() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(3);
+        mLayout.SetColumns(5, 300, false);
+        assertEquals(100f, mLayout.SectionWidth(), 0f);
+        assertFalse(mLayout.IsStale(3, 300, false));
+        assertTrue(mLayout.IsStale(5, 300, false));
+    }
+
+    @Test
+    public void isStale_tracksCountWidthAndDirection() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(5);
+        assertTrue(mLayout.IsStale(0, 0, false));
+        mLayout.SetColumns(3, 300, false);
+        assertFalse(mLayout.IsStale(3, 300, false));
+        assertTrue(mLayout.IsStale(3, 301, false));
+        assertTrue(mLayout.IsStale(3, 300, true));
+        assertTrue(mLayout.IsStale(4, 300, false));
+    }
+
+    @Test
+    public void indexAt_mapsXToLogicalItem() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(5);
+        mLayout.SetColumns(4, 400, false);
+        assertEquals(0, mLayout.IndexAt(0f));
+        assertEquals(0, mLayout.IndexAt(99.9f));
+        assertEquals(1, mLayout.IndexAt(100f));
+        assertEquals(3, mLayout.IndexAt(399f));
+
+        mLayout.SetColumns(4, 400, true);
+        assertEquals(3, mLayout.IndexAt(0f));
+        assertEquals(0, mLayout.IndexAt(399f));
+    }
+
+    @Test
+    public void indexAt_withoutColumnsIsNone() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(5);
+        assertEquals(-1, mLayout.IndexAt(10f));
+        mLayout.SetColumns(0, 400, false);
+        assertEquals(-1, mLayout.IndexAt(10f));
+    }
+
+    @Test
+    public void setStateGeometry_selectedOnlyShowsLabelWhenSelected() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(5);
+        mLayout.SetColumns(3, 300, false);
+        mLayout.SetStateGeometry(NavifyItemLayout.STATE_SELECTED, NavifyItemLayout.LABEL_SELECTED, 50f, 60f, 40f, -10f, 4f, 2f, 6f);
+        mLayout.SetStateGeometry(NavifyItemLayout.STATE_UNSELECTED, NavifyItemLayout.LABEL_SELECTED, 50f, 60f, 40f, -10f, 4f, 2f, 6f);
+
+        assertTrue(mLayout.ShowLabel(1, true));
+        assertFalse(mLayout.ShowLabel(1, false));
+
+        // Selected icons sit in the circle; unselected icons are centered in the bar without a label
+        assertEquals(40f, mLayout.IconCenterY(1, true), 0f);
+        assertEquals(80f, mLayout.IconCenterY(1, false), 0f);
+        assertEquals(30f, mLayout.IconTop(1, true, 20f), 0f);
+        // Baseline = icon bottom + gap + selected extra space - ascent
+        assertEquals(40f + 10f + 2f + 6f + 10f, mLayout.LabelBaseline(1, true, 20f), 1e-4f);
+    }
+
+    @Test
+    public void setStateGeometry_labeledCentersIconBlock() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(5);
+        mLayout.SetColumns(3, 300, false);
+        mLayout.SetStateGeometry(NavifyItemLayout.STATE_UNSELECTED, NavifyItemLayout.LABEL_LABELED, 50f, 60f, 40f, -10f, 4f, 2f, 6f);
+        assertTrue(mLayout.ShowLabel(0, false));
+        // Block = gap 2 + text 14, centered in the 60 bar: 50 + (60 - 16) / 2
+        assertEquals(72f, mLayout.IconCenterY(0, false), 1e-4f);
+
+        mLayout.SetStateGeometry(NavifyItemLayout.STATE_UNSELECTED, NavifyItemLayout.LABEL_UNLABELED, 50f, 60f, 40f, -10f, 4f, 2f, 6f);
+        assertFalse(mLayout.ShowLabel(0, false));
+        assertEquals(80f, mLayout.IconCenterY(0, false), 0f);
+    }
+
+    @Test
+    public void showsLabel_followsVisibilityMode() {
+        assertTrue(NavifyItemLayout.ShowsLabel(NavifyItemLayout.LABEL_SELECTED, true));
+        assertFalse(NavifyItemLayout.ShowsLabel(NavifyItemLayout.LABEL_SELECTED, false));
+        assertTrue(NavifyItemLayout.ShowsLabel(NavifyItemLayout.LABEL_LABELED, false));
+        assertFalse(NavifyItemLayout.ShowsLabel(NavifyItemLayout.LABEL_UNLABELED, true));
+    }
+
+    @Test
+    public void badge_anchorsOnConfiguredSide() {
+        NavifyItemLayout mLayout = new NavifyItemLayout(5);
+        mLayout.SetColumns(2, 200, false);
+        mLayout.SetState(NavifyItemLayout.STATE_UNSELECTED, false, 80f, 0f);
+
+        // END: right of the icon, overlapping by 30% of the radius
+        assertEquals(50f + 12f + 3f, mLayout.BadgeX(0, 24f, 10f), 1e-4f);
+        assertEquals(80f - 12f - 3f, mLayout.BadgeY(0, false, 24f, 10f), 1e-4f);
+
+        mLayout.SetBadgeSide(false);
+        assertEquals(50f - 12f - 3f, mLayout.BadgeX(0, 24f, 10f), 1e-4f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeCapacityIsRejected() {
+        new NavifyItemLayout(-1);
+    }
+}
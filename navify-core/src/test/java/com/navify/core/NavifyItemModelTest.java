@@ -0,0 +1,179 @@
+package com.navify.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Item model: settled states, transition interpolation, retargeting and the animated item mask.
+ */
+public class NavifyItemModelTest {
+    private static NavifyItemModel Model(int mCount) {
+        NavifyItemModel mModel = new NavifyItemModel(5);
+        mModel.SetStateValues(40f, 24f, 10f);
+        mModel.SetCount(mCount);
+        mModel.SettleAll(0);
+        return mModel;
+    }
+
+    @Test
+    public void settleAll_putsOneItemSelected() {
+        NavifyItemModel mModel = Model(3);
+        assertEquals(40f, mModel.IconSize(0), 0f);
+        assertEquals(1f, mModel.TextAlpha(0), 0f);
+        assertEquals(0f, mModel.TextOffset(0), 0f);
+        assertEquals(24f, mModel.IconSize(2), 0f);
+        assertEquals(0f, mModel.TextAlpha(2), 0f);
+        assertEquals(10f, mModel.TextOffset(2), 0f);
+        assertEquals(1f, mModel.IconAlpha(2), 0f);
+    }
+
+    @Test
+    public void beginSelection_animatesOnlyPreviousAndNext() {
+        NavifyItemModel mModel = Model(4);
+        mModel.BeginSelection(0, 2);
+        assertEquals((1 << 0) | (1 << 2), mModel.AnimatedMask());
+        assertEquals(0f, mModel.IconAlpha(2), 0f);
+        assertFalse(mModel.IsAnimated(1));
+    }
+
+    @Test
+    public void applyFraction_interpolatesTowardEndStates() {
+        NavifyItemModel mModel = Model(4);
+        mModel.BeginSelection(0, 2);
+        mModel.ApplyFraction(2, 0.5f, false);
+
+        assertEquals(32f, mModel.IconSize(0), 1e-4f);
+        assertEquals(0.5f, mModel.TextAlpha(0), 1e-4f);
+        assertEquals(5f, mModel.TextOffset(0), 1e-4f);
+        assertEquals(32f, mModel.IconSize(2), 1e-4f);
+        assertEquals(0.5f, mModel.IconAlpha(2), 1e-4f);
+        assertEquals(24f, mModel.IconSize(1), 0f);
+    }
+
+    @Test
+    public void applyFraction_reducedMotionOnlyFadesAndResizes() {
+        NavifyItemModel mModel = Model(3);
+        mModel.BeginSelection(0, 1);
+        mModel.ApplyFraction(1, 0.25f, true);
+        assertEquals(0f, mModel.TextOffset(1), 0f);
+        assertEquals(10f, mModel.TextOffset(0), 0f);
+        assertEquals(1f, mModel.IconAlpha(1), 0f);
+        assertEquals(0.25f, mModel.TextAlpha(1), 1e-4f);
+    }
+
+    @Test
+    public void applyFraction_clampsIconAlphaOnOvershoot() {
+        NavifyItemModel mModel = Model(3);
+        mModel.BeginSelection(0, 1);
+        mModel.ApplyFraction(1, 1.2f, false);
+        assertEquals(1f, mModel.IconAlpha(1), 0f);
+        assertEquals(24f + 16f * 1.2f, mModel.IconSize(1), 1e-4f);
+    }
+
+    @Test
+    public void retarget_continuesFromCurrentValues() {
+        NavifyItemModel mModel = Model(4);
+        mModel.BeginSelection(0, 1);
+        mModel.ApplyFraction(1, 0.5f, false);
+
+        mModel.Retarget(3);
+        assertEquals((1 << 0) | (1 << 1) | (1 << 3), mModel.AnimatedMask());
+        assertEquals(0f, mModel.IconAlpha(3), 0f);
+
+        // Item 1 was half way in; it now heads back out from there
+        mModel.ApplyFraction(3, 0f, false);
+        assertEquals(32f, mModel.IconSize(1), 1e-4f);
+        mModel.ApplyFraction(3, 1f, false);
+        assertEquals(24f, mModel.IconSize(1), 1e-4f);
+        assertEquals(40f, mModel.IconSize(3), 1e-4f);
+        assertEquals(1f, mModel.TextAlpha(3), 1e-4f);
+    }
+
+    @Test
+    public void retarget_keepsIconOfAlreadyAnimatedTarget() {
+        NavifyItemModel mModel = Model(3);
+        mModel.BeginSelection(0, 1);
+        mModel.ApplyFraction(1, 0.5f, false);
+        mModel.Retarget(0);
+        assertEquals(1f, mModel.IconAlpha(0), 0f);
+    }
+
+    @Test
+    public void finishSelection_settlesAnimatedItems() {
+        NavifyItemModel mModel = Model(4);
+        mModel.BeginSelection(0, 1);
+        mModel.ApplyFraction(1, 0.3f, false);
+        mModel.Retarget(2);
+        mModel.ApplyFraction(2, 0.6f, false);
+
+        mModel.FinishSelection(2);
+        assertEquals(0, mModel.AnimatedMask());
+        assertEquals(40f, mModel.IconSize(2), 0f);
+        assertEquals(1f, mModel.IconAlpha(2), 0f);
+        assertEquals(1f, mModel.TextAlpha(2), 0f);
+        for (int mI : new int[]{0, 1}) {
+            assertEquals(24f, mModel.IconSize(mI), 0f);
+            assertEquals(0f, mModel.TextAlpha(mI), 0f);
+            assertEquals(10f, mModel.TextOffset(mI), 0f);
+            assertEquals(1f, mModel.IconAlpha(mI), 0f);
+        }
+    }
+
+    @Test
+    public void finishSelection_outOfRangeOnlyClearsMask() {
+        NavifyItemModel mModel = Model(3);
+        mModel.BeginSelection(0, 1);
+        mModel.ApplyFraction(1, 0.5f, false);
+        mModel.FinishSelection(-1);
+        assertEquals(0, mModel.AnimatedMask());
+        assertEquals(32f, mModel.IconSize(1), 1e-4f);
+    }
+
+    @Test
+    public void mask_coversAllThirtyOneItems() {
+        NavifyItemModel mModel = new NavifyItemModel(31);
+        mModel.SetStateValues(40f, 24f, 10f);
+        mModel.SetCount(31);
+        mModel.SettleAll(0);
+        mModel.BeginSelection(0, 30);
+        assertTrue(mModel.IsAnimated(30));
+        assertTrue(mModel.AnimatedMask() > 0);
+        mModel.ApplyFraction(30, 1f, false);
+        assertEquals(40f, mModel.IconSize(30), 1e-4f);
+        mModel.FinishSelection(30);
+        assertFalse(mModel.IsAnimated(30));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityAboveMaskIsRejected() {
+        new NavifyItemModel(32);
+    }
+
+    @Test
+    public void setCount_clearsRemovedSlots() {
+        NavifyItemModel mModel = Model(3);
+        mModel.SetTitle(2, "Add");
+        mModel.SetCount(2);
+        assertNull(mModel.Title(2));
+        assertEquals(2, mModel.Count());
+        mModel.SetCount(9);
+        assertEquals(5, mModel.Count());
+    }
+
+    @Test
+    public void badges_visibleOnlyWhenEnabledWithText() {
+        NavifyItemModel mModel = Model(3);
+        assertFalse(mModel.HasVisibleBadge(1));
+        mModel.SetBadge(1, true, "3");
+        assertTrue(mModel.HasVisibleBadge(1));
+        mModel.SetBadgeEnabled(1, false);
+        assertFalse(mModel.HasVisibleBadge(1));
+        assertEquals("3", mModel.BadgeText(1));
+
+        mModel.SetBadgeScale(1, 0.5f);
+        mModel.ClearBadge(1);
+        assertEquals("", mModel.BadgeText(1));
+        assertEquals(1f, mModel.BadgeScale(1), 0f);
+    }
+}
@@ -0,0 +1,66 @@
+package com.navify.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Selection state machine: start, coalescing and settling.
+ */
+public class NavifySelectionTest {
+    @Test
+    public void request_startsFromPreviousSelection() {
+        NavifySelection mSelection = new NavifySelection();
+        assertEquals(NavifySelection.REQUEST_START, mSelection.Request(2, 5));
+        assertEquals(0, mSelection.Previous());
+        assertEquals(2, mSelection.Selected());
+
+        mSelection.Begin(2);
+        assertTrue(mSelection.IsTransitioning());
+        assertEquals(2, mSelection.Settle());
+        assertEquals(NavifySelection.STATE_IDLE, mSelection.State());
+    }
+
+    @Test
+    public void request_outOfRangeIsIgnored() {
+        NavifySelection mSelection = new NavifySelection();
+        assertEquals(NavifySelection.REQUEST_IGNORED, mSelection.Request(5, 5));
+        assertEquals(NavifySelection.REQUEST_IGNORED, mSelection.Request(-1, 5));
+        assertEquals(0, mSelection.Selected());
+    }
+
+    @Test
+    public void request_whileTransitioningKeepsOnlyTheLatest() {
+        NavifySelection mSelection = new NavifySelection();
+        mSelection.Request(1, 5);
+        mSelection.Begin(1);
+
+        assertEquals(NavifySelection.REQUEST_COALESCED, mSelection.Request(3, 5));
+        assertEquals(NavifySelection.REQUEST_COALESCED, mSelection.Request(4, 5));
+        assertEquals(4, mSelection.Selected());
+
+        assertEquals(4, mSelection.TakePending(5));
+        assertEquals(-1, mSelection.TakePending(5));
+        mSelection.Begin(4);
+        assertEquals(4, mSelection.Settle());
+    }
+
+    @Test
+    public void settle_prefersPendingOverTarget() {
+        NavifySelection mSelection = new NavifySelection();
+        mSelection.Request(1, 5);
+        mSelection.Begin(1);
+        mSelection.Request(2, 5);
+        assertEquals(2, mSelection.Settle());
+        assertFalse(mSelection.IsTransitioning());
+    }
+
+    @Test
+    public void takePending_ignoresCurrentTarget() {
+        NavifySelection mSelection = new NavifySelection();
+        mSelection.Request(1, 5);
+        mSelection.Begin(1);
+        mSelection.Request(1, 5);
+        assertEquals(-1, mSelection.TakePending(5));
+    }
+}
@@ -0,0 +1,81 @@
+package com.navify.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Transition timeline: timed progress, spring settling and frame stats.
+ */
+public class NavifyTimelineTest {
+    private static final long FRAME_NANOS = 16_666_667L;
+
+    @Test
+    public void timed_progressFollowsFrameTime() {
+        NavifyTimeline mTimeline = new NavifyTimeline();
+        mTimeline.StartTimed(0f, 100f, 100L, 1f);
+        mTimeline.ResetFrameStats();
+
+        assertFalse(mTimeline.Advance(1_000_000_000L));
+        assertEquals(0f, mTimeline.Progress(), 0f);
+        assertFalse(mTimeline.Advance(1_050_000_000L));
+        assertEquals(0.5f, mTimeline.Progress(), 1e-4f);
+        assertEquals(50f, mTimeline.CircleXAt(mTimeline.Progress()), 1e-2f);
+        assertTrue(mTimeline.Advance(1_100_000_000L));
+        assertEquals(1f, mTimeline.Progress(), 0f);
+    }
+
+    @Test
+    public void timed_zeroDurationScaleEndsOnFirstFrame() {
+        NavifyTimeline mTimeline = new NavifyTimeline();
+        mTimeline.StartTimed(0f, 100f, 300L, 0f);
+        assertTrue(mTimeline.Advance(0L));
+        assertEquals(1f, mTimeline.Progress(), 0f);
+    }
+
+    @Test
+    public void spring_settlesOnTarget() {
+        NavifyTimeline mTimeline = new NavifyTimeline();
+        mTimeline.StartSpring(0f, 200f, 1500f, 0.75f, 1f, false);
+        mTimeline.ResetFrameStats();
+
+        long mTime = 0L;
+        boolean mDone = false;
+        for (int mI = 0; mI < 600 && !mDone; mI++) {
+            mDone = mTimeline.Advance(mTime);
+            mTime += FRAME_NANOS;
+        }
+        assertTrue(mDone);
+        assertEquals(200f, mTimeline.CircleX(), 0f);
+        assertEquals(1f, mTimeline.Progress(), 0f);
+    }
+
+    @Test
+    public void spring_carryKeepsCirclePosition() {
+        NavifyTimeline mTimeline = new NavifyTimeline();
+        mTimeline.StartSpring(0f, 200f, 1500f, 0.75f, 1f, false);
+        mTimeline.Advance(0L);
+        mTimeline.Advance(FRAME_NANOS);
+        mTimeline.Advance(2 * FRAME_NANOS);
+        float mCircleX = mTimeline.CircleX();
+        assertTrue(mCircleX > 0f);
+
+        mTimeline.StartSpring(0f, 400f, 1500f, 0.75f, 1f, true);
+        assertEquals(mCircleX, mTimeline.CircleX(), 0f);
+        assertEquals(0f, mTimeline.Progress(), 0f);
+    }
+
+    @Test
+    public void frameStats_countDroppedFrames() {
+        NavifyTimeline mTimeline = new NavifyTimeline();
+        mTimeline.SetFrameBudget(FRAME_NANOS);
+        mTimeline.StartTimed(0f, 100f, 1000L, 1f);
+        mTimeline.ResetFrameStats();
+
+        mTimeline.Advance(0L);
+        mTimeline.Advance(FRAME_NANOS);
+        mTimeline.Advance(4 * FRAME_NANOS);
+        assertEquals(3, mTimeline.Frames());
+        assertEquals(2, mTimeline.DroppedFrames());
+    }
+}
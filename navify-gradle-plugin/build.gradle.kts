@@ -0,0 +1,30 @@
+plugins {
+    `java-gradle-plugin`
+    id("maven-publish")
+}
+
+// Gradle plugin "com.navify.menus": compiles the menus referenced by app:mMenuResource
+// into resource ID tables (see NavifyCompileMenusTask)
+group = "com.github.b3ddodev"
+version = "1.0.2-0103-rls"
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    // Provided by the Android Gradle plugin of the consuming build
+    compileOnly(libs.android.gradle.api)
+}
+
+gradlePlugin {
+    plugins {
+        create("navifyMenus") {
+            id = "com.navify.menus"
+            implementationClass = "com.navify.gradle.NavifyMenusPlugin"
+            displayName = "Navify compiled menus"
+            description = "Compiles the menus referenced by app:mMenuResource into NavifyCompiledMenus resource ID tables."
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package com.navify.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.inject.Inject;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Compiles the {@code @menu} resources referenced by {@code app:mMenuResource}
+ * into Java resource ID tables.
+ * <p>
+ * Every layout of the variant's resource directories (all source sets and
+ * generated resources) is scanned for {@code mMenuResource="@menu/NAME"}.
+ * Each referenced menu is flattened with the rules of Navify's runtime menu
+ * reader (top-level items in document order, items of groups included, items
+ * of sub-menus skipped) and written as a {@code NavifyMenuTable} into a
+ * generated {@code NavifyCompiledMenus} class in the module's namespace.
+ * Calling {@code NavifyCompiledMenus.register()} at startup lets Navify load
+ * those menus without parsing XML. When several layers declare a menu, the
+ * highest priority one is compiled, as in resource merging. Applied through
+ * the {@code com.navify.menus} plugin (see NavifyMenusPlugin).
+ * <p>
+ * Icons, titles and IDs are referenced through the module's own R class, so
+ * compiled menus may only use resources the module declares (or android:
+ * ones); with non-transitive R classes a dependency's resources are not in
+ * it, and a published AAR has no resource sources to scan. Menus that use
+ * resources of other modules, have configuration variants (menu-land,
+ * menu-v31, ...) or titles that are not plain strings or string resources
+ * are left to the runtime reader, with a warning.
+ */
+@CacheableTask
+public abstract class NavifyCompileMenusTask extends DefaultTask {
+    /**
+     * Namespace of the android: attributes
+     */
+    private static final String NAVIFY_ANDROID_NS = "http://schemas.android.com/apk/res/android";
+
+    /**
+     * Name of the generated class
+     */
+    private static final String NAVIFY_CLASS_NAME = "NavifyCompiledMenus";
+
+    /**
+     * Resource reference: optional '+', optional package, type and name
+     */
+    private static final Pattern NAVIFY_RES_REFERENCE = Pattern.compile("@(\\+)?(?:(android):)?(\\w+)/(\\w+)");
+
+    /**
+     * Contents of the XML files read so far, by path
+     */
+    private final Map<File, String> mTextCache = new HashMap<>();
+
+    /**
+     * Namespace of the module, used as package of the generated class and of its R class.
+     */
+    @Input
+    public abstract Property<String> getPackageName();
+
+    /**
+     * Resource directories of the variant as layers, highest priority first
+     * (Variant.sources.res.all); layouts and menus are read from here.
+     */
+    @Internal
+    public abstract ListProperty<Collection<Directory>> getResDirectories();
+
+    /**
+     * Directory the generated source is written to.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    /**
+     * Resource directories of the variant, tracked for up-to-date checks.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileCollection getResFiles() {
+        return getObjects().fileCollection().from(getResDirectories());
+    }
+
+    @TaskAction
+    public void compile() throws IOException {
+        String mPackage = getPackageName().get();
+        List<File> mRes = ResDirectories();
+
+        StringBuilder mTables = new StringBuilder();
+        for (String mMenu : ReferencedMenus(mRes)) {
+            String mTable = CompileMenu(mRes, mMenu);
+            if (mTable != null) {
+                mTables.append(mTable);
+            }
+        }
+
+        File mOutput = getOutputDirectory().get().getAsFile();
+        Delete(mOutput);
+        File mFile = new File(mOutput, mPackage.replace('.', File.separatorChar) + File.separator + NAVIFY_CLASS_NAME + ".java");
+        Files.createDirectories(mFile.getParentFile().toPath());
+        Files.write(mFile.toPath(), GenerateClass(mPackage, mTables.toString()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Existing resource directories of the variant, highest priority first.
+     */
+    private List<File> ResDirectories() {
+        List<File> mDirectories = new ArrayList<>();
+        for (Collection<Directory> mLayer : getResDirectories().get()) {
+            List<File> mLayerDirectories = new ArrayList<>();
+            for (Directory mDirectory : mLayer) {
+                File mFile = mDirectory.getAsFile();
+                if (mFile.isDirectory()) mLayerDirectories.add(mFile);
+            }
+            mLayerDirectories.sort(Comparator.comparing(File::getPath));
+            mDirectories.addAll(mLayerDirectories);
+        }
+        return mDirectories;
+    }
+
+    /**
+     * Names of the menus referenced by mMenuResource in any layout, sorted.
+     */
+    private TreeSet<String> ReferencedMenus(List<File> mRes) {
+        TreeSet<String> mMenus = new TreeSet<>();
+        for (File mDirectory : mRes) {
+            for (File mLayout : ResourceFiles(mDirectory, "layout")) {
+                Document mDocument = Parse(mLayout);
+                CollectMenuReferences(mDocument.getDocumentElement(), mMenus);
+            }
+        }
+        return mMenus;
+    }
+
+    /**
+     * Adds the menus referenced by an element and its descendants.
+     */
+    private static void CollectMenuReferences(Element mElement, TreeSet<String> mMenus) {
+        NamedNodeMap mAttributes = mElement.getAttributes();
+        for (int mI = 0; mI < mAttributes.getLength(); mI++) {
+            Attr mAttribute = (Attr) mAttributes.item(mI);
+            if (!"mMenuResource".equals(mAttribute.getLocalName())) continue;
+            Matcher mMatcher = NAVIFY_RES_REFERENCE.matcher(mAttribute.getValue().trim());
+            if (mMatcher.matches() && mMatcher.group(2) == null && "menu".equals(mMatcher.group(3))) {
+                mMenus.add(mMatcher.group(4));
+            }
+        }
+        for (Node mChild = mElement.getFirstChild(); mChild != null; mChild = mChild.getNextSibling()) {
+            if (mChild instanceof Element) {
+                CollectMenuReferences((Element) mChild, mMenus);
+            }
+        }
+    }
+
+    /**
+     * Compiles one menu into a register statement.
+     *
+     * @return Java statements, or null when the menu is left to the runtime reader
+     */
+    private String CompileMenu(List<File> mRes, String mMenu) {
+        File mFile = null;
+        for (File mDirectory : mRes) {
+            File mCandidate = new File(mDirectory, "menu" + File.separator + mMenu + ".xml");
+            if (mCandidate.isFile()) {
+                mFile = mCandidate;
+                break;
+            }
+        }
+        if (mFile == null) {
+            getLogger().warn("Navify: @menu/{} is referenced by a layout but not declared in {}; it is read at runtime.", mMenu, mRes);
+            return null;
+        }
+        for (File mDirectory : mRes) {
+            for (File mVariant : ResourceFiles(mDirectory, "menu")) {
+                if (mVariant.getName().equals(mMenu + ".xml") && !mVariant.getParentFile().getName().equals("menu")) {
+                    getLogger().warn("Navify: @menu/{} has configuration variants ({}); it is read at runtime.", mMenu, mVariant.getParentFile().getName());
+                    return null;
+                }
+            }
+        }
+
+        List<Element> mItems = new ArrayList<>();
+        for (Element mChild : ChildElements(Parse(mFile).getDocumentElement())) {
+            if ("item".equals(mChild.getTagName())) {
+                mItems.add(mChild);
+            } else if ("group".equals(mChild.getTagName())) {
+                for (Element mGroupChild : ChildElements(mChild)) {
+                    if ("item".equals(mGroupChild.getTagName())) {
+                        mItems.add(mGroupChild);
+                    }
+                }
+            }
+        }
+
+        List<String> mIds = new ArrayList<>();
+        List<String> mIcons = new ArrayList<>();
+        List<String> mTitleRes = new ArrayList<>();
+        List<String> mTitles = new ArrayList<>();
+        for (Element mItem : mItems) {
+            String mId = IdReference(mRes, Attribute(mItem, "id"), mMenu);
+            String mIcon = IconReference(mRes, Attribute(mItem, "icon"), mMenu);
+            if (mId == null || mIcon == null) return null;
+            mIds.add(mId);
+            mIcons.add(mIcon);
+
+            String mTitle = Attribute(mItem, "title");
+            if (mTitle == null) {
+                mTitleRes.add("0");
+                mTitles.add("null");
+            } else if (mTitle.startsWith("@") || mTitle.startsWith("?")) {
+                Matcher mMatcher = NAVIFY_RES_REFERENCE.matcher(mTitle);
+                if (!mMatcher.matches() || !"string".equals(mMatcher.group(3))) {
+                    getLogger().warn("Navify: @menu/{} has an unsupported title ({}); it is read at runtime.", mMenu, mTitle);
+                    return null;
+                }
+                String mTitleReference = ResourceReference(mRes, mMatcher, mMenu);
+                if (mTitleReference == null) return null;
+                mTitleRes.add(mTitleReference);
+                mTitles.add("null");
+            } else {
+                mTitleRes.add("0");
+                mTitles.add(JavaString(Unescape(mTitle)));
+            }
+        }
+
+        return "        // @menu/" + mMenu + "\n"
+                + "        NavifyMenuTable.register(new NavifyMenuTable(R.menu." + mMenu + ",\n"
+                + "                new int[]{" + String.join(", ", mIds) + "},\n"
+                + "                new int[]{" + String.join(", ", mIcons) + "},\n"
+                + "                new int[]{" + String.join(", ", mTitleRes) + "},\n"
+                + "                new String[]{" + String.join(", ", mTitles) + "}));\n";
+    }
+
+    /**
+     * Java expression of an android:id value, 0 when missing.
+     */
+    private String IdReference(List<File> mRes, String mValue, String mMenu) {
+        if (mValue == null) return "0";
+        Matcher mMatcher = NAVIFY_RES_REFERENCE.matcher(mValue);
+        if (!mMatcher.matches() || !"id".equals(mMatcher.group(3))) {
+            throw new GradleException("Navify: @menu/" + mMenu + " has an invalid item id: " + mValue);
+        }
+        // "@+id" declares the ID in this module
+        if (mMatcher.group(1) != null) {
+            return "R.id." + mMatcher.group(4);
+        }
+        return ResourceReference(mRes, mMatcher, mMenu);
+    }
+
+    /**
+     * Java expression of an android:icon value, 0 when missing, null when the module does not declare it.
+     */
+    private String IconReference(List<File> mRes, String mValue, String mMenu) {
+        if (mValue == null) return "0";
+        Matcher mMatcher = NAVIFY_RES_REFERENCE.matcher(mValue);
+        if (!mMatcher.matches() || !("drawable".equals(mMatcher.group(3)) || "mipmap".equals(mMatcher.group(3)))) {
+            throw new GradleException("Navify: @menu/" + mMenu + " has an invalid item icon: " + mValue);
+        }
+        return ResourceReference(mRes, mMatcher, mMenu);
+    }
+
+    /**
+     * Java expression of a resource reference, through the module's own R class.
+     *
+     * @return The expression, or null (with a warning) when the module does not declare the resource
+     */
+    private String ResourceReference(List<File> mRes, Matcher mMatcher, String mMenu) {
+        String mType = mMatcher.group(3);
+        String mName = mMatcher.group(4);
+        if (mMatcher.group(2) != null) {
+            return "android.R." + mType + "." + mName;
+        }
+        for (File mDirectory : mRes) {
+            if (Declares(mDirectory, mType, mName)) {
+                return "R." + mType + "." + mName;
+            }
+        }
+        if ("id".equals(mType)) {
+            // IDs may also come from code or other modules; assume the module's own R
+            return "R.id." + mName;
+        }
+        getLogger().warn("Navify: @menu/{} uses @{}/{}, which the module does not declare; it is read at runtime.", mMenu, mType, mName);
+        return null;
+    }
+
+    /**
+     * Whether a resource directory declares a resource.
+     */
+    private boolean Declares(File mRes, String mType, String mName) {
+        switch (mType) {
+            case "drawable":
+            case "mipmap":
+                for (File mFile : ResourceFiles(mRes, mType)) {
+                    String mFileName = mFile.getName();
+                    int mDot = mFileName.indexOf('.');
+                    if ((mDot < 0 ? mFileName : mFileName.substring(0, mDot)).equals(mName)) return true;
+                }
+                return ValuesDeclare(mRes, "<(?:drawable|item)\\s[^>]*name=\"" + mName + "\"");
+            case "string":
+                return ValuesDeclare(mRes, "<string\\s[^>]*name=\"" + mName + "\"");
+            case "id":
+                if (ValuesDeclare(mRes, "<item\\s[^>]*type=\"id\"[^>]*name=\"" + mName + "\"|<item\\s[^>]*name=\"" + mName + "\"[^>]*type=\"id\"")) return true;
+                for (File mDirectory : ResourceDirectories(mRes, null)) {
+                    for (File mFile : XmlFiles(mDirectory)) {
+                        if (Text(mFile).contains("\"@+id/" + mName + "\"")) return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Whether a values file of the directory matches the pattern.
+     */
+    private boolean ValuesDeclare(File mRes, String mRegex) {
+        Pattern mPattern = Pattern.compile(mRegex);
+        for (File mFile : ResourceFiles(mRes, "values")) {
+            if (mPattern.matcher(Text(mFile)).find()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Files of every configuration of a resource type ("layout" covers layout, layout-land, ...).
+     */
+    private static List<File> ResourceFiles(File mRes, String mType) {
+        List<File> mFiles = new ArrayList<>();
+        for (File mDirectory : ResourceDirectories(mRes, mType)) {
+            File[] mChildren = mDirectory.listFiles(File::isFile);
+            if (mChildren == null) continue;
+            for (File mChild : mChildren) {
+                if (!mType.equals("drawable") && !mType.equals("mipmap") && !mChild.getName().endsWith(".xml")) continue;
+                mFiles.add(mChild);
+            }
+        }
+        mFiles.sort(Comparator.comparing(File::getPath));
+        return mFiles;
+    }
+
+    /**
+     * Configuration directories of a resource type, or all of them when the type is null.
+     */
+    private static List<File> ResourceDirectories(File mRes, String mType) {
+        List<File> mDirectories = new ArrayList<>();
+        File[] mChildren = mRes.listFiles(File::isDirectory);
+        if (mChildren == null) return mDirectories;
+        for (File mChild : mChildren) {
+            String mName = mChild.getName();
+            if (mType == null || mName.equals(mType) || mName.startsWith(mType + "-")) {
+                mDirectories.add(mChild);
+            }
+        }
+        mDirectories.sort(Comparator.comparing(File::getName));
+        return mDirectories;
+    }
+
+    /**
+     * XML files directly inside a directory.
+     */
+    private static List<File> XmlFiles(File mDirectory) {
+        List<File> mFiles = new ArrayList<>();
+        File[] mChildren = mDirectory.listFiles((mFile) -> mFile.isFile() && mFile.getName().endsWith(".xml"));
+        if (mChildren != null) {
+            for (File mChild : mChildren) mFiles.add(mChild);
+        }
+        return mFiles;
+    }
+
+    /**
+     * Cached contents of a file.
+     */
+    private String Text(File mFile) {
+        return mTextCache.computeIfAbsent(mFile, (mKey) -> {
+            try {
+                return new String(Files.readAllBytes(mKey.toPath()), StandardCharsets.UTF_8);
+            } catch (IOException mException) {
+                throw new GradleException("Navify: " + mKey + " could not be read.", mException);
+            }
+        });
+    }
+
+    /**
+     * Parses an XML resource with namespaces.
+     */
+    private static Document Parse(File mFile) {
+        try {
+            DocumentBuilderFactory mFactory = DocumentBuilderFactory.newInstance();
+            mFactory.setNamespaceAware(true);
+            DocumentBuilder mBuilder = mFactory.newDocumentBuilder();
+            return mBuilder.parse(mFile);
+        } catch (ParserConfigurationException | SAXException | IOException mException) {
+            throw new GradleException("Navify: " + mFile + " could not be parsed: " + mException.getMessage(), mException);
+        }
+    }
+
+    /**
+     * Element children of an element.
+     */
+    private static List<Element> ChildElements(Element mElement) {
+        List<Element> mChildren = new ArrayList<>();
+        for (Node mChild = mElement.getFirstChild(); mChild != null; mChild = mChild.getNextSibling()) {
+            if (mChild instanceof Element) {
+                mChildren.add((Element) mChild);
+            }
+        }
+        return mChildren;
+    }
+
+    /**
+     * android: attribute of an element, null when missing.
+     */
+    private static String Attribute(Element mElement, String mName) {
+        return mElement.hasAttributeNS(NAVIFY_ANDROID_NS, mName) ? mElement.getAttributeNS(NAVIFY_ANDROID_NS, mName).trim() : null;
+    }
+
+    /**
+     * Applies the escapes aapt2 resolves in literal attribute text.
+     */
+    private static String Unescape(String mValue) {
+        if (mValue.length() >= 2 && mValue.startsWith("\"") && mValue.endsWith("\"")) {
+            mValue = mValue.substring(1, mValue.length() - 1);
+        }
+        StringBuilder mBuilder = new StringBuilder(mValue.length());
+        for (int mI = 0; mI < mValue.length(); mI++) {
+            char mChar = mValue.charAt(mI);
+            if (mChar == '\\' && mI + 1 < mValue.length()) {
+                char mNext = mValue.charAt(++mI);
+                mBuilder.append(mNext == 'n' ? '\n' : mNext == 't' ? '\t' : mNext);
+            } else {
+                mBuilder.append(mChar);
+            }
+        }
+        return mBuilder.toString();
+    }
+
+    /**
+     * Java string literal of a value.
+     */
+    private static String JavaString(String mValue) {
+        StringBuilder mBuilder = new StringBuilder("\"");
+        for (int mI = 0; mI < mValue.length(); mI++) {
+            char mChar = mValue.charAt(mI);
+            switch (mChar) {
+                case '"': mBuilder.append("\\\""); break;
+                case '\\': mBuilder.append("\\\\"); break;
+                case '\n': mBuilder.append("\\n"); break;
+                case '\t': mBuilder.append("\\t"); break;
+                default:
+                    if (mChar < 0x20 || mChar > 0x7e) {
+                        mBuilder.append(String.format("\\u%04x", (int) mChar));
+                    } else {
+                        mBuilder.append(mChar);
+                    }
+            }
+        }
+        return mBuilder.append('"').toString();
+    }
+
+    /**
+     * Source of the generated class.
+     */
+    private static String GenerateClass(String mPackage, String mTables) {
+        return "package " + mPackage + ";\n"
+                + "\n"
+                + "import com.navify.NavifyMenuTable;\n"
+                + "\n"
+                + "/**\n"
+                + " * Menus referenced by app:mMenuResource, compiled by NavifyCompileMenusTask.\n"
+                + " * Generated file, do not edit.\n"
+                + " */\n"
+                + "public final class " + NAVIFY_CLASS_NAME + " {\n"
+                + "    private " + NAVIFY_CLASS_NAME + "() {\n"
+                + "    }\n"
+                + "\n"
+                + "    /**\n"
+                + "     * Registers every compiled menu; call before the first Navify loads one of them.\n"
+                + "     */\n"
+                + "    public static void register() {\n"
+                + mTables
+                + "    }\n"
+                + "}\n";
+    }
+
+    /**
+     * Deletes a directory's contents.
+     */
+    private static void Delete(File mDirectory) throws IOException {
+        if (!mDirectory.exists()) return;
+        try (Stream<Path> mPaths = Files.walk(mDirectory.toPath())) {
+            List<Path> mSorted = new ArrayList<>();
+            mPaths.forEach(mSorted::add);
+            mSorted.sort(Comparator.reverseOrder());
+            for (Path mPath : mSorted) {
+                if (!mPath.equals(mDirectory.toPath())) Files.delete(mPath);
+            }
+        }
+    }
+}
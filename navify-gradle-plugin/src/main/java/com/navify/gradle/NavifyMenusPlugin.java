@@ -0,0 +1,41 @@
+package com.navify.gradle;
+
+import com.android.build.api.variant.AndroidComponentsExtension;
+import com.android.build.api.variant.SourceDirectories;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Gradle plugin {@code com.navify.menus}.
+ * <p>
+ * Applied to an Android application or library module, it registers a
+ * {@code navifyCompile<Variant>Menus} task ({@link NavifyCompileMenusTask}) for
+ * every variant. The task reads the variant's resource directories, covering
+ * all of its source sets and generated resources. Its generated
+ * {@code NavifyCompiledMenus} class is added to the variant's Java sources.
+ */
+public class NavifyMenusPlugin implements Plugin<Project> {
+    @Override
+    public void apply(Project mProject) {
+        mProject.getPlugins().withId("com.android.application", (mPlugin) -> RegisterTasks(mProject));
+        mProject.getPlugins().withId("com.android.library", (mPlugin) -> RegisterTasks(mProject));
+    }
+
+    /**
+     * Registers the compile task of every variant.
+     */
+    private static void RegisterTasks(Project mProject) {
+        AndroidComponentsExtension<?, ?, ?> mComponents = mProject.getExtensions().getByType(AndroidComponentsExtension.class);
+        mComponents.onVariants(mComponents.selector().all(), (mVariant) -> {
+            String mName = mVariant.getName();
+            TaskProvider<NavifyCompileMenusTask> mCompileMenus = mProject.getTasks().register("navifyCompile" + Character.toUpperCase(mName.charAt(0)) + mName.substring(1) + "Menus", NavifyCompileMenusTask.class, (mTask) -> {
+                mTask.getPackageName().set(mVariant.getNamespace());
+                SourceDirectories.Layered mRes = mVariant.getSources().getRes();
+                if (mRes != null) mTask.getResDirectories().set(mRes.getAll());
+            });
+            SourceDirectories.Flat mJava = mVariant.getSources().getJava();
+            if (mJava != null) mJava.addGeneratedSourceDirectory(mCompileMenus, NavifyCompileMenusTask::getOutputDirectory);
+        });
+    }
+}
@@ -1,4 +1,6 @@
 pluginManagement {
+    // Gradle plugin com.navify.menus (compiled menus)
+    includeBuild("navify-gradle-plugin")
     repositories {
         google {
             content {
@@ -22,3 +24,5 @@ dependencyResolutionManagement {
 rootProject.name = "NavifySample"
 include(":app")
 include(":NavifyLibrary")
+include(":navify-core")
+include(":navify-benchmark")